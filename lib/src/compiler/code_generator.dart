@@ -17,6 +17,7 @@ import 'dart:io';
 import 'package:kernel/ast.dart' as dart;
 
 import '../java/ast.dart' as java;
+import '../java/dynamic_dispatch.dart' show buildDispatchClass;
 import '../java/java_builder.dart' show buildWrapperClass, buildClass;
 import '../java/java_emitter.dart' show emitMemberDecl;
 import 'compiler_state.dart' show CompilerState;
@@ -50,4 +51,20 @@ class CodeGenerator {
 
     return filesWritten;
   }
+
+  /// Compile the selector classes for all dynamic invocations in the libraries
+  /// compiled so far (closed-world mode only).
+  ///
+  /// Returns the set of the files that have been written.
+  Set<File> compileDispatchClasses() {
+    var filesWritten = new Set<File>();
+
+    for (var selector in compilerState.dynamicSelectors) {
+      java.ClassDecl cls = buildDispatchClass(selector, compilerState);
+      filesWritten.add(writer.writeJavaFile(
+          cls.type.package, cls.type.name, emitMemberDecl(cls)));
+    }
+
+    return filesWritten;
+  }
 }
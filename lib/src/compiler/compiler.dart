@@ -97,10 +97,18 @@ class ModuleCompiler {
 
     var codeGenerator =
         new CodeGenerator(new FileWriter(options), compilerState);
-    return librariesToCompile
+    var filesWritten = librariesToCompile
         .map(codeGenerator.compile)
         .expand((f) => f)
         .toSet();
+
+    if (options.closedWorld) {
+      // Selector classes can only be generated once all dynamic invocations
+      // in the program are known.
+      filesWritten.addAll(codeGenerator.compileDispatchClasses());
+    }
+
+    return filesWritten;
   }
 
   Iterable<dart.Class> getAllClasses(List<dart.Library> libraries) {
@@ -125,19 +133,29 @@ class CompilerOptions {
   /// Package-prefix used for `file:` imports and for generated classes.
   final String filePackagePrefix;
 
+  /// Whether the compiled sources are the whole program (except for the SDK).
+  ///
+  /// In closed-world mode, dynamic invocations call a generated selector
+  /// class (see `dynamic_dispatch.dart`) that dispatches on the class of the
+  /// receiver without reflection. Classes that were not compiled in the same
+  /// invocation of the compiler still work, but fall back to `DynamicHelper`.
+  final bool closedWorld;
+
   const CompilerOptions(
       {this.unsafeForceCompile: false,
       this.dartSdkPath,
       this.outputDir: '.',
       this.buildRoot: '.',
-      this.filePackagePrefix: ''});
+      this.filePackagePrefix: '',
+      this.closedWorld: false});
 
   CompilerOptions.fromArguments(ArgResults args)
       : unsafeForceCompile = args['unsafe-force-compile'],
         dartSdkPath = args['dart-sdk'] ?? getSdkDir().path,
         outputDir = args['output-dir'],
         buildRoot = args['build-root'],
-        filePackagePrefix = args['package-prefix'];
+        filePackagePrefix = args['package-prefix'],
+        closedWorld = args['closed-world'];
 
   static ArgParser addArguments(ArgParser parser) {
     return parser
@@ -158,6 +176,11 @@ class CompilerOptions {
           abbr: 'p',
           help: 'Prefix added to the package of each generated Java class.\n'
               'For example: --package-prefix="org.example.my_project"',
-          defaultsTo: '');
+          defaultsTo: '')
+      ..addFlag('closed-world',
+          help: 'Assume that the given sources are the whole program and\n'
+              'compile dynamic invocations to generated dispatch code\n'
+              'instead of reflection.',
+          defaultsTo: false);
   }
 }
@@ -12,7 +12,7 @@
 // See the License for the specific language governing permissions and
 // limitations under the License.
 
-import 'dart:collection' show HashMap;
+import 'dart:collection' show HashMap, LinkedHashMap, LinkedHashSet;
 
 import 'package:kernel/ast.dart' as dart;
 import 'package:kernel/class_hierarchy.dart' as dart;
@@ -21,6 +21,7 @@ import 'package:path/path.dart' as path;
 
 import '../java/types.dart' as java;
 import '../java/constants.dart' as java;
+import '../java/dynamic_dispatch.dart' as java show DynamicSelector;
 import 'compiler.dart' show CompilerOptions;
 import 'runner.dart' show CompileErrorException;
 
@@ -173,6 +174,14 @@ class ClassImpl {
 class CompilerState {
   final _classImpls = new HashMap<dart.Class, ClassImpl>();
 
+  /// Ids of the concrete classes under compilation (only in closed-world
+  /// mode). Ids start at 1; id 0 means "unknown class" at runtime.
+  final _classIds = new LinkedHashMap<dart.Class, int>();
+
+  /// The selectors of all dynamic invocations compiled so far (only in
+  /// closed-world mode).
+  final dynamicSelectors = new LinkedHashSet<java.DynamicSelector>();
+
   final CompilerOptions options;
   final dart.Repository repository;
 
@@ -185,7 +194,14 @@ class CompilerState {
   dart.Class iteratorClass;
   dart.Class iterableClass;
   dart.Class mapClass;
+  dart.Class linkedHashMapClass;
   dart.Class numClass;
+  dart.Class nullClass;
+  dart.Class functionClass;
+
+  /// Classes that have instances which are not instances of the Java type
+  /// implementing the class (see [hasExactJavaType]). Computed lazily.
+  Set<dart.Class> _inexactClasses;
 
   dart.Program _program;
   dart.ClassHierarchy _classHierarchy;
@@ -201,7 +217,10 @@ class CompilerState {
     iteratorClass = getDartClass("dart:core", "Iterator");
     iterableClass = getDartClass("dart:core", "Iterable");
     mapClass = getDartClass("dart:core", "Map");
+    linkedHashMapClass = getDartClass("dart:_internal", "LinkedHashMap");
     numClass = getDartClass("dart:core", "num");
+    nullClass = getDartClass("dart:core", "Null");
+    functionClass = getDartClass("dart:core", "Function");
 
     java.JavaType.boolean.dartType = boolClass.thisType;
     java.JavaType.int_.dartType = intClass.thisType;
@@ -245,6 +264,14 @@ class CompilerState {
 
     initializeJavaClasses(classesToCompile);
 
+    if (options.closedWorld) {
+      for (var cls in classesToCompile) {
+        if (!cls.isAbstract && !isSpecialClass(cls)) {
+          _classIds[cls] = _classIds.length + 1;
+        }
+      }
+    }
+
     _program = new dart.Program(repository.libraries);
     _classHierarchy = new dart.ClassHierarchy(_program);
   }
@@ -289,6 +316,63 @@ class CompilerState {
     }
   }
 
+  /// Checks whether the instances of [class_] (including instances of its
+  /// subtypes) are exactly the instances of the Java type implementing
+  /// [class_], i.e. whether a Java `instanceof` can replace a Dart type test.
+  ///
+  /// This is not the case for [Object], [Null] and [Function], nor for the
+  /// supertypes of special classes: e.g., `Comparable` is implemented by [int],
+  /// whose instances are `java.lang.Integer`s. Mixin applications do not
+  /// implement the Java interface of their mixin yet, so mixins are excluded as
+  /// well.
+  bool hasExactJavaType(dart.Class class_) {
+    if (class_ == objectClass ||
+        class_ == nullClass ||
+        class_ == functionClass) {
+      return false;
+    }
+    if (isSpecialClass(class_)) {
+      return true;
+    }
+
+    if (_inexactClasses == null) {
+      _inexactClasses = new Set<dart.Class>();
+      void addWithSupertypes(dart.Class cls) {
+        if (!_inexactClasses.add(cls)) return;
+        var supertypes = <dart.InterfaceType>[cls.supertype, cls.mixedInType]
+          ..addAll(cls.implementedTypes);
+        for (var type in supertypes) {
+          if (type != null) addWithSupertypes(type.classNode);
+        }
+      }
+
+      for (var cls in _classImpls.keys) {
+        addWithSupertypes(cls);
+      }
+      for (var library in _program.libraries) {
+        for (var cls in library.classes) {
+          if (cls.mixedInType != null) {
+            addWithSupertypes(cls.mixedInType.classNode);
+          }
+        }
+      }
+    }
+    return !_inexactClasses.contains(class_);
+  }
+
+  /// Returns the id of [class_] that selector classes dispatch on, or
+  /// [:null:] if [class_] has no id.
+  int getClassId(dart.Class class_) => _classIds[class_];
+
+  /// All classes that have an id, ordered by id.
+  Iterable<dart.Class> get classesWithIds => _classIds.keys;
+
+  /// The Java package of the generated selector classes.
+  String get dispatchPackageName =>
+      (_splitPackagePrefix(options.filePackagePrefix).toList()
+            ..add(java.Constants.dispatchPackage))
+          .join('.');
+
   bool isSubclassOf(dart.Class subclass, dart.Class superclass) {
     return _classHierarchy.isSubclassOf(subclass, superclass);
   }
@@ -90,19 +90,28 @@ class ClassDecl extends PackageMember {
 
   List<Constructor> constructors;
 
+  /// Static nested classes; their [type]s must be nested in this class's type.
+  List<ClassDecl> nestedClasses;
+
+  /// Whether this is a static nested class.
+  bool isStatic;
+
   ClassDecl(ClassOrInterfaceType type,
       {this.access: Access.Public,
       this.orderedMembers,
       this.methods,
       this.constructors,
+      this.nestedClasses,
       this.supertype,
       this.isAbstract: false,
+      this.isStatic: false,
       this.implementedInterfaces: const <ClassOrInterfaceType>[]})
       : super(type) {
     // Initialize ClassDecl with (non-const!) empty lists for fields and methods
     methods ??= <MethodDef>[];
     orderedMembers ??= <OrderedClassMember>[];
     constructors ??= <Constructor>[];
+    nestedClasses ??= <ClassDecl>[];
     supertype ??= JavaType.dartObject;
   }
 
@@ -338,6 +347,36 @@ class ForStmt extends Statement {
   /*=R*/ accept/*<R>*/(Visitor/*<R>*/ v) => v.visitForStmt(this);
 }
 
+/// A switch statement over an int-valued [expression].
+class SwitchStmt extends Statement {
+  Expression expression;
+
+  List<SwitchCase> cases;
+
+  /// The body of the `default` label; may be null.
+  Block defaultBody;
+
+  SwitchStmt(this.expression, this.cases, [this.defaultBody]);
+
+  @override
+  /*=R*/ accept/*<R>*/(Visitor/*<R>*/ v) => v.visitSwitchStmt(this);
+}
+
+/// One or more `case` labels of a [SwitchStmt] that share a body.
+///
+/// There is no implicit fall-through to the next [SwitchCase]; the generated
+/// code adds a `break` unless [body] ends in a jump.
+class SwitchCase extends Node {
+  List<Expression> labels;
+
+  Block body;
+
+  SwitchCase(this.labels, this.body);
+
+  @override
+  /*=R*/ accept/*<R>*/(Visitor/*<R>*/ v) => v.visitSwitchCase(this);
+}
+
 /// A break statement for loops and switch-case statements.
 class BreakStmt extends Statement {
   String label;
@@ -530,6 +569,18 @@ class CastExpr extends Expression {
   /*=R*/ accept/*<R>*/(Visitor/*<R>*/ v) => v.visitCastExpr(this);
 }
 
+/// An `instanceof` check.
+class InstanceOfExpr extends Expression {
+  Expression expression;
+
+  ReferenceType type;
+
+  InstanceOfExpr(this.expression, this.type);
+
+  @override
+  /*=R*/ accept/*<R>*/(Visitor/*<R>*/ v) => v.visitInstanceOfExpr(this);
+}
+
 /// References an identifier such as a local variable.
 class IdentifierExpr extends Expression {
   String identifier;
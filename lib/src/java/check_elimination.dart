@@ -0,0 +1,426 @@
+// Copyright 2016, the Dart project authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/// Elimination of redundant runtime type checks.
+///
+/// Implicit downcasts (`TypeCheckExpression`s) and explicit casts
+/// (`AsExpression`s) of local variables are compiled to calls to
+/// `Type.check`/`Type.cast`. A check is redundant if the same variable was
+/// already checked against the same type (or a subclass of it) on every path
+/// leading to the check, and the variable was not assigned in between. An `is`
+/// test establishes a type in the branch where it is true, too.
+///
+/// The analysis is a forward dataflow analysis over the Kernel AST of a
+/// function, which tracks the proven types of every local variable. It is
+/// conservative where control flow merges in complicated ways: after a loop,
+/// `switch`, `try` or labeled statement, only the facts that held before the
+/// statement (about variables that are not assigned within it) are kept.
+/// Variables that are assigned in a nested function are not tracked at all.
+/// Checks of fields are never eliminated, since a getter might override the
+/// field.
+library dart2java.src.java.check_elimination;
+
+import 'package:kernel/ast.dart' as dart;
+
+import '../compiler/compiler_state.dart';
+
+/// Returns the `TypeCheckExpression`s and `AsExpression`s in [function]
+/// (including nested functions) that always succeed, because the checked
+/// value is already known to have the checked type.
+Set<dart.Expression> findRedundantChecks(
+    dart.FunctionNode function, CompilerState compilerState) {
+  var eliminator = new _CheckEliminator(compilerState,
+      _AssignedVariables.inNestedFunctions(function));
+  eliminator.analyzeFunction(function);
+  return eliminator.redundantChecks;
+}
+
+/// The proven types of local variables at a point in a function.
+///
+/// A [:null:] [_Facts] object denotes an unreachable point (e.g. after a
+/// `return` statement).
+class _Facts {
+  final Map<dart.VariableDeclaration, List<dart.DartType>> _types;
+
+  _Facts() : _types = <dart.VariableDeclaration, List<dart.DartType>>{};
+
+  _Facts copy() {
+    var result = new _Facts();
+    _types.forEach((variable, types) {
+      result._types[variable] = types.toList();
+    });
+    return result;
+  }
+
+  Iterable<dart.DartType> typesOf(dart.VariableDeclaration variable) =>
+      _types[variable] ?? const <dart.DartType>[];
+
+  void add(dart.VariableDeclaration variable, dart.DartType type) {
+    _types.putIfAbsent(variable, () => <dart.DartType>[]).add(type);
+  }
+
+  void kill(dart.VariableDeclaration variable) {
+    _types.remove(variable);
+  }
+
+  /// Returns the facts that hold at a point reachable from both [a] and [b].
+  static _Facts join(_Facts a, _Facts b) {
+    if (a == null) return b;
+    if (b == null) return a;
+
+    var result = new _Facts();
+    a._types.forEach((variable, types) {
+      var otherTypes = b._types[variable];
+      if (otherTypes == null) return;
+      var common = types.where(otherTypes.contains).toList();
+      if (common.isNotEmpty) {
+        result._types[variable] = common;
+      }
+    });
+    return result;
+  }
+}
+
+class _CheckEliminator extends dart.Visitor {
+  final CompilerState compilerState;
+
+  /// Variables that are assigned in a nested function, and might therefore
+  /// change during any call.
+  final Set<dart.VariableDeclaration> untrackedVariables;
+
+  final redundantChecks = new Set<dart.Expression>();
+
+  /// The facts at the current point, or [:null:] if it is unreachable.
+  _Facts facts = new _Facts();
+
+  _CheckEliminator(this.compilerState, this.untrackedVariables);
+
+  void analyzeFunction(dart.FunctionNode function) {
+    var outerFacts = facts;
+    facts = new _Facts();
+    function.body?.accept(this);
+    facts = outerFacts;
+  }
+
+  /// Returns true if a value of type [fact] is known to pass a check against
+  /// [type].
+  bool _proves(dart.DartType fact, dart.DartType type) {
+    if (fact == type) return true;
+
+    if (fact is dart.InterfaceType && type is dart.InterfaceType) {
+      return type.typeArguments.every(_isTop) &&
+          compilerState.isSubclassOf(fact.classNode, type.classNode);
+    }
+    return false;
+  }
+
+  bool _isTop(dart.DartType type) =>
+      type is dart.DynamicType ||
+      (type is dart.InterfaceType &&
+          type.classNode == compilerState.objectClass);
+
+  /// Records what a check of [operand] against [type] establishes.
+  void _visitCheck(dart.Expression check, dart.Expression operand,
+      dart.DartType type) {
+    operand.accept(this);
+    if (facts == null || operand is! dart.VariableGet) return;
+
+    var variable = (operand as dart.VariableGet).variable;
+    if (untrackedVariables.contains(variable)) return;
+
+    if (facts.typesOf(variable).any((fact) => _proves(fact, type))) {
+      redundantChecks.add(check);
+    } else {
+      facts.add(variable, type);
+    }
+  }
+
+  /// Visits a boolean [condition] and returns the facts that hold if it is
+  /// true and if it is false, in this order.
+  List<_Facts> _visitCondition(dart.Expression condition) {
+    if (condition is dart.Not) {
+      return _visitCondition(condition.operand).reversed.toList();
+    }
+
+    if (condition is dart.LogicalExpression) {
+      var left = _visitCondition(condition.left);
+      bool isAnd = condition.operator == '&&';
+      facts = isAnd ? left[0] : left[1];
+      var right = _visitCondition(condition.right);
+      return isAnd
+          ? [right[0], _Facts.join(left[1], right[1])]
+          : [_Facts.join(left[0], right[0]), right[1]];
+    }
+
+    condition.accept(this);
+    var whenTrue = facts?.copy();
+    if (condition is dart.IsExpression &&
+        condition.operand is dart.VariableGet &&
+        whenTrue != null) {
+      var variable = (condition.operand as dart.VariableGet).variable;
+      if (!untrackedVariables.contains(variable)) {
+        whenTrue.add(variable, condition.type);
+      }
+    }
+    return [whenTrue, facts];
+  }
+
+  /// Kills the facts about all variables assigned in [node], and returns the
+  /// remaining facts, which hold everywhere within and after [node].
+  _Facts _enterComplexStatement(dart.TreeNode node) {
+    if (facts != null) {
+      _AssignedVariables.inNode(node).forEach(facts.kill);
+    }
+    return facts;
+  }
+
+  /// Visits [node] with a copy of [entryFacts].
+  void _visitWith(dart.TreeNode node, _Facts entryFacts) {
+    facts = entryFacts?.copy();
+    node?.accept(this);
+  }
+
+  @override
+  defaultNode(dart.Node node) {
+    node.visitChildren(this);
+  }
+
+  @override
+  visitFunctionExpression(dart.FunctionExpression node) {
+    analyzeFunction(node.function);
+  }
+
+  @override
+  visitFunctionDeclaration(dart.FunctionDeclaration node) {
+    analyzeFunction(node.function);
+  }
+
+  @override
+  visitVariableDeclaration(dart.VariableDeclaration node) {
+    node.initializer?.accept(this);
+    facts?.kill(node);
+  }
+
+  @override
+  visitVariableSet(dart.VariableSet node) {
+    node.value.accept(this);
+    facts?.kill(node.variable);
+  }
+
+  @override
+  visitTypeCheckExpression(dart.TypeCheckExpression node) {
+    _visitCheck(node, node.operand, node.type);
+  }
+
+  @override
+  visitAsExpression(dart.AsExpression node) {
+    _visitCheck(node, node.operand, node.type);
+  }
+
+  @override
+  visitLogicalExpression(dart.LogicalExpression node) {
+    var result = _visitCondition(node);
+    facts = _Facts.join(result[0], result[1]);
+  }
+
+  @override
+  visitConditionalExpression(dart.ConditionalExpression node) {
+    var condition = _visitCondition(node.condition);
+    facts = condition[0];
+    node.then.accept(this);
+    var thenFacts = facts;
+    facts = condition[1];
+    node.otherwise.accept(this);
+    facts = _Facts.join(thenFacts, facts);
+  }
+
+  @override
+  visitThrow(dart.Throw node) {
+    node.expression.accept(this);
+    facts = null;
+  }
+
+  @override
+  visitRethrow(dart.Rethrow node) {
+    facts = null;
+  }
+
+  @override
+  visitIfStatement(dart.IfStatement node) {
+    var condition = _visitCondition(node.condition);
+    facts = condition[0];
+    node.then.accept(this);
+    var thenFacts = facts;
+    facts = condition[1];
+    node.otherwise?.accept(this);
+    facts = _Facts.join(thenFacts, facts);
+  }
+
+  @override
+  visitReturnStatement(dart.ReturnStatement node) {
+    node.expression?.accept(this);
+    facts = null;
+  }
+
+  @override
+  visitBreakStatement(dart.BreakStatement node) {
+    facts = null;
+  }
+
+  @override
+  visitContinueSwitchStatement(dart.ContinueSwitchStatement node) {
+    facts = null;
+  }
+
+  @override
+  visitAssertStatement(dart.AssertStatement node) {
+    // Assertions might be disabled
+    var entryFacts = facts;
+    _visitWith(node.condition, entryFacts);
+    _visitWith(node.message, entryFacts);
+    facts = entryFacts;
+  }
+
+  @override
+  visitLabeledStatement(dart.LabeledStatement node) {
+    var entryFacts = _enterComplexStatement(node);
+    _visitWith(node.body, entryFacts);
+    facts = entryFacts;
+  }
+
+  @override
+  visitWhileStatement(dart.WhileStatement node) {
+    var entryFacts = _enterComplexStatement(node);
+    facts = entryFacts?.copy();
+    facts = _visitCondition(node.condition)[0];
+    node.body.accept(this);
+    facts = entryFacts;
+  }
+
+  @override
+  visitDoStatement(dart.DoStatement node) {
+    var entryFacts = _enterComplexStatement(node);
+    _visitWith(node.body, entryFacts);
+    node.condition.accept(this);
+    facts = entryFacts;
+  }
+
+  @override
+  visitForStatement(dart.ForStatement node) {
+    for (var variable in node.variables) {
+      variable.accept(this);
+    }
+    var entryFacts = _enterComplexStatement(node);
+    facts = entryFacts?.copy();
+    if (node.condition != null) {
+      facts = _visitCondition(node.condition)[0];
+    }
+    node.body.accept(this);
+    for (var update in node.updates) {
+      update.accept(this);
+    }
+    facts = entryFacts;
+  }
+
+  @override
+  visitForInStatement(dart.ForInStatement node) {
+    node.iterable.accept(this);
+    var entryFacts = _enterComplexStatement(node);
+    _visitWith(node.body, entryFacts);
+    facts = entryFacts;
+  }
+
+  @override
+  visitSwitchStatement(dart.SwitchStatement node) {
+    node.expression.accept(this);
+    var entryFacts = _enterComplexStatement(node);
+    for (var switchCase in node.cases) {
+      _visitWith(switchCase.body, entryFacts);
+    }
+    facts = entryFacts;
+  }
+
+  @override
+  visitTryCatch(dart.TryCatch node) {
+    var entryFacts = _enterComplexStatement(node);
+    _visitWith(node.body, entryFacts);
+    for (var catchClause in node.catches) {
+      _visitWith(catchClause.body, entryFacts);
+    }
+    facts = entryFacts;
+  }
+
+  @override
+  visitTryFinally(dart.TryFinally node) {
+    var entryFacts = _enterComplexStatement(node);
+    _visitWith(node.body, entryFacts);
+    _visitWith(node.finalizer, entryFacts);
+    facts = entryFacts;
+  }
+}
+
+/// Collects the local variables that are assigned or declared in a subtree.
+class _AssignedVariables extends dart.Visitor {
+  final variables = new Set<dart.VariableDeclaration>();
+
+  /// Whether to collect only variables that are assigned in nested functions.
+  final bool onlyNestedFunctions;
+
+  int _functionDepth = 0;
+
+  _AssignedVariables(this.onlyNestedFunctions);
+
+  /// Returns the variables assigned or declared in [node].
+  static Set<dart.VariableDeclaration> inNode(dart.TreeNode node) {
+    var collector = new _AssignedVariables(false);
+    node.accept(collector);
+    return collector.variables;
+  }
+
+  /// Returns the variables assigned in functions nested in [function].
+  static Set<dart.VariableDeclaration> inNestedFunctions(
+      dart.FunctionNode function) {
+    var collector = new _AssignedVariables(true);
+    function.body?.accept(collector);
+    return collector.variables;
+  }
+
+  @override
+  defaultNode(dart.Node node) {
+    node.visitChildren(this);
+  }
+
+  @override
+  visitFunctionNode(dart.FunctionNode node) {
+    _functionDepth++;
+    node.visitChildren(this);
+    _functionDepth--;
+  }
+
+  @override
+  visitVariableDeclaration(dart.VariableDeclaration node) {
+    if (!onlyNestedFunctions) {
+      variables.add(node);
+    }
+    node.visitChildren(this);
+  }
+
+  @override
+  visitVariableSet(dart.VariableSet node) {
+    if (!onlyNestedFunctions || _functionDepth > 0) {
+      variables.add(node.variable);
+    }
+    node.visitChildren(this);
+  }
+}
@@ -47,6 +47,15 @@ class Constants {
     "noSuchMethod"
   ];
 
+  /// Methods of `Map` that take a key of type `Object`, and the variants of
+  /// `LinkedHashMap` that take a key of type `K`. Keep in sync with
+  /// dart_map.dart!
+  static const mapTypedKeyMethods = const {
+    "[]": "typedLookup",
+    "containsKey": "typedContainsKey",
+    "remove": "typedRemove"
+  };
+
   static const String javaCallAnnotation = "JavaCall";
   static const String javaMethodAnnotation = "JavaMethod";
   static const String javaClassAnnotation = "JavaClass";
@@ -61,11 +70,23 @@ class Constants {
   static const String sequencePointMethodName = "comma";
   static const String listInitializerMethodName =
       "specialfactory\$fromArguments";
+  static const String listConstantInitializerMethodName =
+      "specialfactory\$fromConstants";
+  static const String listConstantFieldPrefix = "dart2java\$listElements";
+  static const String forInHasNextMethodName = "hasNext";
   static const String topLevelClassName = "__TopLevel";
   static const String constructorMethodPrefix = "_constructor";
   static const String javaFactoryPrefix = "_new";
   static const String primitiveSpecializationSuffix = "_primitive";
   static const String dynamicHelperInvoke = "invoke";
+  static const String dynamicCallSiteInvoke = "invoke";
+  static const String dynamicCallSiteInvoker = "invoker";
+  static const String dynamicCallSiteSpreadInvoker = "spreadInvoker";
+  static const String dynamicPropertySiteGet = "get";
+  static const String dynamicPropertySiteSet = "set";
+  static const String dispatchPackage = "dart2java\$dispatch";
+  static const String dispatchInvoke = "invoke";
+  static const String classIdMethodName = "dart2java\$classId";
 
   // Source: https://docs.oracle.com/javase/specs/jls/se8/html/jls-3.html#jls-3.8
   static final reservedWords = new HashSet<String>.from([
@@ -0,0 +1,612 @@
+// Copyright 2016, the Dart project authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/// Code generation for dynamic invocations (invocations where the receiver
+/// has static type `dynamic`).
+///
+/// Every dynamic invocation gets its own call site object, whose invoker is
+/// stored in a static field of the generated class. The call site caches the
+/// resolved target method per receiver class (see `DynamicCallSite.java`),
+/// such that reflection is only used the first time a receiver class is seen.
+/// Dynamic property accesses get a `DynamicPropertySite` instead, which reads
+/// and writes fields directly if possible. Arithmetic, comparison and bitwise
+/// operators call `DynamicOperators`, which handles numbers without any
+/// lookup.
+///
+/// Java source code cannot express `invokedynamic`. Instead, the static field
+/// holds the invoker of the call site (a `MethodHandle`), which is passed to a
+/// static `invokeN` method of `DynamicCallSite`. Since the field is final, the
+/// JIT can inline through the call site once `invokeN` is inlined. The runtime
+/// also provides a bootstrap method, in case we ever generate bytecode
+/// directly.
+///
+/// In closed-world mode (see [CompilerOptions.closedWorld]), dynamic
+/// invocations instead call a generated selector class, which dispatches on
+/// the class of the receiver without any reflection (see
+/// [buildDispatchClass]).
+library dart2java.src.java.dynamic_dispatch;
+
+import 'dart:collection' show LinkedHashMap;
+
+import 'package:kernel/ast.dart' as dart;
+
+import '../compiler/compiler.dart' show CompilerOptions;
+import '../compiler/compiler_state.dart';
+import 'ast.dart';
+import 'constants.dart';
+import 'specialization.dart';
+import 'type_factory.dart';
+import 'types.dart';
+
+/// A dynamically invoked Java method name, together with the number of
+/// arguments (not counting the receiver).
+class DynamicSelector {
+  final String methodName;
+
+  final int arity;
+
+  DynamicSelector(this.methodName, this.arity);
+
+  @override
+  bool operator ==(Object other) =>
+      other is DynamicSelector &&
+      other.methodName == methodName &&
+      other.arity == arity;
+
+  @override
+  int get hashCode => methodName.hashCode * 31 + arity;
+
+  @override
+  String toString() => '$methodName/$arity';
+}
+
+/// State related to dynamic invocations that's local to a generated Java
+/// class.
+///
+/// Similar to the type system's `ClassState`, the compiler must insert the
+/// fields returned by [makeStaticFields] into the generated class.
+class CallSiteState {
+  final CompilerState compilerState;
+
+  final _callSiteDecls = <FieldDecl>[];
+
+  CallSiteState(this.compilerState);
+
+  /// Builds a dynamic invocation of the Java method [methodName] on
+  /// [receiver].
+  ///
+  /// [argumentTypes] are the Java types of [arguments]. Invocations with up to
+  /// [_maxSpecializedArity] arguments call a fixed-arity `invokeN` method of
+  /// `DynamicCallSite` instead of the varargs `invoke`, and invocations with
+  /// one or two `int` (or `double`) arguments pass them without boxing.
+  ///
+  /// A new call site field is allocated for every invocation, except for
+  /// operators in [_dynamicOperators], which call `DynamicOperators` directly.
+  /// In closed-world mode, the invocation calls the selector class instead.
+  MethodInvocation makeDynamicInvocation(String methodName, Expression receiver,
+      List<Expression> arguments, List<JavaType> argumentTypes) {
+    if (_dynamicOperators[methodName] == arguments.length &&
+        !compilerState.options.closedWorld) {
+      // Primitive arguments are passed unboxed if there is an overload for
+      // them, javac selects it.
+      return new MethodInvocation(new ClassRefExpr(JavaType.dynamicOperators),
+          methodName, [receiver]..addAll(arguments));
+    }
+
+    if (compilerState.options.closedWorld) {
+      var selector = new DynamicSelector(methodName, arguments.length);
+      compilerState.dynamicSelectors.add(selector);
+      return new MethodInvocation(
+          new ClassRefExpr(getDispatchClass(selector, compilerState)),
+          Constants.dispatchInvoke,
+          [receiver]..addAll(arguments));
+    }
+
+    String fieldName =
+        '${_callSiteFieldPrefix}${_callSiteDecls.length}_$methodName';
+
+    var constructorArgs = <Expression>[new StringLiteral(methodName)];
+    var invocationArgs = <Expression>[receiver];
+    JavaType primitiveType = _uniformPrimitiveType(argumentTypes);
+    if (primitiveType != null) {
+      constructorArgs
+          .addAll(argumentTypes.map((_) => new TypeExpr(primitiveType)));
+      invocationArgs.addAll(arguments);
+    } else {
+      constructorArgs.add(new IntLiteral(arguments.length));
+      for (int i = 0; i < arguments.length; i++) {
+        // Box primitives explicitly, otherwise javac might select one of the
+        // primitive overloads of `invokeN`.
+        invocationArgs.add(argumentTypes[i] is PrimitiveType
+            ? new CastExpr(arguments[i], JavaType.object)
+            : arguments[i]);
+      }
+    }
+
+    // The invoker is stored in a static final field, such that it is a
+    // constant once `invokeN` is inlined, see `DynamicCallSite.java`.
+    bool isFixedArity = arguments.length <= _maxSpecializedArity;
+    _callSiteDecls.add(new FieldDecl(fieldName, JavaType.methodHandle,
+        access: Access.Private,
+        isStatic: true,
+        isFinal: true,
+        initializer: new MethodInvocation(
+            new ClassRefExpr(JavaType.dynamicCallSite),
+            isFixedArity
+                ? Constants.dynamicCallSiteInvoker
+                : Constants.dynamicCallSiteSpreadInvoker,
+            constructorArgs)));
+
+    String invokeMethod = isFixedArity
+        ? '${Constants.dynamicCallSiteInvoke}${arguments.length}'
+        : Constants.dynamicCallSiteInvoke;
+    return new MethodInvocation(new ClassRefExpr(JavaType.dynamicCallSite),
+        invokeMethod, [new IdentifierExpr(fieldName)]..addAll(invocationArgs));
+  }
+
+  /// Builds a dynamic read of the property [name] of [receiver].
+  MethodInvocation makeDynamicPropertyGet(String name, Expression receiver) {
+    if (compilerState.options.closedWorld) {
+      return makeDynamicInvocation(
+          compilerState.translatedMethodName(name, dart.ProcedureKind.Getter),
+          receiver, [], []);
+    }
+
+    return new MethodInvocation(_makePropertySiteField(name),
+        Constants.dynamicPropertySiteGet, [receiver]);
+  }
+
+  /// Builds a dynamic write of [value] to the property [name] of [receiver].
+  MethodInvocation makeDynamicPropertySet(
+      String name, Expression receiver, Expression value) {
+    if (compilerState.options.closedWorld) {
+      // Primitive values are boxed by javac
+      return makeDynamicInvocation(
+          compilerState.translatedMethodName(name, dart.ProcedureKind.Setter),
+          receiver, [value], [JavaType.object]);
+    }
+
+    return new MethodInvocation(_makePropertySiteField(name),
+        Constants.dynamicPropertySiteSet, [receiver, value]);
+  }
+
+  IdentifierExpr _makePropertySiteField(String name) {
+    String fieldName =
+        '${_propertySiteFieldPrefix}${_callSiteDecls.length}_$name';
+
+    _callSiteDecls.add(new FieldDecl(fieldName, JavaType.dynamicPropertySite,
+        access: Access.Private,
+        isStatic: true,
+        isFinal: true,
+        initializer: new NewExpr(
+            new ClassRefExpr(JavaType.dynamicPropertySite),
+            [new StringLiteral(name)])));
+
+    return new IdentifierExpr(fieldName);
+  }
+
+  /// Returns `int` or `double` if the call site can take all arguments
+  /// unboxed, or `null` otherwise.
+  JavaType _uniformPrimitiveType(List<JavaType> argumentTypes) {
+    if (argumentTypes.isEmpty ||
+        argumentTypes.length > _maxPrimitiveArity) {
+      return null;
+    }
+
+    for (var type in [JavaType.int_, JavaType.double_]) {
+      if (argumentTypes.every((t) => t == type)) {
+        return type;
+      }
+    }
+
+    return null;
+  }
+
+  /// The compiler should call this after generating code for the class under
+  /// compilation, and insert the results at the beginning of the list of class
+  /// fields (but after the fields of the type system).
+  Iterable<OrderedClassMember> makeStaticFields() => _callSiteDecls;
+}
+
+/// Returns the selector class for [selector].
+ClassOrInterfaceType getDispatchClass(
+    DynamicSelector selector, CompilerState compilerState) {
+  return new ClassOrInterfaceType(compilerState.dispatchPackageName,
+      '${selector.methodName}_${selector.arity}');
+}
+
+/// Builds the selector class for [selector] (closed-world mode only).
+///
+/// The class has a single static method that takes the receiver and the
+/// arguments of a dynamic invocation. It calls the target method directly
+/// (without reflection) if the receiver is
+///   * an instance of a class that was compiled in closed-world mode and
+///     does not extend a mixin application (by switching on the class id of
+///     the receiver);
+///   * an `int` or `double` and the selector is a numeric operator;
+///   * a `String` and the selector is in [_stringHelperMethods];
+///   * a `List`, `Iterable`, `Iterator` or `Map` (by `instanceof` checks).
+///
+/// Everything else goes through `DynamicHelper`.
+ClassDecl buildDispatchClass(
+    DynamicSelector selector, CompilerState compilerState) {
+  return new _DispatchClassBuilder(selector, compilerState).build();
+}
+
+class _DispatchClassBuilder {
+  final DynamicSelector selector;
+
+  final CompilerState compilerState;
+
+  final receiver = new IdentifierExpr('receiver');
+
+  final List<IdentifierExpr> arguments;
+
+  _DispatchClassBuilder(DynamicSelector selector, this.compilerState)
+      : selector = selector,
+        arguments = new List<IdentifierExpr>.generate(
+            selector.arity, (i) => new IdentifierExpr('arg${i + 1}'));
+
+  ClassDecl build() {
+    var statements = <Statement>[];
+
+    SwitchStmt classIdSwitch = _buildClassIdSwitch();
+    if (classIdSwitch != null) {
+      statements.add(new IfStmt(
+          new InstanceOfExpr(receiver, JavaType.dartObject),
+          new Block([classIdSwitch])));
+    }
+    statements
+      ..addAll(_buildNumberChecks())
+      ..addAll(_buildStringCheck())
+      ..addAll(_buildInterfaceChecks())
+      ..add(new ReturnStmt(_buildFallback()));
+
+    var parameters = <VariableDecl>[
+      new VariableDecl(receiver.identifier, JavaType.object)
+    ]..addAll(arguments
+        .map((a) => new VariableDecl(a.identifier, JavaType.object)));
+
+    return new ClassDecl(getDispatchClass(selector, compilerState),
+        access: Access.Public,
+        supertype: JavaType.object,
+        methods: [
+          new MethodDef(
+              Constants.dispatchInvoke, new Block(statements), parameters,
+              returnType: JavaType.object, isStatic: true)
+        ]);
+  }
+
+  /// Builds a switch over the class id of the receiver, with one case per
+  /// target method. Returns [:null:] if no class with an id has a target.
+  SwitchStmt _buildClassIdSwitch() {
+    var classIdsByTarget = new LinkedHashMap<dart.Member, List<Expression>>();
+    for (var class_ in compilerState.classesWithIds) {
+      dart.Member target = _findTarget(class_);
+      if (target != null &&
+          !compilerState.isSpecialClass(target.enclosingClass)) {
+        classIdsByTarget
+            .putIfAbsent(target, () => <Expression>[])
+            .add(new IntLiteral(compilerState.getClassId(class_)));
+      }
+    }
+
+    if (classIdsByTarget.isEmpty) {
+      return null;
+    }
+
+    var cases = <SwitchCase>[];
+    classIdsByTarget.forEach((target, classIds) {
+      cases.add(new SwitchCase(classIds, _buildCall(target)));
+    });
+
+    return new SwitchStmt(
+        new MethodInvocation(new CastExpr(receiver, JavaType.dartObject),
+            Constants.classIdMethodName),
+        cases);
+  }
+
+  /// Builds calls to `IntegerHelper` and `DoubleHelper` for numeric
+  /// operators with `int` or `double` operands.
+  List<Statement> _buildNumberChecks() {
+    if (selector.arity != 1 ||
+        !_numberOperators.contains(selector.methodName)) {
+      return const [];
+    }
+
+    var checks = <Statement>[];
+    var numberTypes = {
+      compilerState.intClass: JavaType.int_,
+      compilerState.doubleClass: JavaType.double_
+    };
+    numberTypes.forEach((class_, receiverType) {
+      var argumentChecks = <Statement>[];
+      for (var argumentType in numberTypes.values) {
+        argumentChecks.add(new IfStmt(
+            new InstanceOfExpr(arguments[0], argumentType.boxedType),
+            new Block([
+              new ReturnStmt(new MethodInvocation(
+                  new ClassRefExpr(compilerState.getHelperClass(class_)),
+                  selector.methodName, [
+                new CastExpr(receiver, receiverType),
+                new CastExpr(arguments[0], argumentType)
+              ]))
+            ])));
+      }
+      checks.add(new IfStmt(
+          new InstanceOfExpr(receiver, receiverType.boxedType),
+          new Block(argumentChecks)));
+    });
+    return checks;
+  }
+
+  /// Builds a call to `StringHelper` if it has a method for [selector].
+  List<Statement> _buildStringCheck() {
+    List<JavaType> parameterTypes = _stringHelperMethods[selector.toString()];
+    if (parameterTypes == null) {
+      return const [];
+    }
+
+    Expression condition = new InstanceOfExpr(receiver, JavaType.string);
+    var helperArguments = <Expression>[
+      new CastExpr(receiver, JavaType.string)
+    ];
+    for (int i = 0; i < selector.arity; i++) {
+      JavaType type = parameterTypes[i];
+      condition = new BinaryExpr(condition,
+          new InstanceOfExpr(arguments[i], type.toBoxedType()), '&&');
+      helperArguments.add(new CastExpr(arguments[i], type));
+    }
+
+    return [
+      new IfStmt(
+          condition,
+          new Block([
+            new ReturnStmt(new MethodInvocation(
+                new ClassRefExpr(
+                    compilerState.getHelperClass(compilerState.stringClass)),
+                selector.methodName,
+                helperArguments))
+          ]))
+    ];
+  }
+
+  /// Builds `instanceof` checks for SDK collection interfaces. Their
+  /// implementations (e.g., `DartList`) are not compiled in closed-world mode
+  /// and have no class id.
+  List<Statement> _buildInterfaceChecks() {
+    var checks = <Statement>[];
+    for (var class_ in [
+      compilerState.listClass,
+      compilerState.mapClass,
+      compilerState.iterableClass,
+      compilerState.iteratorClass
+    ]) {
+      if (compilerState.isSpecialClass(class_)) {
+        continue;
+      }
+
+      dart.Member target = _findTarget(class_, includeAbstract: true);
+      if (target != null &&
+          !compilerState.isSpecialClass(target.enclosingClass)) {
+        checks.add(new IfStmt(
+            new InstanceOfExpr(receiver, _getRawInterface(class_)),
+            _buildCall(target)));
+      }
+    }
+    return checks;
+  }
+
+  Expression _buildFallback() {
+    String methodName = selector.arity <= _maxSpecializedArity
+        ? '${Constants.dynamicHelperInvoke}${selector.arity}'
+        : Constants.dynamicHelperInvoke;
+    return new MethodInvocation(
+        new ClassRefExpr(JavaType.dynamicHelper),
+        methodName,
+        <Expression>[new StringLiteral(selector.methodName), receiver]
+          ..addAll(arguments));
+  }
+
+  /// Finds the member that a dynamic invocation of [selector] on an instance
+  /// of [class_] calls, or [:null:] if there is none.
+  ///
+  /// Also returns [:null:] if a superclass of [class_] is a mixin application:
+  /// this lookup does not search mixins, so it might find a member that the
+  /// mixin overrides. Such receivers go through `DynamicHelper`, which looks
+  /// up the Java method of the receiver class.
+  dart.Member _findTarget(dart.Class class_, {bool includeAbstract: false}) {
+    for (var cls = class_; cls != null; cls = cls.superclass) {
+      if (cls.mixedInType != null) {
+        return null;
+      }
+    }
+
+    for (var cls = class_; cls != null; cls = cls.superclass) {
+      for (var procedure in cls.procedures) {
+        if (!procedure.isStatic &&
+            (includeAbstract || !procedure.isAbstract) &&
+            procedure.kind != dart.ProcedureKind.Factory &&
+            procedure.function.positionalParameters.length == selector.arity &&
+            procedure.function.namedParameters.isEmpty &&
+            compilerState.translatedMethodName(
+                    procedure.name.name, procedure.kind) ==
+                selector.methodName) {
+          return procedure;
+        }
+      }
+
+      for (var field in cls.fields) {
+        if (field.isStatic) {
+          continue;
+        }
+        if ((selector.arity == 0 &&
+                compilerState.translatedMethodName(
+                        field.name.name, dart.ProcedureKind.Getter) ==
+                    selector.methodName) ||
+            (selector.arity == 1 &&
+                !field.isFinal &&
+                compilerState.translatedMethodName(
+                        field.name.name, dart.ProcedureKind.Setter) ==
+                    selector.methodName)) {
+          return field;
+        }
+      }
+    }
+
+    return null;
+  }
+
+  /// Builds a direct call of [target], through the raw interface of the class
+  /// declaring [target].
+  ///
+  /// The interface of a generic class only declares the suffixed method names
+  /// of its fully generic specialization (e.g., `foo_Foo`). The unsuffixed
+  /// delegators (`foo`) only exist in the classes.
+  Block _buildCall(dart.Member target) {
+    dart.Class class_ = target.enclosingClass;
+    var typeFactory = new TypeFactory(compilerState,
+        new TypeSpecialization.fullyGeneric(class_.typeParameters.length),
+        dartClass: class_);
+
+    List<dart.DartType> parameterTypes;
+    dart.DartType returnType;
+    dart.ProcedureKind kind;
+    if (target is dart.Procedure) {
+      parameterTypes = target.function.positionalParameters
+          .map((p) => p.type)
+          .toList();
+      returnType = target.function.returnType;
+      kind = target.kind;
+    } else {
+      var field = target as dart.Field;
+      parameterTypes = selector.arity == 0 ? [] : [field.type];
+      returnType = field.type;
+      kind = selector.arity == 0
+          ? dart.ProcedureKind.Getter
+          : dart.ProcedureKind.Setter;
+    }
+    String methodName = compilerState.translatedMethodName(target.name.name,
+        kind, typeFactory.getInterface(class_.thisType));
+
+    var callArguments = <Expression>[];
+    for (int i = 0; i < selector.arity; i++) {
+      callArguments.add(_castArgument(
+          arguments[i], typeFactory.getLValueType(parameterTypes[i])));
+    }
+    var invocation = new MethodInvocation(
+        new CastExpr(receiver, _getRawInterface(class_)),
+        methodName,
+        callArguments);
+
+    if (typeFactory.getLValueType(returnType) == JavaType.void_) {
+      return new Block([
+        new ExpressionStmt(invocation),
+        new ReturnStmt(new NullLiteral())
+      ]);
+    } else {
+      return new Block([new ReturnStmt(invocation)]);
+    }
+  }
+
+  /// Casts [argument] (of Java type `Object`) to the erasure of [type].
+  Expression _castArgument(Expression argument, JavaType type) {
+    if (type is TypeVariable || type == JavaType.object) {
+      return argument;
+    }
+    if (type is ClassOrInterfaceType && type.isGeneric) {
+      type = (type as ClassOrInterfaceType).withoutJavaGenerics();
+    }
+    return new CastExpr(argument, type);
+  }
+
+  ClassOrInterfaceType _getRawInterface(dart.Class class_) {
+    return new TypeFactory(
+            compilerState, new TypeSpecialization.fullyGeneric(0))
+        .getRawInterface(class_);
+  }
+}
+
+const _callSiteFieldPrefix = 'dart2java\$callSite';
+
+const _propertySiteFieldPrefix = 'dart2java\$propertySite';
+
+/// Maximum number of arguments for which `DynamicCallSite` has an `invokeN`
+/// method. Keep in sync with DynamicCallSite.java!
+const _maxSpecializedArity = 4;
+
+/// Maximum number of arguments for which `DynamicCallSite` has `int` and
+/// `double` variants of `invokeN`. Keep in sync with DynamicCallSite.java!
+const _maxPrimitiveArity = 2;
+
+/// Operators implemented by `DynamicOperators`, with their number of
+/// arguments (not counting the receiver).
+/// Keep in sync with DynamicOperators.java!
+const _dynamicOperators = const {
+  'operatorPlus': 1,
+  'operatorMinus': 1,
+  'operatorStar': 1,
+  'operatorDivide': 1,
+  'operatorTruncatedDivide': 1,
+  'operatorModulus': 1,
+  'operatorLess': 1,
+  'operatorLessEqual': 1,
+  'operatorGreater': 1,
+  'operatorGreaterEqual': 1,
+  'operatorBitAnd': 1,
+  'operatorBitOr': 1,
+  'operatorBitXor': 1,
+  'operatorShiftLeft': 1,
+  'operatorShiftRight': 1,
+  'operatorUnaryMinus': 0,
+  'operatorUnaryBitNegate': 0,
+};
+
+/// Operators that `IntegerHelper` and `DoubleHelper` implement for all
+/// combinations of `int` and `double` operands.
+/// Keep in sync with IntegerHelper.java and DoubleHelper.java!
+const _numberOperators = const [
+  'compareTo',
+  'operatorPlus',
+  'operatorMinus',
+  'operatorStar',
+  'operatorDivide',
+  'operatorTruncatedDivide',
+  'operatorLess',
+  'operatorLessEqual',
+  'operatorGreater',
+  'operatorGreaterEqual'
+];
+
+/// Methods of `StringHelper` that selector classes call directly, by
+/// selector, with the Java types of their parameters (not counting the
+/// receiver). Keep in sync with StringHelper.java!
+final _stringHelperMethods = <String, List<JavaType>>{
+  'getLength/0': [],
+  'getIsEmpty/0': [],
+  'getIsNotEmpty/0': [],
+  'operatorAt/1': [JavaType.int_],
+  'operatorPlus/1': [JavaType.string],
+  'operatorStar/1': [JavaType.int_],
+  'contains/1': [JavaType.string],
+  'startsWith/1': [JavaType.string],
+  'endsWith/1': [JavaType.string],
+  'indexOf/1': [JavaType.string],
+  'lastIndexOf/1': [JavaType.string],
+  'substring/1': [JavaType.int_],
+  'substring/2': [JavaType.int_, JavaType.int_],
+  'trim/0': [],
+  'toLowerCase/0': [],
+  'toUpperCase/0': []
+};
@@ -16,6 +16,8 @@ import 'package:kernel/ast.dart' as dart;
 import 'package:kernel/type_algebra.dart' as dart_ts;
 
 import 'ast.dart' as java;
+import 'check_elimination.dart';
+import 'dynamic_dispatch.dart';
 import 'specialization.dart' as spzn;
 import 'types.dart' as java;
 import 'type_factory.dart';
@@ -41,7 +43,11 @@ java.ClassDecl buildWrapperClass(
       library.fields)..addAll(library.fields.map(instance.visitField));
   result.methods = library.procedures.map(instance.visitProcedure).toList();
   result.orderedMembers
-      .insertAll(0, instance.typeSystemState.makeStaticFields());
+    ..insertAll(0, instance.listConstantDecls)
+    ..insertAll(0, instance.callSiteState.makeStaticFields())
+    ..insertAll(0, instance.typeSystemState.makeStaticFields());
+  result.nestedClasses =
+      instance.typeSystemState.makeNestedClasses(type).toList();
 
   return result;
 }
@@ -97,6 +103,7 @@ class _JavaAstBuilder extends dart.Visitor<java.Node> {
     this.typeFactory = new TypeFactory(
         compilerState, new spzn.TypeSpecialization.fullyGeneric(0));
     this.typeSystemState = new ts.ClassState(typeFactory);
+    this.callSiteState = new CallSiteState(compilerState);
   }
 
   TypeFactory typeFactory;
@@ -164,6 +171,17 @@ class _JavaAstBuilder extends dart.Visitor<java.Node> {
   /// State related to the type system.
   ts.ClassState typeSystemState;
 
+  /// State related to dynamic invocations.
+  CallSiteState callSiteState;
+
+  /// Static fields holding the elements of list literals that consist of
+  /// constants only (see [visitListLiteral]).
+  final listConstantDecls = <java.FieldDecl>[];
+
+  /// The type checks that always succeed, per procedure or constructor (see
+  /// [findRedundantChecks]). Computed lazily.
+  final _redundantChecks = new Map<dart.FunctionNode, Set<dart.Expression>>();
+
   final CompilerState compilerState;
 
   /// Default visitor method. Useful to track which AST nodes are not
@@ -229,6 +247,22 @@ class _JavaAstBuilder extends dart.Visitor<java.Node> {
     methods.addAll(
         new spzn.DelegatorMethodsBuilder(typeFactory).buildForClass(node));
 
+    int classId = compilerState.getClassId(node);
+    if (classId != null) {
+      // Used by selector classes in closed-world mode
+      methods.add(new java.MethodDef(Constants.classIdMethodName,
+          wrapInJavaBlock(new java.ReturnStmt(new java.IntLiteral(classId))),
+          [],
+          returnType: java.JavaType.int_));
+    }
+
+    // Instances of non-generic classes do not store their type
+    methods.add(ts.makeTypeGetter(node, typeSystemState));
+    java.FieldDecl typeField = ts.makeTypeField(node);
+    if (typeField != null) {
+      orderedMembers.add(typeField);
+    }
+
     java.ClassOrInterfaceType supertype = typeFactory.getClass(node.supertype);
     if (supertype == java.JavaType.object) {
       // Make sure that "extends Object" results in "extends DartObject"
@@ -251,10 +285,15 @@ class _JavaAstBuilder extends dart.Visitor<java.Node> {
       }
 
       // Add fields and initializers from type system
-      orderedMembers.insertAll(0, typeSystemState.makeStaticFields());
+      orderedMembers
+        ..insertAll(0, listConstantDecls)
+        ..insertAll(0, callSiteState.makeStaticFields())
+        ..insertAll(0, typeSystemState.makeStaticFields());
     } else {
-      orderedMembers.insertAll(
-          0, typeSystemState.makeStaticFieldsForSpecialization());
+      orderedMembers
+        ..insertAll(0, listConstantDecls)
+        ..insertAll(0, callSiteState.makeStaticFields())
+        ..insertAll(0, typeSystemState.makeStaticFieldsForSpecialization());
     }
 
     // TODO(springerm): Think about whether a class should directly implement
@@ -269,6 +308,9 @@ class _JavaAstBuilder extends dart.Visitor<java.Node> {
         orderedMembers: orderedMembers,
         methods: methods,
         constructors: [buildEmptyConstructor()],
+        nestedClasses: typeSystemState
+            .makeNestedClasses(thisClassOrInterfaceType)
+            .toList(),
         supertype: supertype,
         isAbstract: node.isAbstract,
         implementedInterfaces: implementedInterfaces);
@@ -481,21 +523,8 @@ class _JavaAstBuilder extends dart.Visitor<java.Node> {
 
     // Provided positional parameters
     for (int i = 0; i < node.positional.length; i++) {
-      dart.DartType expectedType;
-
-      if (receiverType != null) {
-        // Substitute the value of the type variables given in the expected
-        // parameter type for the actual types in `receiverType`.
-        expectedType = dart_ts.substitutePairwise(
-            target.positionalParameters[i].type,
-            receiverType.classNode.typeParameters,
-            receiverType.typeArguments);
-      } else {
-        // Not necessary for constructors, super calls, or static invocations.
-        // Their types should not contain any type variables.
-        expectedType = target.positionalParameters[i].type;
-      }
-
+      dart.DartType expectedType =
+          buildParameterType(target.positionalParameters[i], receiverType);
       result.add(buildCastedExpression(node.positional[i], expectedType));
     }
 
@@ -503,12 +532,52 @@ class _JavaAstBuilder extends dart.Visitor<java.Node> {
     for (int i = node.positional.length;
         i < target.positionalParameters.length;
         i++) {
-      result.add(target.positionalParameters[i].initializer.accept(this));
+      dart.Expression initializer = target.positionalParameters[i].initializer;
+      if (initializer == null || initializer is dart.NullLiteral) {
+        // The default value is null, which a primitive parameter (e.g. the
+        // `E fillValue` of `List<int>.fillRange`) cannot hold. Pass zero.
+        dart.DartType expectedType =
+            buildParameterType(target.positionalParameters[i], receiverType);
+        result.add(buildDefaultValue(typeFactory.getLValueType(expectedType)));
+      } else {
+        result.add(initializer.accept(this));
+      }
     }
 
     return new _JavaArguments(result, javaGenerics);
   }
 
+  /// Returns the type of [parameter] for a call on a receiver of static type
+  /// [receiverType], or its declared type if there is no receiver.
+  dart.DartType buildParameterType(
+      dart.VariableDeclaration parameter, dart.InterfaceType receiverType) {
+    if (receiverType != null) {
+      // Substitute the value of the type variables given in the expected
+      // parameter type for the actual types in `receiverType`.
+      return dart_ts.substitutePairwise(parameter.type,
+          receiverType.classNode.typeParameters, receiverType.typeArguments);
+    } else {
+      // Not necessary for constructors, super calls, or static invocations.
+      // Their types should not contain any type variables.
+      return parameter.type;
+    }
+  }
+
+  /// Returns the value of an uninitialized Java variable of type [type]: zero
+  /// or false for primitive types, null otherwise.
+  java.Literal buildDefaultValue(java.JavaType type) {
+    if (type == java.PrimitiveType.boolean) {
+      return new java.BoolLiteral(false);
+    } else if (type == java.PrimitiveType.double_ ||
+        type == java.PrimitiveType.float) {
+      return new java.DoubleLiteral(0.0);
+    } else if (type is java.PrimitiveType) {
+      return new java.IntLiteral(0);
+    } else {
+      return new java.NullLiteral();
+    }
+  }
+
   @override
   java.Statement visitSuperInitializer(dart.SuperInitializer node) {
     // TODO(springerm): insert correct name of constructor
@@ -687,14 +756,20 @@ class _JavaAstBuilder extends dart.Visitor<java.Node> {
   /// default super constructor. The first parameter is merely used as a marker
   /// to dispatch to the correct (overloaded) constructor.
   java.Constructor buildEmptyConstructor() {
-    java.Statement superCall =
-        new java.SuperConstructorInvocation(<java.Expression>[
-      new java.IdentifierExpr("arg"),
-      new java.IdentifierExpr("type")
-    ]);
+    var statements = <java.Statement>[
+      new java.SuperConstructorInvocation(<java.Expression>[
+        new java.IdentifierExpr("arg"),
+        new java.IdentifierExpr("type")
+      ])
+    ];
+    java.Statement typeFieldInit =
+        ts.makeTypeFieldInitializer(thisDartClass, "type");
+    if (typeFieldInit != null) {
+      statements.add(typeFieldInit);
+    }
 
     return new java.Constructor(thisClassOrInterfaceType,
-        wrapInJavaBlock(superCall), <java.VariableDecl>[
+        new java.Block(statements), <java.VariableDecl>[
       new java.VariableDecl("arg", java.JavaType.emptyConstructorMarker),
       new java.VariableDecl("type", ts.typeRepType)
     ]);
@@ -849,12 +924,17 @@ class _JavaAstBuilder extends dart.Visitor<java.Node> {
 
   @override
   java.Statement visitForInStatement(dart.ForInStatement node) {
-    String iteratorName = nextTempVarIdentifier();
-    var iteratorVariable = new java.IdentifierExpr(iteratorName);
-
     var iterableType = node.iterable.staticType as dart.InterfaceType;
     List<java.JavaType> javaTypeArgs =
         iterableType.typeArguments.map(typeFactory.getLValueType).toList();
+
+    if (iterableType.classNode == compilerState.listClass) {
+      return buildForInOverList(node, javaTypeArgs);
+    }
+
+    String iteratorName = nextTempVarIdentifier();
+    var iteratorVariable = new java.IdentifierExpr(iteratorName);
+
     java.ClassOrInterfaceType javaIteratorType = typeFactory
         .getRawInterface(compilerState.iteratorClass)
         .withTypeArguments(javaTypeArgs);
@@ -890,6 +970,75 @@ class _JavaAstBuilder extends dart.Visitor<java.Node> {
         body);
   }
 
+  /// Translates a for-in loop over a [List] to an indexed loop, which does not
+  /// allocate an iterator. In the `int`, `double` and `bool` specializations
+  /// of [List], elements are read without boxing.
+  ///
+  /// Like the iterator of a list, the loop throws if the length of the list
+  /// changes during the iteration:
+  ///
+  ///     {
+  ///       List_interface__int list = <iterable>;
+  ///       int length = list.getLength_List__int();
+  ///       for (int i = 0;
+  ///           ForInHelper.hasNext(i, length, list.getLength_List__int());
+  ///           i = i + 1) {
+  ///         int element = list.operatorAt_List__int(i);
+  ///         <body>
+  ///       }
+  ///     }
+  java.Statement buildForInOverList(
+      dart.ForInStatement node, List<java.JavaType> javaTypeArgs) {
+    java.ClassOrInterfaceType javaListType = typeFactory
+        .getRawInterface(compilerState.listClass)
+        .withTypeArguments(javaTypeArgs);
+
+    var listVariable = new java.IdentifierExpr(nextTempVarIdentifier());
+    var lengthVariable = new java.IdentifierExpr(nextTempVarIdentifier());
+    var indexVariable = new java.IdentifierExpr(nextTempVarIdentifier());
+
+    String lengthGetterName = compilerState.translatedMethodName(
+        "length", dart.ProcedureKind.Getter, javaListType);
+
+    var listDecl = new java.VariableDeclStmt(new java.VariableDecl(
+        listVariable.identifier, javaListType,
+        initializer:
+            new java.CastExpr(node.iterable.accept(this), javaListType)));
+    var lengthDecl = new java.VariableDeclStmt(new java.VariableDecl(
+        lengthVariable.identifier, java.JavaType.int_,
+        initializer: new java.MethodInvocation(listVariable, lengthGetterName)));
+    var indexDecl = new java.VariableDecl(
+        indexVariable.identifier, java.JavaType.int_,
+        initializer: new java.IntLiteral(0));
+
+    var condition = new java.MethodInvocation(
+        new java.ClassRefExpr(java.JavaType.forInHelper),
+        Constants.forInHasNextMethodName, <java.Expression>[
+      indexVariable,
+      lengthVariable,
+      new java.MethodInvocation(listVariable, lengthGetterName)
+    ]);
+    var update = new java.AssignmentExpr(indexVariable,
+        new java.BinaryExpr(indexVariable, new java.IntLiteral(1), "+"));
+
+    var elementVarDecl = new java.VariableDeclStmt(new java.VariableDecl(
+        node.variable.name, typeFactory.getLValueType(node.variable.type),
+        initializer: new java.MethodInvocation(
+            listVariable,
+            compilerState.translatedMethodName(
+                "[]", dart.ProcedureKind.Operator, javaListType),
+            [indexVariable])));
+
+    var body = new java.Block([elementVarDecl]
+      ..addAll(wrapInJavaBlock(buildStatement(node.body)).statements));
+
+    return new java.Block([
+      listDecl,
+      lengthDecl,
+      new java.ForStmt([indexDecl], condition, [update], body)
+    ]);
+  }
+
   @override
   java.BreakStmt visitBreakStatement(dart.BreakStatement node) {
     String label = codeLabels[node.target];
@@ -979,20 +1128,9 @@ class _JavaAstBuilder extends dart.Visitor<java.Node> {
   @override
   java.MethodInvocation visitPropertyGet(dart.PropertyGet node) {
     if (node.receiver.staticType is dart.DynamicType) {
-      // Generate dynamic method invocation
-      String methodName = compilerState.translatedMethodName(
-          node.name.name, dart.ProcedureKind.Getter);
-
-      // Generate static call to helper function
-      var helperRefExpr = new java.ClassRefExpr(java.JavaType.dynamicHelper);
-
-      List<java.Expression> javaArgs = [
-        new java.StringLiteral(methodName),
-        node.receiver.accept(this)
-      ];
-
-      return new java.MethodInvocation(
-          helperRefExpr, Constants.dynamicHelperInvoke, javaArgs);
+      // Generate dynamic property access
+      return callSiteState.makeDynamicPropertyGet(
+          node.name.name, node.receiver.accept(this));
     }
 
     var interfaceType = node.receiver.staticType as dart.InterfaceType;
@@ -1022,21 +1160,9 @@ class _JavaAstBuilder extends dart.Visitor<java.Node> {
   @override
   java.MethodInvocation visitPropertySet(dart.PropertySet node) {
     if (node.receiver.staticType is dart.DynamicType) {
-      // Generate dynamic method invocation
-      String methodName = compilerState.translatedMethodName(
-          node.name.name, dart.ProcedureKind.Setter);
-
-      // Generate static call to helper function
-      var helperRefExpr = new java.ClassRefExpr(java.JavaType.dynamicHelper);
-
-      List<java.Expression> javaArgs = [
-        new java.StringLiteral(methodName),
-        node.receiver.accept(this),
-        node.value.accept(this)
-      ];
-
-      return new java.MethodInvocation(
-          helperRefExpr, Constants.dynamicHelperInvoke, javaArgs);
+      // Generate dynamic property access
+      return callSiteState.makeDynamicPropertySet(node.name.name,
+          node.receiver.accept(this), node.value.accept(this));
     }
 
     if (node.receiver.staticType is! dart.InterfaceType) {
@@ -1145,16 +1271,13 @@ class _JavaAstBuilder extends dart.Visitor<java.Node> {
 
     if (node.receiver.staticType is dart.DynamicType) {
       // Generate dynamic method invocation
-      // Generate static call to helper function
-      var helperRefExpr = new java.ClassRefExpr(java.JavaType.dynamicHelper);
-
-      List<java.Expression> javaArgs = [
-        new java.StringLiteral(javaName),
-        node.receiver.accept(this)
-      ]..addAll(node.arguments.positional.map((i) => i.accept(this)));
-
-      return new java.MethodInvocation(
-          helperRefExpr, Constants.dynamicHelperInvoke, javaArgs);
+      return callSiteState.makeDynamicInvocation(
+          javaName,
+          node.receiver.accept(this),
+          node.arguments.positional.map((i) => i.accept(this)).toList(),
+          node.arguments.positional
+              .map((i) => typeFactory.getLValueType(i.staticType))
+              .toList());
     }
 
     if (node.receiver.staticType is! dart.InterfaceType) {
@@ -1178,6 +1301,15 @@ class _JavaAstBuilder extends dart.Visitor<java.Node> {
           "class ${node.receiver.staticType}.");
     }
 
+    String typedKeyMethodName = Constants.mapTypedKeyMethods[methodName];
+    if (typedKeyMethodName != null &&
+        (ownerType.classNode == compilerState.mapClass ||
+            ownerType.classNode == compilerState.linkedHashMapClass) &&
+        isUnboxedMapKey(node.arguments.positional.single, ownerType)) {
+      return buildTypedKeyMapInvocation(
+          node, javaName, typedKeyMethodName, ownerType);
+    }
+
     // Call specialized method
     javaName = compilerState.translatedMethodName(javaName,
         dart.ProcedureKind.Method, typeFactory.getLValueType(ownerType));
@@ -1189,6 +1321,80 @@ class _JavaAstBuilder extends dart.Visitor<java.Node> {
             receiverType: ownerType));
   }
 
+  /// Returns [:true:] if [key] has the primitive key type of [mapType], i.e.,
+  /// if the key can be passed to the map without boxing.
+  bool isUnboxedMapKey(dart.Expression key, dart.InterfaceType mapType) {
+    java.JavaType keyType =
+        typeFactory.getLValueType(mapType.typeArguments.first);
+    return keyType is java.PrimitiveType &&
+        typeFactory.getLValueType(key.staticType) == keyType;
+  }
+
+  /// Translates `[]`, `containsKey` or `remove` on a map with a primitive key
+  /// type to a call of the `K`-typed variant of `LinkedHashMap` (see
+  /// [Constants.mapTypedKeyMethods]), so that the key is not boxed.
+  ///
+  /// These variants are not part of the `Map` interface. `new Map<int, V>()`
+  /// creates a `LinkedHashMap__int_generic` (or `__int_int`, ...), because
+  /// the generated `_new_LinkedHashMap$` factory selects the specialization
+  /// from the reified type arguments. If the receiver's static type is `Map`
+  /// and the receiver is a local variable, the map is checked at runtime;
+  /// other maps get the `Object`-typed call:
+  ///
+  ///     map instanceof LinkedHashMap_interface__int_generic
+  ///         ? ((LinkedHashMap_interface__int_generic<V>) map)
+  ///             .typedLookup_LinkedHashMap__int_generic(<key>)
+  ///         : map.operatorAt_Map__int_generic(<key>)
+  ///
+  /// Other receivers get the `Object`-typed call without a check, so that no
+  /// temporary variable is needed. The key is translated once and emitted in
+  /// both branches, only one of which is evaluated.
+  java.Expression buildTypedKeyMapInvocation(dart.MethodInvocation node,
+      String javaName, String typedKeyMethodName, dart.InterfaceType ownerType) {
+    var mapType =
+        typeFactory.getLValueType(ownerType) as java.ClassOrInterfaceType;
+    java.Expression key = node.arguments.positional.single.accept(this);
+
+    var linkedHashMapType = ownerType.classNode == compilerState.mapClass
+        ? typeFactory
+            .getRawInterface(compilerState.linkedHashMapClass)
+            .withTypeArguments(mapType.typeArguments)
+        : mapType;
+    String typedJavaName = compilerState.translatedMethodName(
+        typedKeyMethodName, dart.ProcedureKind.Method, linkedHashMapType);
+
+    if (ownerType.classNode == compilerState.linkedHashMapClass) {
+      return new java.MethodInvocation(
+          node.receiver.accept(this), typedJavaName, [key]);
+    }
+
+    String mapJavaName = compilerState.translatedMethodName(
+        javaName, dart.ProcedureKind.Method, mapType);
+    if (node.receiver is! dart.VariableGet) {
+      return new java.MethodInvocation(
+          node.receiver.accept(this), mapJavaName, [key]);
+    }
+
+    // A local variable can be read twice
+    return buildTypedKeyMapCheck(node.receiver.accept(this), linkedHashMapType,
+        typedJavaName, mapJavaName, key);
+  }
+
+  /// Builds `map instanceof LinkedHashMap_interface ? <typed call> : <call>`
+  /// for [buildTypedKeyMapInvocation]. [map] is emitted three times.
+  java.ConditionalExpr buildTypedKeyMapCheck(
+      java.Expression map,
+      java.ClassOrInterfaceType linkedHashMapType,
+      String typedJavaName,
+      String mapJavaName,
+      java.Expression key) {
+    return new java.ConditionalExpr(
+        new java.InstanceOfExpr(map, linkedHashMapType.withoutJavaGenerics()),
+        new java.MethodInvocation(
+            new java.CastExpr(map, linkedHashMapType), typedJavaName, [key]),
+        new java.MethodInvocation(map, mapJavaName, [key]));
+  }
+
   @override
   java.SuperMethodInvocation visitSuperMethodInvocation(
       dart.SuperMethodInvocation node) {
@@ -1295,8 +1501,7 @@ class _JavaAstBuilder extends dart.Visitor<java.Node> {
       javaType = java.JavaType.dartObject;
     }
 
-    var typeExpr = ts.makeTypeExpr(dartType, typeSystemState);
-    var runtimeType = ts.evaluateTypeExpr(ts.getTypeEnv(), typeExpr);
+    var runtimeType = ts.makeTypeRep(dartType, typeSystemState);
     args.insert(0, runtimeType);
 
     return new java.MethodInvocation(
@@ -1435,10 +1640,8 @@ class _JavaAstBuilder extends dart.Visitor<java.Node> {
 
   @override
   java.Expression visitIsExpression(dart.IsExpression node) {
-    java.Expression operand = node.operand.accept(this);
-    java.Expression typeExpr = ts.makeTypeExpr(node.type, typeSystemState);
-    java.Expression type = ts.evaluateTypeExpr(ts.getTypeEnv(), typeExpr);
-    return ts.makeSubtypeCheck(ts.getTypeOf(operand), type);
+    return ts.makeIsCheck(
+        node.operand.accept(this), node.type, typeSystemState);
   }
 
   @override
@@ -1508,14 +1711,75 @@ class _JavaAstBuilder extends dart.Visitor<java.Node> {
 
   @override
   java.Expression visitAsExpression(dart.AsExpression node) {
-    return ts.makeTypeCast(
-        node.operand.accept(this), node.type, typeSystemState);
+    if (isRedundantCheck(node)) {
+      return ts.makeUncheckedCast(
+          node.operand.accept(this), node.type, typeSystemState);
+    }
+    return buildTypeCheckOrCast(node.operand, node.type, ts.makeTypeCast);
   }
 
   @override
   java.Expression visitTypeCheckExpression(dart.TypeCheckExpression node) {
-    return ts.makeTypeCheck(
-        node.operand.accept(this), node.type, typeSystemState);
+    if (isRedundantCheck(node)) {
+      return ts.makeUncheckedCast(
+          node.operand.accept(this), node.type, typeSystemState);
+    }
+    return buildTypeCheckOrCast(node.operand, node.type, ts.makeTypeCheck);
+  }
+
+  /// Builds a check or cast (with [makeCheck]) of [operand] against [type].
+  ///
+  /// If [type] has an exact Java type, the result reads the operand twice
+  /// (see [ts.makeTypeCast]). Operands other than local variables are then
+  /// stored in a temporary variable first, like in [visitLet].
+  java.Expression buildTypeCheckOrCast(
+      dart.Expression operand,
+      dart.DartType type,
+      java.Expression makeCheck(
+          java.Expression operand, dart.DartType type, ts.ClassState state)) {
+    java.Expression javaOperand = operand.accept(this);
+    if (operand is dart.VariableGet ||
+        tempVars == null ||
+        !ts.hasExactJavaType(type, typeSystemState)) {
+      return makeCheck(javaOperand, type, typeSystemState);
+    }
+
+    var variable =
+        new dart.VariableDeclaration(null, type: const dart.DynamicType());
+    String tempIdentifier = nextTempVarIdentifier();
+    tempVars[variable] = new TemporaryVariable(tempIdentifier, variable.type);
+    var temp = new java.IdentifierExpr(tempIdentifier);
+
+    return new java.MethodInvocation(
+        new java.ClassRefExpr(java.JavaType.letHelper),
+        Constants.sequencePointMethodName, <java.Expression>[
+      new java.AssignmentExpr(temp, javaOperand),
+      makeCheck(temp, type, typeSystemState)
+    ]);
+  }
+
+  /// Returns true if the type check or cast [node] always succeeds, because
+  /// its operand was already checked on every path leading to [node].
+  bool isRedundantCheck(dart.Expression node) {
+    dart.TreeNode parent = node.parent;
+    while (parent != null && parent is! dart.Member) {
+      parent = parent.parent;
+    }
+
+    dart.FunctionNode function;
+    if (parent is dart.Procedure) {
+      function = parent.function;
+    } else if (parent is dart.Constructor) {
+      function = parent.function;
+    } else {
+      // Field initializer
+      return false;
+    }
+
+    return _redundantChecks
+        .putIfAbsent(
+            function, () => findRedundantChecks(function, compilerState))
+        .contains(node);
   }
 
   /// Translates a node and inserts a cast depending on the expected type.
@@ -1649,6 +1913,17 @@ class _JavaAstBuilder extends dart.Visitor<java.Node> {
         (node as dart.Expression).staticType is! dart.VoidType;
   }
 
+  /// Translates a list literal to a call of a `DartList` factory.
+  ///
+  /// If the element type is `int`, `double` or `bool` (also in a
+  /// specialization), a specialized factory is called, which takes the
+  /// elements unboxed. If all elements are literals, they are stored in a
+  /// static array, which is shared by all lists created from the literal
+  /// until they are modified:
+  ///
+  ///     private static final int[] dart2java$listElements0 = new int[] {1, 2};
+  ///     ...
+  ///     DartList.specialfactory$fromConstants__int(type, dart2java$listElements0)
   @override
   java.Expression visitListLiteral(dart.ListLiteral node) {
     var args = <java.Expression>[];
@@ -1657,13 +1932,44 @@ class _JavaAstBuilder extends dart.Visitor<java.Node> {
     args.addAll(node.expressions
         .map((e) => buildCastedExpression(e, node.typeArgument)));
 
-    var typeExpr = ts.makeTypeExpr(node.staticType, typeSystemState);
-    var runtimeType = ts.evaluateTypeExpr(ts.getTypeEnv(), typeExpr);
-    args.insert(0, runtimeType);
+    var runtimeType = ts.makeTypeRep(node.staticType, typeSystemState);
 
     java.ClassOrInterfaceType dartListClass =
         new java.ClassOrInterfaceType('dart._runtime.base', 'DartList');
 
+    var elementType = typeFactory.getLValueType(node.typeArgument);
+    if (spzn.TypeSpecialization.specializedTypes.contains(elementType)) {
+      String suffix =
+          new spzn.TypeSpecialization.fromTypes([elementType]).methodSuffix;
+
+      if (node.expressions.isNotEmpty &&
+          node.expressions.every((e) =>
+              e is dart.IntLiteral ||
+              e is dart.DoubleLiteral ||
+              e is dart.BoolLiteral)) {
+        String fieldName = "${Constants.listConstantFieldPrefix}"
+            "${listConstantDecls.length}";
+        listConstantDecls.add(new java.FieldDecl(
+            fieldName, new java.ArrayType(elementType, 1),
+            access: java.Access.Private,
+            isStatic: true,
+            isFinal: true,
+            initializer: new java.ArrayInitializer(elementType, args)));
+
+        return new java.MethodInvocation(
+            new java.ClassRefExpr(dartListClass),
+            Constants.listConstantInitializerMethodName + suffix,
+            [runtimeType, new java.IdentifierExpr(fieldName)]);
+      }
+
+      return new java.MethodInvocation(
+          new java.ClassRefExpr(dartListClass),
+          Constants.listInitializerMethodName + suffix,
+          args..insert(0, runtimeType));
+    }
+
+    args.insert(0, runtimeType);
+
     return new java.MethodInvocation(
         new java.ClassRefExpr(dartListClass),
         Constants.listInitializerMethodName,
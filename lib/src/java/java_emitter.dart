@@ -42,8 +42,15 @@ class _JavaAstEmitter extends Visitor<String> {
     var methods = cls.methods.map((m) => indent(m.accept(this))).join("\n");
     var constructors =
         cls.constructors.map((m) => indent(m.accept(this))).join("\n");
-    var content = indent(
-        fieldsAndInitializers + "\n\n" + constructors + "\n\n" + methods);
+    var nestedClasses =
+        cls.nestedClasses.map((c) => indent(c.accept(this))).join("\n");
+    var content = indent(fieldsAndInitializers +
+        "\n\n" +
+        constructors +
+        "\n\n" +
+        methods +
+        "\n\n" +
+        nestedClasses);
     var extendsClause = (cls.supertype == null ||
         cls.supertype == JavaType.object) ? "" : " extends ${cls.supertype}";
     var implementsClause = cls.implementedInterfaces.isNotEmpty
@@ -51,8 +58,9 @@ class _JavaAstEmitter extends Visitor<String> {
         : "";
     var className = cls.type.toString(shouldPrintFullyQualifiedName: false);
     var abstractClause = cls.isAbstract ? "abstract " : "";
+    var staticClause = cls.isStatic ? "static " : "";
 
-    return "${cls.access} ${abstractClause}class "
+    return "${cls.access} ${staticClause}${abstractClause}class "
         "$className$extendsClause"
         "$implementsClause\n{\n$content\n}\n";
   }
@@ -77,9 +85,11 @@ class _JavaAstEmitter extends Visitor<String> {
     var parts = <String>[];
     parts.add(decl.access.toString());
     if (decl.isStatic) parts.add("static");
-    // TODO(springerm): Final fields are not supported at the moment, because
-    // Dart constructors compile to Java instance methods.
-    // if (decl.isFinal) parts.add("final");
+    // TODO(springerm): Final instance fields are not supported at the moment,
+    // because Dart constructors compile to Java instance methods.
+    if (decl.isFinal && decl.isStatic && decl.initializer != null) {
+      parts.add("final");
+    }
     parts.add(decl.type.accept(this));
     parts.add(decl.name);
 
@@ -229,6 +239,30 @@ class _JavaAstEmitter extends Visitor<String> {
     return "for ($varDecls; $condition; $updates)\n$body";
   }
 
+  @override
+  String visitSwitchStmt(SwitchStmt stmt) {
+    var cases = stmt.cases.map((c) => c.accept(this)).toList();
+    if (stmt.defaultBody != null) {
+      cases.add("default:\n${indent(stmt.defaultBody.accept(this))}");
+    }
+    return "switch (${stmt.expression.accept(this)})\n"
+        "{\n${indent(cases.join("\n"))}\n}";
+  }
+
+  @override
+  String visitSwitchCase(SwitchCase switchCase) {
+    var labels =
+        switchCase.labels.map((l) => "case ${l.accept(this)}:").join("\n");
+    var statements = switchCase.body.statements;
+    var body = switchCase.body.accept(this);
+    if (statements.isEmpty ||
+        (statements.last is! ReturnStmt && statements.last is! ThrowStmt)) {
+      // No fall-through into the next case
+      body = "$body\nbreak;";
+    }
+    return "$labels\n${indent(body)}";
+  }
+
   @override
   String visitBreakStmt(BreakStmt stmt) {
     if (stmt.label != null) {
@@ -320,6 +354,11 @@ class _JavaAstEmitter extends Visitor<String> {
     return "((${expr.type}) ${expr.expression.accept(this)})";
   }
 
+  @override
+  String visitInstanceOfExpr(InstanceOfExpr expr) {
+    return "(${expr.expression.accept(this)} instanceof ${expr.type})";
+  }
+
   @override
   String visitIdentifierExpr(IdentifierExpr expr) {
     return expr.identifier;
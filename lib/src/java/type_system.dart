@@ -111,6 +111,10 @@
 ///     * Build the type expression via [makeTypeExpr].
 ///     * Evaluate the type expression as described below.
 ///
+///   Alternatively, use [makeTypeRep], which does both (and avoids the
+///   evaluation at runtime if the type is closed). If you do, add the classes
+///   returned by [ClassState.makeNestedClasses] to the generated class.
+///
 /// * To evaluate a type expression:
 ///
 ///     * Call [evaluateTypeExpr] with the type environment (accessed via
@@ -161,6 +165,7 @@ class ClassState {
   final _typeExprNames = <dart.DartType, String>{};
   final _typeExprNameBuilder = new _TypeNameBuilder();
   final _funcTypeInfoDecls = <FieldDecl>[];
+  final _typeConstantNames = <dart.DartType, String>{};
 
   /// If set, then this class should have type info fields generated for the
   /// given Dart class declaration.
@@ -189,6 +194,46 @@ class ClassState {
         type, () => 'dart2java\$typeExpr_' + typeVarName);
   }
 
+  /// Return the name of the static variable in [_typeConstantsClassName] that
+  /// holds the (closed) [type], or `null` if [type] cannot be hoisted.
+  String _getTypeConstantName(dart.DartType type) {
+    String typeExprName = _getTypeExprName(type);
+    if (typeExprName == null) return null;
+
+    return _typeConstantNames.putIfAbsent(type,
+        () => typeExprName.replaceFirst('\$typeExpr_', '\$typeConstant_'));
+  }
+
+  /// The compiler should call this after generating code for the class under
+  /// compilation, and add the results to the nested classes of the generated
+  /// class, whose type is [enclosingType].
+  ///
+  /// If the class uses closed types (see [makeTypeRep]), this returns a nested
+  /// class that holds the evaluated types in static final fields. The types are
+  /// evaluated when the nested class is initialized, i.e., the first time one
+  /// of them is used. Evaluating them while the enclosing class is initialized
+  /// could see type infos of other classes that are not completely
+  /// initialized yet.
+  Iterable<ClassDecl> makeNestedClasses(
+      ClassOrInterfaceType enclosingType) sync* {
+    if (_typeConstantNames.isEmpty) return;
+
+    var fields = _typeConstantNames.keys.map((type) {
+      return new FieldDecl(_typeConstantNames[type], typeType,
+          access: Access.Private,
+          isStatic: true,
+          isFinal: true,
+          initializer: evaluateTypeExpr(
+              rootEnvironment, new IdentifierExpr(_typeExprNames[type])));
+    });
+    yield new ClassDecl(
+        new ClassOrInterfaceType.nested(enclosingType, _typeConstantsClassName),
+        access: Access.Private,
+        isStatic: true,
+        supertype: JavaType.object,
+        orderedMembers: fields.toList());
+  }
+
   /// The compiler should call this after generating code for the class under
   /// compilation, and insert the results at the beginning of the list of class
   /// fields.
@@ -351,6 +396,63 @@ InitializerBlock _makeTypeInfoInitializer(dart.Class node, ClassState state) {
   return new InitializerBlock(new Block(statements), isStatic: true);
 }
 
+/// Returns the declaration of the field that stores the type of an instance of
+/// [node], or `null` if [node] does not need to declare it.
+///
+/// Only instances of generic classes store their type. Instances of non-generic
+/// classes answer the type of their class (see [makeTypeGetter]). The field is
+/// declared by the first generic class in the superclass chain, and assigned by
+/// its empty constructor (see [makeTypeFieldInitializer]).
+FieldDecl makeTypeField(dart.Class node) {
+  if (!_declaresTypeField(node)) return null;
+
+  return new FieldDecl(_typeFieldName, _interfaceTypeType,
+      access: Access.Public);
+}
+
+/// Returns a statement that should be appended to the empty constructor of
+/// [node] in order to store the type of the new instance, or `null` if no
+/// statement is needed.
+///
+/// The type is the second parameter of the empty constructor, [typeVarName].
+Statement makeTypeFieldInitializer(dart.Class node, String typeVarName) {
+  if (!_declaresTypeField(node)) return null;
+
+  return new ExpressionStmt(new AssignmentExpr(
+      new FieldAccess(new IdentifierExpr('this'), _typeFieldName),
+      new CastExpr(new IdentifierExpr(typeVarName), _interfaceTypeType)));
+}
+
+/// Returns the method that overrides `DartObject.dart2java$getType` in the
+/// Java class for [node].
+///
+/// The method returns the type field for generic classes, and the (constant)
+/// type of the class otherwise. The method must be generated for every class,
+/// since a subclass of a generic class might not be generic and vice versa.
+MethodDef makeTypeGetter(dart.Class node, ClassState state) {
+  Expression type;
+  if (_hasTypeField(node)) {
+    type = new FieldAccess(new IdentifierExpr('this'), _typeFieldName);
+  } else {
+    type = new CastExpr(makeTypeRep(node.thisType, state), _interfaceTypeType);
+  }
+
+  return new MethodDef(
+      _typeGetterName, new Block([new ReturnStmt(type)]), <VariableDecl>[],
+      returnType: _interfaceTypeType);
+}
+
+bool _hasTypeField(dart.Class node) => node.typeParameters.isNotEmpty;
+
+bool _declaresTypeField(dart.Class node) {
+  if (!_hasTypeField(node)) return false;
+
+  for (var cls = node.superclass; cls != null; cls = cls.superclass) {
+    if (_hasTypeField(cls)) return false;
+  }
+  return true;
+}
+
 /// Retrieve the "true" run-time type of a Dart object.
 ///
 /// This does not take into account any user overrides of [:runtimeType:], and
@@ -401,7 +503,8 @@ VariableDeclStmt makeMethodEnvVar(dart.Member member, TypeFactory typeFactory) {
     initializer = rootEnvironment;
   } else {
     initializer = new FieldAccess(
-        new FieldAccess(new IdentifierExpr('this'), _typeFieldName), 'env');
+        new MethodInvocation(new IdentifierExpr('this'), _typeGetterName),
+        'env');
   }
 
   return new VariableDeclStmt(new VariableDecl(
@@ -449,12 +552,14 @@ Expression makeGenericFuncParam(dart.FunctionNode func,
       new FieldAccess(new ClassRefExpr(funcDefCls),
           _getNameOfFuncTypeInfo(func, state._typeFactory.compilerState)),
       'typeVariables');
-  var typeArgs = new ArrayInitializer(
-      typeRepType,
-      typeArguments
-          .map((t) => evaluateTypeExpr(getTypeEnv(), makeTypeExpr(t, state)))
-          .toList());
-  return makeGenericJavaMethodParam(typeVariables, typeArgs);
+  var typeArgs = typeArguments.map((t) => makeTypeRep(t, state)).toList();
+  if (typeArgs.length <= _maxUnpackedTypeArgs) {
+    // `TypeEnvironment.extend` has overloads that do not need an array
+    return new MethodInvocation(getTypeEnv(), 'extend',
+        <Expression>[typeVariables]..addAll(typeArgs));
+  }
+  return makeGenericJavaMethodParam(
+      typeVariables, new ArrayInitializer(typeRepType, typeArgs));
 }
 
 /// Returns an optional formal parameter declaration that should be added to
@@ -500,6 +605,36 @@ Expression makeTypeExpr(dart.DartType type, ClassState state) {
   return type.accept(new _TypeExprBuilder(state._typeFactory));
 }
 
+/// Make a type representation for a Dart type in the current type environment.
+///
+/// This is equivalent to evaluating [makeTypeExpr] in [getTypeEnv], but if
+/// [type] is closed (does not refer to any type variables), the result does
+/// not depend on the type environment. In that case, the type is evaluated only
+/// once and the returned expression reads a static final field (see
+/// [ClassState.makeNestedClasses]).
+Expression makeTypeRep(dart.DartType type, ClassState state) {
+  if (_isClosedType(type)) {
+    String constantName = state._getTypeConstantName(type);
+    if (constantName != null) {
+      return new FieldAccess(
+          new IdentifierExpr(_typeConstantsClassName), constantName);
+    }
+  }
+
+  return evaluateTypeExpr(getTypeEnv(), makeTypeExpr(type, state));
+}
+
+/// Returns true if [type] does not refer to any type variables.
+///
+/// Function types are not supported by [makeTypeExpr] at the moment and
+/// are never considered closed.
+bool _isClosedType(dart.DartType type) {
+  if (type is dart.InterfaceType) {
+    return type.typeArguments.every(_isClosedType);
+  }
+  return type is dart.DynamicType || type is dart.VoidType;
+}
+
 /// Evaluate a type expression in the context of a type environment.
 ///
 /// The resulting type depends on the expression and (potentially) on the type
@@ -521,34 +656,107 @@ Expression makeSubtypeCheck(Expression leftType, Expression rightType) {
 }
 
 /// Create an expression that casts [operand] to the given Dart [type].
+///
+/// If [type] has an exact Java type (see [hasExactJavaType]) and [operand] is
+/// an identifier, the cast is a Java `instanceof`, and the reified type is
+/// only used if that fails (for `null` and for the error).
 Expression makeTypeCast(
     Expression operand, dart.DartType type, ClassState state) {
   return _makeCast(operand, type, state, "cast");
 }
 
 /// Create an expression that checks that [operand] has the given [type].
+///
+/// Like [makeTypeCast], this is an `instanceof` check if possible.
 Expression makeTypeCheck(
     Expression operand, dart.DartType type, ClassState state,
     {bool assertOnly: false}) {
   return _makeCast(operand, type, state, "check", assertOnly: assertOnly);
 }
 
+/// Create an expression that converts [operand] to the Java type of the given
+/// Dart [type], without checking [type] at runtime.
+///
+/// Used for casts and checks that are known to succeed.
+Expression makeUncheckedCast(
+    Expression operand, dart.DartType type, ClassState state) {
+  var javaType = state._typeFactory.getLValueType(type);
+  // `(javaType) (Object) operand`, like the result of [makeTypeCheck]
+  return new CastExpr(new CastExpr(operand, JavaType.object), javaType);
+}
+
+/// Create an expression that evaluates `operand is type`.
+///
+/// If the Java type implementing [type] has exactly the same instances (see
+/// [_getExactJavaType]), this is a Java `instanceof`. Otherwise, the check
+/// compares the reified type of [operand] with [type].
+Expression makeIsCheck(
+    Expression operand, dart.DartType type, ClassState state) {
+  var javaType = _getExactJavaType(type, state._typeFactory);
+  if (javaType != null) {
+    // Upcast, so that primitive operands are boxed and javac does not reject
+    // checks that can be decided statically.
+    return new InstanceOfExpr(new CastExpr(operand, JavaType.object), javaType);
+  }
+
+  return makeSubtypeCheck(getTypeOf(operand), makeTypeRep(type, state));
+}
+
+/// Returns true if a Java `instanceof` can decide whether a value has the
+/// Dart type [type].
+bool hasExactJavaType(dart.DartType type, ClassState state) =>
+    _getExactJavaType(type, state._typeFactory) != null;
+
+/// Returns the Java type whose instances are exactly the Dart values of type
+/// [type], or `null` if [type] can only be tested against reified types.
+///
+/// This is the case for non-generic classes and generic classes whose type
+/// arguments are all top types, unless [CompilerState.hasExactJavaType] says
+/// otherwise for the class. The result is a raw type.
+ClassOrInterfaceType _getExactJavaType(
+    dart.DartType type, TypeFactory typeFactory) {
+  if (type is! dart.InterfaceType) return null;
+
+  var interfaceType = type as dart.InterfaceType;
+  var compilerState = typeFactory.compilerState;
+  bool isTop(dart.DartType arg) =>
+      arg is dart.DynamicType ||
+      (arg is dart.InterfaceType && arg.classNode == compilerState.objectClass);
+  if (!interfaceType.typeArguments.every(isTop) ||
+      !compilerState.hasExactJavaType(interfaceType.classNode)) {
+    return null;
+  }
+
+  var class_ = interfaceType.classNode;
+  return compilerState.getClassImpl(class_)?.javaBoxedLValueType ??
+      typeFactory.getRawInterface(class_) ??
+      typeFactory.getRawClass(class_);
+}
+
 /// Common code for [makeTypeCast] and [makeTypeCheck].
 Expression _makeCast(
     Expression operand, dart.DartType type, ClassState state, String castMethod,
     {bool assertOnly: false}) {
-  var expr = makeTypeExpr(type, state);
-  var rep = evaluateTypeExpr(getTypeEnv(), expr);
+  var rep = makeTypeRep(type, state);
   var javaType = state._typeFactory.getLValueType(type);
   // `(javaType) rep.<method>(operand);`
-
   var tsCheck = new MethodInvocation(rep, castMethod, [operand]);
 
   if (assertOnly) {
     return tsCheck;
-  } else {
-    return new CastExpr(tsCheck, javaType);
   }
+
+  var exactJavaType = _getExactJavaType(type, state._typeFactory);
+  if (exactJavaType != null && operand is IdentifierExpr) {
+    // `operand instanceof exactJavaType
+    //     ? (javaType) (Object) operand : (javaType) rep.<method>(operand)`
+    return new ConditionalExpr(
+        new InstanceOfExpr(
+            new CastExpr(operand, JavaType.object), exactJavaType),
+        new CastExpr(new CastExpr(operand, JavaType.object), javaType),
+        new CastExpr(tsCheck, javaType));
+  }
+  return new CastExpr(tsCheck, javaType);
 }
 
 /// Returns the name of the Java method that implements the given
@@ -782,7 +990,10 @@ class GenericMethodParameterDetected implements Exception {
 // These constants are declared here, rather than in constants, since they are
 // type-system specific.
 const _localTypeEnvVarName = 'dart2java\$localTypeEnv';
+const _maxUnpackedTypeArgs = 2;
 const _typeFieldName = 'dart2java\$type';
+const _typeGetterName = 'dart2java\$getType';
+const _typeConstantsClassName = 'dart2java\$TypeConstants';
 const _typeInfoFieldName = 'dart2java\$typeInfo';
 const _typePackage = 'dart._runtime.types.simple';
 
@@ -792,6 +1003,8 @@ final _funcTypeInfoType =
     new ClassOrInterfaceType(_typePackage, 'FunctionTypeInfo');
 final _interfaceTypeExprType =
     new ClassOrInterfaceType(_typePackage, 'InterfaceTypeExpr');
+final _interfaceTypeType =
+    new ClassOrInterfaceType(_typePackage, 'InterfaceType');
 final _interfaceTypeInfoType =
     new ClassOrInterfaceType(_typePackage, 'InterfaceTypeInfo');
 final typeEnvironmentType =
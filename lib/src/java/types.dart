@@ -97,6 +97,9 @@ abstract class JavaType extends Node {
   static ClassOrInterfaceType letHelper = new ClassOrInterfaceType(
       Constants.dartHelperPackage, "LetExpressionHelper");
 
+  static ClassOrInterfaceType forInHelper = new ClassOrInterfaceType(
+      Constants.dartHelperPackage, "ForInHelper");
+
   static ClassOrInterfaceType emptyConstructorMarker =
       new ClassOrInterfaceType.nested(
           new ClassOrInterfaceType(
@@ -107,6 +110,18 @@ abstract class JavaType extends Node {
   static ClassOrInterfaceType dynamicHelper =
       new ClassOrInterfaceType("dart._runtime.helpers", "DynamicHelper");
 
+  static ClassOrInterfaceType dynamicCallSite =
+      new ClassOrInterfaceType("dart._runtime.helpers", "DynamicCallSite");
+
+  static ClassOrInterfaceType methodHandle =
+      new ClassOrInterfaceType("java.lang.invoke", "MethodHandle");
+
+  static ClassOrInterfaceType dynamicPropertySite =
+      new ClassOrInterfaceType("dart._runtime.helpers", "DynamicPropertySite");
+
+  static ClassOrInterfaceType dynamicOperators =
+      new ClassOrInterfaceType("dart._runtime.helpers", "DynamicOperators");
+
   // Numeric types.
   // Numeric types / Integral types.
 
@@ -34,6 +34,8 @@ abstract class Visitor<R> {
   R visitWhileStmt(WhileStmt node) => null;
   R visitDoStmt(DoStmt node) => null;
   R visitForStmt(ForStmt node) => null;
+  R visitSwitchStmt(SwitchStmt node) => null;
+  R visitSwitchCase(SwitchCase node) => null;
   R visitBreakStmt(BreakStmt node) => null;
   R visitLabeledStmt(LabeledStmt node) => null;
   R visitReturnStmt(ReturnStmt node) => null;
@@ -52,6 +54,7 @@ abstract class Visitor<R> {
   R visitUnaryExpr(UnaryExpr node) => null;
   R visitConditionalExpr(ConditionalExpr node) => null;
   R visitCastExpr(CastExpr node) => null;
+  R visitInstanceOfExpr(InstanceOfExpr node) => null;
   R visitIdentifierExpr(IdentifierExpr node) => null;
   R visitAssignmentExpr(AssignmentExpr node) => null;
   R visitClassRefExpr(ClassRefExpr node) => null;
@@ -16,6 +16,7 @@
 /// Meta-test that runs all tests we have written.
 import 'package:test/test.dart';
 
+import 'check_elimination_test.dart' as check_elimination_test;
 import 'codegen_test.dart' as codegen_test;
 import 'multifile_codegen_test.dart' as multifile_codegen_test;
 import 'unit_test.dart' as unit_test;
@@ -24,6 +25,7 @@ import 'typesystem_test.dart' as typesystem_test;
 void main(List<String> argv) {
   group('codegen', () => codegen_test.main(argv));
   group('codegen', () => multifile_codegen_test.main(argv));
+  group('codegen', () => check_elimination_test.main(argv));
   group('unit', () => unit_test.main(argv));
   group('typesystem', () => typesystem_test.main(argv));
 }
@@ -0,0 +1,68 @@
+#!/usr/bin/env dart
+// Copyright 2016, the Dart project authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/// Tests that redundant type checks are removed from the generated code.
+///
+/// Compiles `codegen/check_elimination.dart` and counts the calls to
+/// `Type.check` in the generated methods. Whether the remaining checks still
+/// fail when they should is tested by the `downcast` unit test.
+import 'dart:io' show Directory, File;
+import 'package:path/path.dart' as path;
+import 'package:test/test.dart' show test, expect, equals, isNonNegative;
+
+import 'package:dart2java/src/compiler/compiler.dart'
+    show CompilerOptions, ModuleCompiler;
+
+import 'codegen_test.dart'
+    show codegenDir, codegenTestDir, compilerArgParser, defaultOptions;
+
+void main(List<String> arguments) {
+  String source;
+
+  test('dart2java check_elimination compiles', () {
+    new Directory(codegenTestDir).createSync(recursive: true);
+    var testFile = path.join(codegenTestDir, 'check_elimination.dart');
+    new File(path.join(codegenDir, 'check_elimination.dart'))
+        .copySync(testFile);
+
+    var options = new CompilerOptions.fromArguments(
+        compilerArgParser.parse(defaultOptions));
+    Set<File> files = new ModuleCompiler(options).compile([testFile]);
+    source = files
+        .firstWhere((file) => path.basename(file.path) == '__TopLevel.java')
+        .readAsStringSync();
+  });
+
+  /// Returns the number of `Type.check` calls in the method [name].
+  int countChecks(String name) {
+    int start = source.indexOf(' $name(');
+    expect(start, isNonNegative, reason: 'Method $name not found');
+    int end = source.indexOf('\n    public static ', start);
+    var body = source.substring(start, end < 0 ? source.length : end);
+    return '.check('.allMatches(body).length;
+  }
+
+  test('dart2java check_elimination removes repeated check', () {
+    expect(countChecks('checkedOnce'), equals(1));
+  });
+
+  test('dart2java check_elimination keeps check after assignment', () {
+    expect(countChecks('checkedAfterAssignment'), equals(2));
+  });
+
+  test('dart2java check_elimination removes check after join', () {
+    expect(countChecks('checkedOnBothPaths'), equals(2));
+  });
+}
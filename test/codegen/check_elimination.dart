@@ -0,0 +1,49 @@
+// Copyright 2016, the Dart project authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+// The generated code is checked by test/check_elimination_test.dart.
+
+int checkedOnce(Object o) {
+  String s = o;
+  // Already checked, not assigned since
+  String t = o;
+  return s.length + t.length;
+}
+
+int checkedAfterAssignment(Object a, Object b) {
+  Object o = a;
+  String s = o;
+  o = b;
+  // Must be checked again
+  String t = o;
+  return s.length + t.length;
+}
+
+int checkedOnBothPaths(Object o, bool flag) {
+  String s;
+  if (flag) {
+    s = o;
+  } else {
+    s = o;
+  }
+  // Already checked on both paths
+  String t = o;
+  return s.length + t.length;
+}
+
+void main() {
+  print(checkedOnce("ab"));
+  print(checkedAfterAssignment("ab", "c"));
+  print(checkedOnBothPaths("ab", true));
+}
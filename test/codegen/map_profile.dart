@@ -0,0 +1,91 @@
+// Copyright 2016, the Dart project authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+// Measures the cost of Map operations as the map grows. The time per
+// operation should stay roughly constant; a map with linear-time lookups
+// shows times that double with the size of the map.
+//
+// Run with tool/profile_codegen_test.sh to profile, or compile with
+// `test/codegen_test.dart --compile-only map_profile` and run
+// `map_profile.__TopLevel` to only print the timings.
+
+int ITER_PARAM = 1;
+
+/// Inserts [size] keys, looks each of them up, and removes them again.
+/// Returns a checksum, so that no work can be optimized away.
+int stringKeys(int size) {
+  var map = new Map<String, int>();
+  for (int i = 0; i < size; i++) {
+    map["key$i"] = i;
+  }
+  int checksum = 0;
+  for (int i = 0; i < size; i++) {
+    checksum = checksum + map["key$i"];
+  }
+  for (int i = 0; i < size; i += 2) {
+    checksum = checksum + map.remove("key$i");
+  }
+  for (String key in map.keys) {
+    checksum = checksum + map[key];
+  }
+  return checksum;
+}
+
+/// Like [stringKeys], but with int keys.
+int intKeys(int size) {
+  var map = new Map<int, int>();
+  for (int i = 0; i < size; i++) {
+    map[i * 7] = i;
+  }
+  int checksum = 0;
+  for (int i = 0; i < size; i++) {
+    checksum = checksum + map[i * 7];
+  }
+  for (int i = 0; i < size; i += 2) {
+    checksum = checksum + map.remove(i * 7);
+  }
+  for (int key in map.keys) {
+    checksum = checksum + map[key];
+  }
+  return checksum;
+}
+
+void measure(String name, bool useIntKeys) {
+  for (int size = 1000; size <= 64000; size = size * 2) {
+    int iters = ITER_PARAM * 64000 ~/ size;
+    Stopwatch stopwatch = new Stopwatch();
+    stopwatch.start();
+    int checksum = 0;
+    for (int i = 0; i < iters; i++) {
+      if (useIntKeys) {
+        checksum = checksum + intKeys(size);
+      } else {
+        checksum = checksum + stringKeys(size);
+      }
+    }
+    stopwatch.stop();
+    // Every run does 3 operations per key: [size] inserts, [size] lookups,
+    // [size] / 2 removals and [size] / 2 lookups of the remaining keys.
+    double operations = iters * size * 3.0;
+    print("$name, size $size: "
+        "${stopwatch.elapsedMicroseconds * 1000 / operations} ns/operation "
+        "(checksum $checksum)");
+  }
+}
+
+void main() {
+  measure("String keys", false);
+  measure("int keys", true);
+}
@@ -0,0 +1,237 @@
+// Copyright 2016, the Dart project authors.
+// 
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+// 
+//     http://www.apache.org/licenses/LICENSE-2.0
+// 
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dart._runtime.types.simple.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import dart._runtime.types.simple.FunctionTypeExpr;
+import dart._runtime.types.simple.FunctionTypeInfo;
+import dart._runtime.types.simple.InterfaceTypeExpr;
+import dart._runtime.types.simple.InterfaceTypeInfo;
+import dart._runtime.types.simple.TopType;
+import dart._runtime.types.simple.Type;
+import dart._runtime.types.simple.TypeEnvironment;
+import dart._runtime.types.simple.TypeExpr;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Stress tests for the type caches, which are shared between all threads.
+ */
+@RunWith(JUnit4.class)
+public class ConcurrencyTest {
+  private static final int THREADS = 8;
+  private static final int ROUNDS = 200;
+  private static final int NESTING = 4;
+
+  /**
+   * A small class hierarchy with a cyclic supertype declaration ({@code num implements
+   * Comparable<num>}). Every round of the test creates a fresh hierarchy, so that all threads race
+   * to create the same types.
+   */
+  private static class Hierarchy {
+    final InterfaceTypeInfo objectTypeInfo;
+    final InterfaceTypeInfo comparableTypeInfo;
+    final InterfaceTypeInfo numTypeInfo;
+    final InterfaceTypeInfo intTypeInfo;
+    final InterfaceTypeInfo boxTypeInfo;
+    final TypeEnvironment env;
+
+    Hierarchy() {
+      class Box {
+      }
+      class Scope {
+      }
+      objectTypeInfo = new InterfaceTypeInfo(java.lang.Object.class, null);
+
+      comparableTypeInfo = new InterfaceTypeInfo(new String[] {"E"}, dart.core.Comparable.class,
+          dart.core.Comparable_interface.class);
+      comparableTypeInfo.superclass = new InterfaceTypeExpr(objectTypeInfo);
+
+      numTypeInfo = new InterfaceTypeInfo(java.lang.Number.class, null);
+      numTypeInfo.superclass = new InterfaceTypeExpr(objectTypeInfo);
+      numTypeInfo.interfaces = new InterfaceTypeExpr[] {new InterfaceTypeExpr(comparableTypeInfo,
+          new TypeExpr[] {new InterfaceTypeExpr(numTypeInfo)})};
+
+      intTypeInfo = new InterfaceTypeInfo(int.class, null);
+      intTypeInfo.superclass = new InterfaceTypeExpr(numTypeInfo);
+
+      boxTypeInfo = new InterfaceTypeInfo(new String[] {"T"}, Box.class, null);
+      boxTypeInfo.superclass = new InterfaceTypeExpr(objectTypeInfo);
+      boxTypeInfo.interfaces = new InterfaceTypeExpr[] {new InterfaceTypeExpr(comparableTypeInfo,
+          new TypeExpr[] {boxTypeInfo.typeVariables[0]})};
+
+      // Evaluate everything in a fresh type environment, so that results cached in
+      // TypeEnvironment.ROOT by earlier rounds are not reused.
+      InterfaceTypeInfo scopeTypeInfo =
+          new InterfaceTypeInfo(new String[] {"S"}, Scope.class, null);
+      env = TypeEnvironment.ROOT.extend(scopeTypeInfo.typeVariables,
+          new Type[] {TypeEnvironment.ROOT.evaluate(TopType.EXPR)});
+    }
+
+    /**
+     * Returns {@code Box<Box<...<base>...>>} with {@code depth} boxes.
+     */
+    TypeExpr boxed(InterfaceTypeInfo base, int depth) {
+      TypeExpr result = new InterfaceTypeExpr(base);
+      for (int i = 0; i < depth; i++) {
+        result = new InterfaceTypeExpr(boxTypeInfo, new TypeExpr[] {result});
+      }
+      return result;
+    }
+  }
+
+  /**
+   * The types that one thread evaluated in one round.
+   */
+  private static class Result {
+    final List<Type> types = new ArrayList<>();
+  }
+
+  @Test
+  public void concurrentEvaluateAndIsSubtypeOf() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      for (int round = 0; round < ROUNDS; round++) {
+        Hierarchy hierarchy = new Hierarchy();
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+
+        List<Future<Result>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+          futures.add(executor.submit(new Callable<Result>() {
+            @Override
+            public Result call() throws Exception {
+              barrier.await();
+              return evaluateAndCheck(hierarchy);
+            }
+          }));
+        }
+
+        List<Type> expected = futures.get(0).get().types;
+        for (Future<Result> future : futures) {
+          List<Type> actual = future.get().types;
+          assertEquals(expected.size(), actual.size());
+          for (int i = 0; i < expected.size(); i++) {
+            assertSame("Types should be canonicalized across threads: " + expected.get(i),
+                expected.get(i), actual.get(i));
+          }
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Half of the threads evaluate a class whose supertypes mention a function type, which
+   * initializes {@code FunctionType} while holding the type construction lock. The other half check
+   * a function type against {@code Object}, which resolves the class {@code Function}. Class
+   * initialization must not wait for the lock, or these threads deadlock. This only tests anything
+   * if no function type was used before in this JVM.
+   */
+  @Test
+  public void concurrentFirstUseOfFunctionTypes() throws Exception {
+    class Callback {
+    }
+    Hierarchy h = new Hierarchy();
+    TypeExpr numToInt = new FunctionTypeExpr(new FunctionTypeInfo(
+        new InterfaceTypeExpr(h.intTypeInfo), 1,
+        new TypeExpr[] {new InterfaceTypeExpr(h.numTypeInfo)}));
+    // class Callback implements Comparable<(num) -> int>
+    InterfaceTypeInfo callbackTypeInfo = new InterfaceTypeInfo(Callback.class, null);
+    callbackTypeInfo.superclass = new InterfaceTypeExpr(h.objectTypeInfo);
+    callbackTypeInfo.interfaces = new InterfaceTypeExpr[] {
+        new InterfaceTypeExpr(h.comparableTypeInfo, new TypeExpr[] {numToInt})};
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS, runnable -> {
+      // A deadlock must not keep the JVM alive
+      Thread thread = new Thread(runnable);
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      CyclicBarrier barrier = new CyclicBarrier(THREADS);
+      List<Future<Type>> futures = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        boolean evaluateClass = t % 2 == 0;
+        futures.add(executor.submit(new Callable<Type>() {
+          @Override
+          public Type call() throws Exception {
+            barrier.await();
+            Type objectType = h.env.evaluate(new InterfaceTypeExpr(h.objectTypeInfo));
+            Type type = h.env.evaluate(evaluateClass
+                ? new InterfaceTypeExpr(callbackTypeInfo) : numToInt);
+            // The result does not matter (Function is declared outside of this hierarchy)
+            type.isSubtypeOf(objectType);
+            return type;
+          }
+        }));
+      }
+
+      List<Type> types = new ArrayList<>();
+      for (Future<Type> future : futures) {
+        types.add(future.get(30, TimeUnit.SECONDS));
+      }
+      for (int t = 0; t < THREADS; t++) {
+        assertSame(types.get(t % 2), types.get(t));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Evaluates nested instantiations of {@code Box} and checks their subtype relations. An
+   * incomplete type (e.g. {@code num} without its supertypes) fails the subtype checks.
+   */
+  private static Result evaluateAndCheck(Hierarchy h) {
+    Result result = new Result();
+    Type objectType = h.env.evaluate(new InterfaceTypeExpr(h.objectTypeInfo));
+    Type comparableOfNumType = h.env.evaluate(new InterfaceTypeExpr(h.comparableTypeInfo,
+        new TypeExpr[] {new InterfaceTypeExpr(h.numTypeInfo)}));
+    result.types.add(objectType);
+    result.types.add(comparableOfNumType);
+
+    for (int depth = 0; depth <= NESTING; depth++) {
+      Type boxedInt = h.env.evaluate(h.boxed(h.intTypeInfo, depth));
+      Type boxedNum = h.env.evaluate(h.boxed(h.numTypeInfo, depth));
+      Type boxedObject = h.env.evaluate(h.boxed(h.objectTypeInfo, depth));
+      result.types.add(boxedInt);
+      result.types.add(boxedNum);
+      result.types.add(boxedObject);
+
+      String name = "Box^" + depth;
+      assertTrue(name + "<int> <: " + name + "<num>", boxedInt.isSubtypeOf(boxedNum));
+      assertTrue(name + "<num> <: " + name + "<Object>", boxedNum.isSubtypeOf(boxedObject));
+      assertFalse(name + "<num> <: " + name + "<int>", boxedNum.isSubtypeOf(boxedInt));
+      assertTrue(name + "<int> <: Object", boxedInt.isSubtypeOf(objectType));
+      assertEquals(name + "<int> <: Comparable<num>", depth <= 1,
+          boxedInt.isSubtypeOf(comparableOfNumType));
+    }
+    return result;
+  }
+}
@@ -17,6 +17,7 @@ package dart._runtime.types.simple.test;
 import static dart._runtime.types.simple.test.Util.testHierarchy;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import dart._runtime.types.simple.FunctionTypeExpr;
@@ -24,6 +25,7 @@ import dart._runtime.types.simple.FunctionTypeInfo;
 import dart._runtime.types.simple.InterfaceTypeExpr;
 import dart._runtime.types.simple.InterfaceTypeInfo;
 import dart._runtime.types.simple.Type;
+import dart._runtime.types.simple.TypeCaches;
 import dart._runtime.types.simple.TypeEnvironment;
 import dart._runtime.types.simple.TypeExpr;
 import dart._runtime.types.simple.VoidType;
@@ -40,9 +42,18 @@ import org.junit.runners.JUnit4;
 
 @RunWith(JUnit4.class)
 public class FunctionTypeTest {
-  InterfaceTypeInfo objectTypeInfo;
-  InterfaceTypeInfo numTypeInfo;
-  InterfaceTypeInfo intTypeInfo;
+  // In real code, these would be static final fields on generated Java classes (or maybe on a
+  // helper class, or on the library's __TopLevel class). They must not be recreated for every test,
+  // since type environments cache evaluation results by the key of the type expression. The
+  // behavior of these interface types is tested by InterfaceTypeTest.
+  static final InterfaceTypeInfo objectTypeInfo = new InterfaceTypeInfo(Object.class, null);
+  static final InterfaceTypeInfo numTypeInfo = new InterfaceTypeInfo(Number.class, null);
+  static final InterfaceTypeInfo intTypeInfo = new InterfaceTypeInfo(int.class, null);
+
+  static {
+    numTypeInfo.superclass = new InterfaceTypeExpr(objectTypeInfo);
+    intTypeInfo.superclass = new InterfaceTypeExpr(numTypeInfo);
+  }
 
   // int -> void
   FunctionTypeInfo I2V;
@@ -61,16 +72,6 @@ public class FunctionTypeTest {
 
   @Before
   public void initialize() {
-    // In real code, these would be static final fields on generated Java classes (or maybe on a
-    // helper class, or on the library's __TopLevel class). For now, we declare them as
-    // "test-global" variables. The behavior of these interface types is tested by
-    // InterfaceTypeTest.
-    objectTypeInfo = new InterfaceTypeInfo(Object.class, null);
-    numTypeInfo = new InterfaceTypeInfo(Number.class, null);
-    numTypeInfo.superclass = new InterfaceTypeExpr(objectTypeInfo);
-    intTypeInfo = new InterfaceTypeInfo(int.class, null);
-    intTypeInfo.superclass = new InterfaceTypeExpr(numTypeInfo);
-
     // In real code, these would be static variables in the Java class that contains the function
     // declarations. For now, we declare them as "test-global" variables.
     I2V =
@@ -110,6 +111,37 @@ public class FunctionTypeTest {
         I2IType == I2I_2Type);
   }
 
+  @Test
+  public void functionTypesAreInterned() {
+    InterfaceTypeInfo mapTypeInfo = new InterfaceTypeInfo(new String[] {"K", "V"},
+        java.util.Map.class, null);
+    TypeExpr k = mapTypeInfo.typeVariables[0];
+    TypeExpr v = mapTypeInfo.typeVariables[1];
+    TypeExpr num = new InterfaceTypeExpr(numTypeInfo);
+    TypeExpr int_ = new InterfaceTypeExpr(intTypeInfo);
+    TypeExpr object = new InterfaceTypeExpr(objectTypeInfo);
+    TypeEnvironment env = TypeEnvironment.ROOT.extend(mapTypeInfo.typeVariables,
+        TypeEnvironment.ROOT.evaluate(num), TypeEnvironment.ROOT.evaluate(int_));
+
+    // (num, {int a, Object b}) -> int
+    FunctionTypeExpr expr = new FunctionTypeExpr(new FunctionTypeInfo(int_, 1,
+        new TypeExpr[] {num}, new String[] {"a", "b"}, new TypeExpr[] {int_, object}));
+    Type type = TypeEnvironment.ROOT.evaluate(expr);
+    assertSame(type, TypeEnvironment.ROOT.evaluate(expr));
+    int cacheSize = TypeCaches.liveFunctionTypes();
+
+    // Expressions with different keys that evaluate to the same signature are not cached by the
+    // environment, they must be interned by FunctionType.
+    assertSame(type, env.evaluate(new FunctionTypeExpr(new FunctionTypeInfo(v, 1,
+        new TypeExpr[] {k}, new String[] {"b", "a"}, new TypeExpr[] {object, v}))));
+    assertSame(type, env.evaluate(new FunctionTypeExpr(new FunctionTypeInfo(int_, 1,
+        new TypeExpr[] {k}, new String[] {"a", "b"}, new TypeExpr[] {int_, object}))));
+    assertSame(type, env.evaluate(new FunctionTypeExpr(new FunctionTypeInfo(v, 1,
+        new TypeExpr[] {num}, new String[] {"a", "b"}, new TypeExpr[] {v, object}))));
+    // Other function types may have been collected in the meantime
+    assertTrue(TypeCaches.liveFunctionTypes() <= cacheSize);
+  }
+
   @Test
   public void returnTypeVariance() {
     Node I2VType = new Node("(int) -> void", new FunctionTypeExpr(I2V));
@@ -24,30 +24,31 @@ import dart._runtime.types.simple.InterfaceTypeInfo;
 import dart._runtime.types.simple.Type;
 import dart._runtime.types.simple.TypeEnvironment;
 import dart._runtime.types.simple.TypeExpr;
-import org.junit.Before;
+import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
 @RunWith(JUnit4.class)
 public class InterfaceTypeTest {
-  InterfaceTypeInfo objectTypeInfo;
-  InterfaceTypeInfo comparableTypeInfo;
-  InterfaceTypeInfo numTypeInfo;
-  InterfaceTypeInfo intTypeInfo;
-  InterfaceTypeInfo doubleTypeInfo;
-  InterfaceTypeInfo stringTypeInfo;
-  InterfaceTypeInfo iterableTypeInfo;
-  InterfaceTypeInfo listTypeInfo;
-  InterfaceTypeInfo listMixinTypeInfo;
-  InterfaceTypeInfo listBaseTypeInfo;
-  InterfaceTypeInfo growableListTypeInfo;
-
-  @Before
-  public void initialize() {
+  static InterfaceTypeInfo objectTypeInfo;
+  static InterfaceTypeInfo comparableTypeInfo;
+  static InterfaceTypeInfo numTypeInfo;
+  static InterfaceTypeInfo intTypeInfo;
+  static InterfaceTypeInfo doubleTypeInfo;
+  static InterfaceTypeInfo stringTypeInfo;
+  static InterfaceTypeInfo iterableTypeInfo;
+  static InterfaceTypeInfo listTypeInfo;
+  static InterfaceTypeInfo listMixinTypeInfo;
+  static InterfaceTypeInfo listBaseTypeInfo;
+  static InterfaceTypeInfo growableListTypeInfo;
+
+  @BeforeClass
+  public static void initialize() {
     // In real code, these would be static final fields on generated Java classes (or maybe on a
     // helper class, or on the library's __TopLevel class). For now, we declare them as
-    // "test-global" variables.
+    // "test-global" variables. They must be created only once: evaluation results are cached by
+    // the names of the classes, so types evaluated in one test would refer to the infos of another.
     objectTypeInfo = new InterfaceTypeInfo(java.lang.Object.class, null);
 
     comparableTypeInfo = new InterfaceTypeInfo(new String[] {"E"}, dart.core.Comparable.class,
@@ -219,4 +220,98 @@ public class InterfaceTypeTest {
         growableListOfStringType.env.evaluate(growableListTypeInfo.typeVariables[0]) == stringType);
 
   }
+
+  @Test
+  public void sameClassWithDifferentTypeArguments() {
+    // class A implements Comparable<num>
+    // class B extends A implements Comparable<int>
+    class A {
+    }
+    class B {
+    }
+    InterfaceTypeInfo aTypeInfo = new InterfaceTypeInfo(A.class, null);
+    aTypeInfo.superclass = new InterfaceTypeExpr(objectTypeInfo);
+    aTypeInfo.interfaces = new InterfaceTypeExpr[] {new InterfaceTypeExpr(comparableTypeInfo,
+        new TypeExpr[] {new InterfaceTypeExpr(numTypeInfo)})};
+    InterfaceTypeInfo bTypeInfo = new InterfaceTypeInfo(B.class, null);
+    bTypeInfo.superclass = new InterfaceTypeExpr(aTypeInfo);
+    bTypeInfo.interfaces = new InterfaceTypeExpr[] {new InterfaceTypeExpr(comparableTypeInfo,
+        new TypeExpr[] {new InterfaceTypeExpr(intTypeInfo)})};
+
+    Type aType = TypeEnvironment.ROOT.evaluate(new InterfaceTypeExpr(aTypeInfo));
+    Type bType = TypeEnvironment.ROOT.evaluate(new InterfaceTypeExpr(bTypeInfo));
+    Type comparableOfNumType =
+        TypeEnvironment.ROOT.evaluate(new InterfaceTypeExpr(comparableTypeInfo,
+            new TypeExpr[] {new InterfaceTypeExpr(numTypeInfo)}));
+    Type comparableOfIntType =
+        TypeEnvironment.ROOT.evaluate(new InterfaceTypeExpr(comparableTypeInfo,
+            new TypeExpr[] {new InterfaceTypeExpr(intTypeInfo)}));
+    Type comparableOfStringType =
+        TypeEnvironment.ROOT.evaluate(new InterfaceTypeExpr(comparableTypeInfo,
+            new TypeExpr[] {new InterfaceTypeExpr(stringTypeInfo)}));
+
+    assertTrue("B <: A", bType.isSubtypeOf(aType));
+    assertFalse("A <: B", aType.isSubtypeOf(bType));
+    assertTrue("B <: Comparable<num>", bType.isSubtypeOf(comparableOfNumType));
+    assertTrue("B <: Comparable<int>", bType.isSubtypeOf(comparableOfIntType));
+    assertFalse("B <: Comparable<String>", bType.isSubtypeOf(comparableOfStringType));
+    assertFalse("A <: Comparable<int>", aType.isSubtypeOf(comparableOfIntType));
+  }
+
+  @Test
+  public void subclassOfConflictingSupertypes() {
+    // class A implements Comparable<num>
+    // class B extends A implements Comparable<int>
+    // class C<T> extends B implements Iterable<T>
+    class A {
+    }
+    class B {
+    }
+    class C {
+    }
+    InterfaceTypeInfo aTypeInfo = new InterfaceTypeInfo(A.class, null);
+    aTypeInfo.superclass = new InterfaceTypeExpr(objectTypeInfo);
+    aTypeInfo.interfaces = new InterfaceTypeExpr[] {new InterfaceTypeExpr(comparableTypeInfo,
+        new TypeExpr[] {new InterfaceTypeExpr(numTypeInfo)})};
+    InterfaceTypeInfo bTypeInfo = new InterfaceTypeInfo(B.class, null);
+    bTypeInfo.superclass = new InterfaceTypeExpr(aTypeInfo);
+    bTypeInfo.interfaces = new InterfaceTypeExpr[] {new InterfaceTypeExpr(comparableTypeInfo,
+        new TypeExpr[] {new InterfaceTypeExpr(intTypeInfo)})};
+    InterfaceTypeInfo cTypeInfo = new InterfaceTypeInfo(new String[] {"T"}, C.class, null);
+    cTypeInfo.superclass = new InterfaceTypeExpr(bTypeInfo);
+    cTypeInfo.interfaces = new InterfaceTypeExpr[] {
+        new InterfaceTypeExpr(iterableTypeInfo, new TypeExpr[] {cTypeInfo.typeVariables[0]})};
+
+    Type objectType = TypeEnvironment.ROOT.evaluate(new InterfaceTypeExpr(objectTypeInfo));
+    Type aType = TypeEnvironment.ROOT.evaluate(new InterfaceTypeExpr(aTypeInfo));
+    Type cOfIntType = TypeEnvironment.ROOT.evaluate(new InterfaceTypeExpr(cTypeInfo,
+        new TypeExpr[] {new InterfaceTypeExpr(intTypeInfo)}));
+    Type iterableOfNumType = TypeEnvironment.ROOT.evaluate(new InterfaceTypeExpr(iterableTypeInfo,
+        new TypeExpr[] {new InterfaceTypeExpr(numTypeInfo)}));
+    Type iterableOfStringType = TypeEnvironment.ROOT.evaluate(
+        new InterfaceTypeExpr(iterableTypeInfo,
+            new TypeExpr[] {new InterfaceTypeExpr(stringTypeInfo)}));
+    Type comparableOfNumType =
+        TypeEnvironment.ROOT.evaluate(new InterfaceTypeExpr(comparableTypeInfo,
+            new TypeExpr[] {new InterfaceTypeExpr(numTypeInfo)}));
+    Type comparableOfIntType =
+        TypeEnvironment.ROOT.evaluate(new InterfaceTypeExpr(comparableTypeInfo,
+            new TypeExpr[] {new InterfaceTypeExpr(intTypeInfo)}));
+    Type comparableOfStringType =
+        TypeEnvironment.ROOT.evaluate(new InterfaceTypeExpr(comparableTypeInfo,
+            new TypeExpr[] {new InterfaceTypeExpr(stringTypeInfo)}));
+
+    // Checking twice also checks the memoized results
+    for (int i = 0; i < 2; i++) {
+      assertTrue("C<int> <: Object", cOfIntType.isSubtypeOf(objectType));
+      assertTrue("C<int> <: A", cOfIntType.isSubtypeOf(aType));
+      assertTrue("C<int> <: Iterable<num>", cOfIntType.isSubtypeOf(iterableOfNumType));
+      assertFalse("C<int> <: Iterable<String>", cOfIntType.isSubtypeOf(iterableOfStringType));
+      assertTrue("C<int> <: Comparable<num>", cOfIntType.isSubtypeOf(comparableOfNumType));
+      assertTrue("C<int> <: Comparable<int>", cOfIntType.isSubtypeOf(comparableOfIntType));
+      assertFalse("C<int> <: Comparable<String>",
+          cOfIntType.isSubtypeOf(comparableOfStringType));
+      assertFalse("A <: C<int>", aType.isSubtypeOf(cOfIntType));
+    }
+  }
 }
@@ -0,0 +1,141 @@
+// Copyright 2016, the Dart project authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dart._runtime.types.simple.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import dart._runtime.types.simple.InterfaceTypeExpr;
+import dart._runtime.types.simple.InterfaceTypeInfo;
+import dart._runtime.types.simple.TopType;
+import dart._runtime.types.simple.Type;
+import dart._runtime.types.simple.TypeCaches;
+import dart._runtime.types.simple.TypeEnvironment;
+import dart._runtime.types.simple.TypeExpr;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class TypeEnvironmentTest {
+  InterfaceTypeInfo mapTypeInfo;
+  InterfaceTypeInfo listTypeInfo;
+  Type objectType;
+  Type dynamicType;
+
+  @Before
+  public void initialize() {
+    InterfaceTypeInfo objectTypeInfo = new InterfaceTypeInfo(java.lang.Object.class, null);
+    mapTypeInfo = new InterfaceTypeInfo(new String[] {"K", "V"}, java.util.Map.class, null);
+    listTypeInfo = new InterfaceTypeInfo(new String[] {"T"}, java.util.List.class, null);
+    objectType = TypeEnvironment.ROOT.evaluate(new InterfaceTypeExpr(objectTypeInfo));
+    dynamicType = TypeEnvironment.ROOT.evaluate(TopType.EXPR);
+  }
+
+  @Test
+  public void extendIsMemoized() {
+    TypeEnvironment env =
+        TypeEnvironment.ROOT.extend(mapTypeInfo.typeVariables, objectType, dynamicType);
+    assertSame(env, TypeEnvironment.ROOT.extend(mapTypeInfo.typeVariables,
+        new Type[] {objectType, dynamicType}));
+    assertNotSame(env,
+        TypeEnvironment.ROOT.extend(mapTypeInfo.typeVariables, dynamicType, objectType));
+
+    TypeEnvironment inner = env.extend(listTypeInfo.typeVariables, objectType);
+    assertSame(inner, env.extend(listTypeInfo.typeVariables, new Type[] {objectType}));
+    assertNotSame(inner, TypeEnvironment.ROOT.extend(listTypeInfo.typeVariables, objectType));
+  }
+
+  @Test
+  public void resolvesVariablesOfEnclosingEnvironments() {
+    TypeEnvironment env = TypeEnvironment.ROOT
+        .extend(mapTypeInfo.typeVariables, objectType, dynamicType)
+        .extend(listTypeInfo.typeVariables, dynamicType);
+    assertSame(objectType, env.evaluate(mapTypeInfo.typeVariables[0]));
+    assertSame(dynamicType, env.evaluate(mapTypeInfo.typeVariables[1]));
+    assertSame(dynamicType, env.evaluate(listTypeInfo.typeVariables[0]));
+
+    // Inner bindings shadow outer bindings
+    TypeEnvironment shadowing = env.extend(listTypeInfo.typeVariables, objectType);
+    assertSame(objectType, shadowing.evaluate(listTypeInfo.typeVariables[0]));
+  }
+
+  @Test
+  public void evaluationCacheIsBounded() {
+    TypeEnvironment env = TypeEnvironment.ROOT.extend(mapTypeInfo.typeVariables, dynamicType,
+        objectType);
+    TypeExpr listOfV =
+        new InterfaceTypeExpr(listTypeInfo, new TypeExpr[] {mapTypeInfo.typeVariables[1]});
+    Type listOfObject = env.evaluate(listOfV);
+
+    // List<V>, List<List<V>>, ... have distinct keys, so each result is cached separately
+    int count = 3 * TypeCaches.maxEvaluationCacheSize();
+    TypeExpr[] exprs = new TypeExpr[count];
+    Type[] types = new Type[count];
+    exprs[0] = listOfV;
+    types[0] = listOfObject;
+    for (int i = 1; i < count; i++) {
+      exprs[i] = new InterfaceTypeExpr(listTypeInfo, new TypeExpr[] {exprs[i - 1]});
+      types[i] = env.evaluate(exprs[i]);
+      assertTrue(TypeCaches.evaluationCacheSize(env) <= TypeCaches.maxEvaluationCacheSize());
+    }
+    assertTrue(TypeCaches.evaluationCacheEvictions(env) >= 2);
+
+    // Evicted results are evaluated again, to the same canonical types
+    for (int i = 0; i < count; i++) {
+      assertSame(types[i], env.evaluate(exprs[i]));
+    }
+    assertSame(listOfObject, env.evaluate(
+        new InterfaceTypeExpr(listTypeInfo, new TypeExpr[] {mapTypeInfo.typeVariables[1]})));
+    assertEquals(count, TypeCaches.instantiationCount(listTypeInfo));
+  }
+
+  @Test
+  public void hotResultsSurviveEviction() {
+    TypeEnvironment env = TypeEnvironment.ROOT.extend(mapTypeInfo.typeVariables, objectType,
+        objectType);
+    TypeExpr hot =
+        new InterfaceTypeExpr(listTypeInfo, new TypeExpr[] {mapTypeInfo.typeVariables[0]});
+    Type hotType = env.evaluate(hot);
+    TypeExpr first = new InterfaceTypeExpr(listTypeInfo, new TypeExpr[] {hot});
+    env.evaluate(first);
+
+    // Fill the cache with results that are used only once (or twice, as type arguments of the
+    // next expression), while the hot result is used regularly
+    int count = 3 * TypeCaches.maxEvaluationCacheSize();
+    TypeExpr cold = first;
+    for (int i = 0; i < count; i++) {
+      cold = new InterfaceTypeExpr(listTypeInfo, new TypeExpr[] {cold});
+      env.evaluate(cold);
+      assertTrue(TypeCaches.isEvaluationCached(env, hot));
+      if (i % 100 == 0) {
+        assertSame(hotType, env.evaluate(hot));
+      }
+    }
+    assertTrue(TypeCaches.evaluationCacheEvictions(env) >= 2);
+    assertFalse(TypeCaches.isEvaluationCached(env, first));
+
+    // Expressions with the same key share the id, and its cached result
+    int ids = TypeCaches.typeExprIds();
+    TypeExpr sameKey =
+        new InterfaceTypeExpr(listTypeInfo, new TypeExpr[] {mapTypeInfo.typeVariables[0]});
+    assertTrue(TypeCaches.typeExprIds() <= ids);
+    assertTrue(TypeCaches.isEvaluationCached(env, sameKey));
+  }
+}
@@ -0,0 +1,142 @@
+// Copyright 2016, the Dart project authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dart._runtime.types.simple.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import dart._runtime.TypeSystemMetrics;
+import dart._runtime.TypeSystemMetricsMXBean;
+import dart._runtime.types.simple.InterfaceTypeExpr;
+import dart._runtime.types.simple.InterfaceTypeInfo;
+import dart._runtime.types.simple.TopType;
+import dart._runtime.types.simple.Type;
+import dart._runtime.types.simple.TypeEnvironment;
+import dart._runtime.types.simple.TypeExpr;
+import dart._runtime.types.simple.TypeMetrics;
+import java.lang.management.ManagementFactory;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class TypeMetricsTest {
+  static {
+    // Must be set before TypeMetrics is initialized. Every test class runs in its own JVM.
+    System.setProperty("dart2java.typeMetrics", "true");
+  }
+
+  @Test
+  public void registersMXBeanAndCounts() throws Exception {
+    assertTrue("TypeMetrics was initialized too early", TypeMetrics.ENABLED);
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName(TypeSystemMetrics.NAME);
+    assertTrue(server.isRegistered(name));
+    TypeSystemMetricsMXBean metrics =
+        JMX.newMXBeanProxy(server, name, TypeSystemMetricsMXBean.class);
+    assertTrue(metrics.isEnabled());
+    metrics.reset();
+    assertEquals(0, metrics.getEvaluations());
+
+    InterfaceTypeInfo objectTypeInfo = new InterfaceTypeInfo(Object.class, null);
+    InterfaceTypeInfo numTypeInfo = new InterfaceTypeInfo(Number.class, null);
+    numTypeInfo.superclass = new InterfaceTypeExpr(objectTypeInfo);
+    InterfaceTypeInfo listTypeInfo =
+        new InterfaceTypeInfo(new String[] {"T"}, java.util.List.class, null);
+    InterfaceTypeExpr numExpr = new InterfaceTypeExpr(numTypeInfo);
+    Type objectType = TypeEnvironment.ROOT.evaluate(new InterfaceTypeExpr(objectTypeInfo));
+    Type numType = TypeEnvironment.ROOT.evaluate(numExpr);
+    assertSame(numType, TypeEnvironment.ROOT.evaluate(numExpr));
+    TypeEnvironment.ROOT.evaluate(new InterfaceTypeExpr(listTypeInfo, new TypeExpr[] {numExpr}));
+    assertTrue(metrics.getEvaluations() >= 4);
+    assertTrue(metrics.getEvaluationHitRate() > 0);
+    assertEquals(Integer.valueOf(1),
+        metrics.getInstantiationCacheSizes().get(listTypeInfo.fullName));
+
+    assertTrue(numType.isSubtypeOf(objectType));
+    assertTrue(metrics.getSubtypeChecks() >= 1);
+
+    Type topType = TypeEnvironment.ROOT.evaluate(TopType.EXPR);
+    topType.check(null);
+    topType.cast(null);
+    try {
+      numType.check("not a number");
+      fail("Expected a TypeError");
+    } catch (RuntimeException e) {
+      assertTrue(e.getMessage().startsWith("TypeError"));
+    }
+    try {
+      numType.cast("not a number");
+      fail("Expected a CastError");
+    } catch (RuntimeException e) {
+      assertTrue(e.getMessage().startsWith("CastError"));
+    }
+    assertEquals(2, metrics.getChecks());
+    assertEquals(1, metrics.getCheckFailures());
+    assertEquals(2, metrics.getCasts());
+    assertEquals(1, metrics.getCastFailures());
+
+    metrics.reset();
+    assertEquals(0, metrics.getChecks());
+    assertEquals(0, metrics.getCasts());
+  }
+
+  @Test
+  public void memoizesSlowSubtypeChecks() {
+    // class A implements Comparable<num>
+    // class B extends A implements Comparable<int>
+    class A {
+    }
+    class B {
+    }
+    InterfaceTypeInfo objectTypeInfo = new InterfaceTypeInfo(Object.class, null);
+    InterfaceTypeInfo numTypeInfo = new InterfaceTypeInfo(Number.class, null);
+    numTypeInfo.superclass = new InterfaceTypeExpr(objectTypeInfo);
+    InterfaceTypeInfo intTypeInfo = new InterfaceTypeInfo(Integer.class, null);
+    intTypeInfo.superclass = new InterfaceTypeExpr(numTypeInfo);
+    InterfaceTypeInfo comparableTypeInfo =
+        new InterfaceTypeInfo(new String[] {"E"}, Comparable.class, null);
+    comparableTypeInfo.superclass = new InterfaceTypeExpr(objectTypeInfo);
+    InterfaceTypeInfo aTypeInfo = new InterfaceTypeInfo(A.class, null);
+    aTypeInfo.superclass = new InterfaceTypeExpr(objectTypeInfo);
+    aTypeInfo.interfaces = new InterfaceTypeExpr[] {new InterfaceTypeExpr(comparableTypeInfo,
+        new TypeExpr[] {new InterfaceTypeExpr(numTypeInfo)})};
+    InterfaceTypeInfo bTypeInfo = new InterfaceTypeInfo(B.class, null);
+    bTypeInfo.superclass = new InterfaceTypeExpr(aTypeInfo);
+    bTypeInfo.interfaces = new InterfaceTypeExpr[] {new InterfaceTypeExpr(comparableTypeInfo,
+        new TypeExpr[] {new InterfaceTypeExpr(intTypeInfo)})};
+
+    Type objectType = TypeEnvironment.ROOT.evaluate(new InterfaceTypeExpr(objectTypeInfo));
+    Type aType = TypeEnvironment.ROOT.evaluate(new InterfaceTypeExpr(aTypeInfo));
+    Type bType = TypeEnvironment.ROOT.evaluate(new InterfaceTypeExpr(bTypeInfo));
+    Type comparableOfIntType =
+        TypeEnvironment.ROOT.evaluate(new InterfaceTypeExpr(comparableTypeInfo,
+            new TypeExpr[] {new InterfaceTypeExpr(intTypeInfo)}));
+
+    // Only the check against the conflicting class walks the supertype graph, and only once
+    long slowChecks = TypeMetrics.slowSubtypeChecks();
+    for (int i = 0; i < 3; i++) {
+      assertTrue(bType.isSubtypeOf(comparableOfIntType));
+      assertTrue(bType.isSubtypeOf(aType));
+      assertTrue(bType.isSubtypeOf(objectType));
+    }
+    assertEquals(slowChecks + 1, TypeMetrics.slowSubtypeChecks());
+  }
+}
@@ -12,6 +12,7 @@
 // See the License for the specific language governing permissions and
 // limitations under the License.
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -166,4 +167,123 @@ public class Tests {
     }
     fail("Expected a " + err.getName() + ", but got no error");
   }
+
+  @Test()
+  public void testDowncastAfterAssignmentNoError() {
+    assertEquals(5, (int) __TopLevel.downcastAfterAssignmentNoError());
+  }
+
+  @Test()
+  public void testDowncastAfterAssignmentError() {
+    try {
+      __TopLevel.downcastAfterAssignmentError();
+    } catch (Throwable t) {
+      assertTrue("Expected a " + err.getName() + ", but got: " + t, err.isInstance(t));
+      assertThat(t.getMessage(), stringContainsInOrder("TypeError", "double", "subtype", "String"));
+      return;
+    }
+    fail("Expected a " + err.getName() + ", but got no error");
+  }
+
+  @Test()
+  public void testDowncastAfterIfNoError() {
+    assertEquals(4, (int) __TopLevel.downcastAfterIfNoError());
+  }
+
+  @Test()
+  public void testDowncastAfterIfError() {
+    try {
+      __TopLevel.downcastAfterIfError();
+    } catch (Throwable t) {
+      assertTrue("Expected a " + err.getName() + ", but got: " + t, err.isInstance(t));
+      assertThat(t.getMessage(), stringContainsInOrder("TypeError", "double", "subtype", "String"));
+      return;
+    }
+    fail("Expected a " + err.getName() + ", but got no error");
+  }
+
+  @Test()
+  public void testDowncastAfterConditionalNoError() {
+    assertEquals(5, (int) __TopLevel.downcastAfterConditionalNoError());
+  }
+
+  @Test()
+  public void testDowncastAfterConditionalError() {
+    try {
+      __TopLevel.downcastAfterConditionalError();
+    } catch (Throwable t) {
+      assertTrue("Expected a " + err.getName() + ", but got: " + t, err.isInstance(t));
+      assertThat(t.getMessage(), stringContainsInOrder("TypeError", "double", "subtype", "String"));
+      return;
+    }
+    fail("Expected a " + err.getName() + ", but got no error");
+  }
+
+  @Test()
+  public void testDowncastAfterAndNoError() {
+    assertEquals(3, (int) __TopLevel.downcastAfterAndNoError());
+  }
+
+  @Test()
+  public void testDowncastAfterAndError() {
+    try {
+      __TopLevel.downcastAfterAndError();
+    } catch (Throwable t) {
+      assertTrue("Expected a " + err.getName() + ", but got: " + t, err.isInstance(t));
+      assertThat(t.getMessage(), stringContainsInOrder("TypeError", "double", "subtype", "String"));
+      return;
+    }
+    fail("Expected a " + err.getName() + ", but got no error");
+  }
+
+  @Test()
+  public void testDowncastAfterOrNoError() {
+    assertEquals(-1, (int) __TopLevel.downcastAfterOrNoError());
+  }
+
+  @Test()
+  public void testDowncastAfterOrError() {
+    try {
+      __TopLevel.downcastAfterOrError();
+    } catch (Throwable t) {
+      assertTrue("Expected a " + err.getName() + ", but got: " + t, err.isInstance(t));
+      assertThat(t.getMessage(), stringContainsInOrder("TypeError", "double", "subtype", "String"));
+      return;
+    }
+    fail("Expected a " + err.getName() + ", but got no error");
+  }
+
+  @Test()
+  public void testDowncastAfterIsNoError() {
+    assertEquals(3, (int) __TopLevel.downcastAfterIsNoError());
+  }
+
+  @Test()
+  public void testDowncastAfterIsError() {
+    try {
+      __TopLevel.downcastAfterIsError();
+    } catch (Throwable t) {
+      assertTrue("Expected a " + err.getName() + ", but got: " + t, err.isInstance(t));
+      assertThat(t.getMessage(), stringContainsInOrder("TypeError", "double", "subtype", "String"));
+      return;
+    }
+    fail("Expected a " + err.getName() + ", but got no error");
+  }
+
+  @Test()
+  public void testDowncastInLoopNoError() {
+    assertEquals(13, (int) __TopLevel.downcastInLoopNoError());
+  }
+
+  @Test()
+  public void testDowncastInLoopError() {
+    try {
+      __TopLevel.downcastInLoopError();
+    } catch (Throwable t) {
+      assertTrue("Expected a " + err.getName() + ", but got: " + t, err.isInstance(t));
+      assertThat(t.getMessage(), stringContainsInOrder("TypeError", "double", "subtype", "String"));
+      return;
+    }
+    fail("Expected a " + err.getName() + ", but got no error");
+  }
 }
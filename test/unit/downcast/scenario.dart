@@ -56,3 +56,129 @@ void downcastListAtLocalNoError() {
 void downcastListAtLocalError() {
   List<String> s = getList(false);
 }
+
+int checkAgainAfterAssignment(Object a, Object b) {
+  Object o = a;
+  String s = o;
+  // Already checked, not assigned since
+  String t = o;
+  o = b;
+  // Must be checked again
+  String u = o;
+  return s.length + t.length + u.length;
+}
+
+int downcastAfterAssignmentNoError() => checkAgainAfterAssignment("ab", "c");
+int downcastAfterAssignmentError() => checkAgainAfterAssignment("ab", 8.4);
+
+int checkAfterIf(Object o, bool checkFirst) {
+  if (checkFirst) {
+    String s = o;
+  }
+  // Only checked if `checkFirst` is true, must be checked again
+  String t = o;
+  return t.length;
+}
+
+int checkAfterIfElse(Object o, bool flag) {
+  String s;
+  if (flag) {
+    s = o;
+  } else {
+    s = o;
+  }
+  // Already checked on both paths
+  String t = o;
+  return s.length + t.length;
+}
+
+int downcastAfterIfNoError() => checkAfterIfElse("ab", false);
+int downcastAfterIfError() => checkAfterIf(8.4, false);
+
+int checkAfterConditional(Object o, bool checkFirst) {
+  int n = checkFirst ? (o as String).length : 0;
+  // Only checked if `checkFirst` is true, must be checked again
+  String t = o;
+  return n + t.length;
+}
+
+int checkAfterBothConditionalBranches(Object o, bool flag) {
+  int n = flag ? (o as String).length : (o as String).length + 1;
+  // Already checked on both paths
+  String t = o;
+  return n + t.length;
+}
+
+int downcastAfterConditionalNoError() =>
+    checkAfterBothConditionalBranches("ab", false);
+int downcastAfterConditionalError() => checkAfterConditional(8.4, false);
+
+int checkAfterAnd(Object o, bool checkFirst) {
+  if (checkFirst && (o as String).length > 1) {
+    // Already checked by the condition
+    String s = o;
+    return s.length;
+  }
+  // Not checked if `checkFirst` is false
+  String t = o;
+  return -t.length;
+}
+
+int downcastAfterAndNoError() => checkAfterAnd("abc", true);
+int downcastAfterAndError() => checkAfterAnd(8.4, false);
+
+int checkAfterOr(Object o, bool skipCheck) {
+  if (skipCheck || (o as String).length > 1) {
+    // Not checked if `skipCheck` is true
+    String s = o;
+    return s.length;
+  }
+  // Already checked by the condition
+  String t = o;
+  return -t.length;
+}
+
+int downcastAfterOrNoError() => checkAfterOr("a", false);
+int downcastAfterOrError() => checkAfterOr(8.4, true);
+
+int checkAfterIs(Object o) {
+  if (o is String) {
+    // Proven by the `is` test
+    String s = o;
+    return s.length;
+  }
+  // Only proven not to be a String
+  String t = o;
+  return -t.length;
+}
+
+int downcastAfterIsNoError() => checkAfterIs("abc");
+int downcastAfterIsError() => checkAfterIs(8.4);
+
+int checkInLoop(Object o, int n) {
+  String s = o;
+  int total = 0;
+  for (int i = 0; i < n; i++) {
+    // Already checked, not assigned in the loop
+    String t = o;
+    total = total + t.length;
+  }
+  return s.length + total;
+}
+
+int checkAssignedInLoop(Object first, Object second) {
+  Object o = first;
+  String s = o;
+  int total = 0;
+  for (int i = 0; i < 2; i++) {
+    // Assigned in the previous iteration, must be checked again
+    String t = o;
+    total = total + t.length;
+    o = second;
+  }
+  return s.length + total;
+}
+
+int downcastInLoopNoError() =>
+    checkInLoop("ab", 3) + checkAssignedInLoop("ab", "c");
+int downcastInLoopError() => checkAssignedInLoop("ab", 8.4);
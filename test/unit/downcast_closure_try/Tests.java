@@ -0,0 +1,68 @@
+// Copyright 2016, the Dart project authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import org.hamcrest.Matcher;
+import org.hamcrest.text.StringContainsInOrder;
+import org.junit.Test;
+import scenario.__TopLevel;
+
+public class Tests {
+  // This was added as a convenience method in Hamcrest source, but it hasn't been released yet.
+  private static Matcher<String> stringContainsInOrder(String... substrings) {
+    return new StringContainsInOrder(Arrays.asList(substrings));
+  }
+
+  // TODO(andrewkrieger): Throw a special Dart TypeError instead of reusing java.RuntimeException.
+  private static final Class<? extends Throwable> err = RuntimeException.class;
+
+  @Test()
+  public void testDowncastAssignedInClosureNoError() {
+    assertEquals(3, (int) __TopLevel.downcastAssignedInClosureNoError());
+  }
+
+  @Test()
+  public void testDowncastAssignedInClosureError() {
+    try {
+      __TopLevel.downcastAssignedInClosureError();
+    } catch (Throwable t) {
+      assertTrue("Expected a " + err.getName() + ", but got: " + t, err.isInstance(t));
+      assertThat(t.getMessage(), stringContainsInOrder("TypeError", "double", "subtype", "String"));
+      return;
+    }
+    fail("Expected a " + err.getName() + ", but got no error");
+  }
+
+  @Test()
+  public void testDowncastAroundTryNoError() {
+    assertEquals(9, (int) __TopLevel.downcastAroundTryNoError());
+  }
+
+  @Test()
+  public void testDowncastAroundTryError() {
+    try {
+      __TopLevel.downcastAroundTryError();
+    } catch (Throwable t) {
+      assertTrue("Expected a " + err.getName() + ", but got: " + t, err.isInstance(t));
+      assertThat(t.getMessage(), stringContainsInOrder("TypeError", "double", "subtype", "String"));
+      return;
+    }
+    fail("Expected a " + err.getName() + ", but got no error");
+  }
+}
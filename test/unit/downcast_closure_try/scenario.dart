@@ -0,0 +1,64 @@
+// Copyright 2016, the Dart project authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+// Variables that are assigned in closures or in `try` statements must stay
+// checked, see check_elimination.dart.
+
+int checkAssignedInClosure(Object first, Object second) {
+  Object o = first;
+  String s = o;
+  var assign = () {
+    o = second;
+  };
+  assign();
+  // Assigned by the closure, must be checked again
+  String t = o;
+  return s.length + t.length;
+}
+
+int downcastAssignedInClosureNoError() => checkAssignedInClosure("ab", "c");
+int downcastAssignedInClosureError() => checkAssignedInClosure("ab", 8.4);
+
+int checkAroundTry(Object o) {
+  String s = o;
+  int n;
+  try {
+    // Already checked, not assigned in the `try`
+    String t = o;
+    n = t.length;
+  } catch (e) {
+    n = -1;
+  }
+  // Already checked, not assigned in the `try`
+  String u = o;
+  return s.length + n + u.length;
+}
+
+int checkAssignedInTry(Object first, Object second) {
+  Object o = first;
+  String s = o;
+  try {
+    o = second;
+    // Dart objects cannot be thrown yet, throws "/ by zero"
+    print(1 ~/ 0);
+  } catch (e) {
+    // Assigned before the exception, must be checked again
+    String t = o;
+    return s.length + t.length;
+  }
+}
+
+int downcastAroundTryNoError() =>
+    checkAroundTry("ab") + checkAssignedInTry("ab", "c");
+int downcastAroundTryError() => checkAssignedInTry("ab", 8.4);
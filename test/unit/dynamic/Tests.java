@@ -15,7 +15,9 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
 
+import dart._runtime.helpers.DynamicHelper;
 import org.junit.Test;
 import scenario.__TopLevel;
 
@@ -25,4 +27,113 @@ public class Tests {
     assertEquals(530, (int) __TopLevel.testDynamicDispatch());
     assertEquals(181, (int) __TopLevel.testDynamicDispatchPrimitive());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testDynamicDispatchMegamorphic() {
+    assertEquals(174, (int) __TopLevel.testDynamicDispatchMegamorphic());
+  }
+
+  @Test
+  public void testDynamicDispatchMegamorphicExceptions() {
+    // The call site caches the first 4 receiver classes. After that, it
+    // dispatches through DynamicHelper. Both throw the same exception.
+    for (int i = 0; i < 7; i++) {
+      Object receiver = __TopLevel.newQuotientReceiver(i);
+      assertEquals(30, (int) __TopLevel.callQuotient(receiver, 2));
+      try {
+        __TopLevel.callQuotient(receiver, 0);
+        fail("Expected an ArithmeticException, but got no error");
+      } catch (ArithmeticException e) {
+        assertEquals("/ by zero", e.getMessage());
+      }
+    }
+  }
+
+  @Test
+  public void testDynamicDispatchOnNull() {
+    // Through the inline cache of the call site
+    assertNullReceiverError();
+
+    // Through DynamicHelper, once the call site is megamorphic
+    for (int i = 0; i < 5; i++) {
+      Object receiver = __TopLevel.newQuotientReceiver(i);
+      assertEquals(30, (int) __TopLevel.callQuotientOrNull(receiver));
+    }
+    assertNullReceiverError();
+  }
+
+  private static void assertNullReceiverError() {
+    try {
+      __TopLevel.callQuotientOrNull(null);
+      fail("Expected a RuntimeException, but got no error");
+    } catch (RuntimeException e) {
+      assertEquals(NoSuchMethodException.class, e.getCause().getClass());
+      assertEquals("null.quotient not found", e.getCause().getMessage());
+    }
+  }
+
+  @Test
+  public void testDynamicDispatchUnboxedArguments() {
+    assertEquals(40, (int) __TopLevel.testDynamicDispatchUnboxedArguments());
+  }
+
+  @Test
+  public void testDynamicPropertyAccess() {
+    assertEquals(1101, (int) __TopLevel.testDynamicPropertyAccess());
+  }
+
+  @Test
+  public void testDynamicPropertyExceptions() {
+    // Divider.divisor is called through a cached MethodHandle
+    Object divider = __TopLevel.newDivider();
+    assertEquals(2, (int) __TopLevel.setDivisor(divider, 2));
+    try {
+      __TopLevel.setDivisor(divider, 0);
+      fail("Expected an ArithmeticException, but got no error");
+    } catch (ArithmeticException e) {
+      assertEquals("/ by zero", e.getMessage());
+    }
+
+    // DartList.setLength may be dispatched through DynamicHelper
+    Object list = __TopLevel.newIntList();
+    assertEquals(1, (int) __TopLevel.setLength(list, 1));
+    try {
+      __TopLevel.setLength(list, -1);
+      fail("Expected a NegativeArraySizeException, but got no error");
+    } catch (NegativeArraySizeException e) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void testDynamicOperators() {
+    assertEquals(116, (int) __TopLevel.testDynamicOperators());
+  }
+
+  @Test
+  public void testDynamicNullArguments() {
+    assertEquals(2113, (int) __TopLevel.testDynamicNullArguments());
+  }
+
+  @Test
+  public void testResolutionCache() {
+    Object receiver = __TopLevel.newClass6();
+    long hits = DynamicHelper.getCacheHits();
+    long misses = DynamicHelper.getCacheMisses();
+
+    // The first invocation of Class6.foo resolves the method
+    assertEquals(34, (int) __TopLevel.callFoo(receiver));
+    assertEquals(misses + 1, DynamicHelper.getCacheMisses());
+    assertEquals(hits, DynamicHelper.getCacheHits());
+
+    // The call site caches the method itself
+    assertEquals(34, (int) __TopLevel.callFoo(receiver));
+    assertEquals(misses + 1, DynamicHelper.getCacheMisses());
+    assertEquals(hits, DynamicHelper.getCacheHits());
+
+    // A new call site finds the method in the cache of DynamicHelper
+    assertEquals(34, (int) __TopLevel.callFooThroughOtherCallSite(receiver));
+    assertEquals(misses + 1, DynamicHelper.getCacheMisses());
+    assertEquals(hits + 1, DynamicHelper.getCacheHits());
+  }
+}
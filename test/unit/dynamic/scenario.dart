@@ -16,12 +16,72 @@ class Class1 {
   int foo(int a, int b) {
     return a + b;
   }
+  int quotient(int a, int b) => a ~/ b;
 }
 
 class Class2 {
   int foo(int a, int b) {
     return a + b * 2;
   }
+  int quotient(int a, int b) => a ~/ b;
+}
+
+class Class3 {
+  int foo(int a, int b) {
+    return a * b;
+  }
+  int quotient(int a, int b) => a ~/ b;
+}
+
+class Class4 {
+  int foo(int a, int b) {
+    return a - b;
+  }
+  int quotient(int a, int b) => a ~/ b;
+}
+
+class Class5 {
+  int foo(int a, int b) {
+    return b - a;
+  }
+  int quotient(int a, int b) => a ~/ b;
+}
+
+// Only used by testResolutionCache, such that no other test resolves its
+// methods first.
+class Class6 {
+  int foo(int a, int b) {
+    return a * 10 + b;
+  }
+}
+
+class Point {
+  int x;
+  int y;
+
+  Point(this.x, this.y);
+}
+
+class ShiftedPoint extends Point {
+  ShiftedPoint(int x, int y) : super(x, y);
+
+  int get x => y + 1000;
+}
+
+class Divider {
+  int quotient = 0;
+
+  set divisor(int value) {
+    quotient = 60 ~/ value;
+  }
+}
+
+class Counter {
+  int value;
+
+  Counter(this.value);
+
+  Counter operator +(int other) => new Counter(value + other);
 }
 
 int testDynamicDispatch() {
@@ -45,3 +105,104 @@ int testDynamicDispatchPrimitive() {
 
   return result;
 }
+
+int testDynamicDispatchMegamorphic() {
+  int result = 0;
+  List<dynamic> receivers = [
+    new Class1(),
+    new Class2(),
+    new Class3(),
+    new Class4(),
+    new Class5(),
+    new Class1()
+  ];
+  for (int i = 0; i < 3; i++) {
+    for (dynamic d in receivers) {
+      // All iterations go through the same call site
+      result = result + (d.foo(10, 2) as int);
+    }
+  }
+  return result;
+}
+
+int testDynamicDispatchUnboxedArguments() {
+  dynamic i = 10;
+  dynamic d = 0.5;
+  // int and double arguments are passed to the call site without boxing
+  double result = (i + 2.5) as double;
+  result = result + (d * 3) as double;
+  result = result + ((i - 4) as int);
+  return (result * 2).toInt();
+}
+
+int testDynamicPropertyAccess() {
+  List<dynamic> points = [new Point(1, 2), new ShiftedPoint(3, 4)];
+  int result = 0;
+  for (dynamic p in points) {
+    p.y = (p.y as int) * 10;
+    result = result + (p.x as int) + (p.y as int);
+  }
+  return result;
+}
+
+int testDynamicOperators() {
+  dynamic a = 7;
+  dynamic b = 2.0;
+  dynamic c = new Counter(1);
+  int result = 0;
+  if (a > b) result = result + 1;
+  result = result + ((a % b) as double).toInt();
+  result = result + ((a ~/ 2) as int);
+  result = result + ((-a) as int);
+  result = result + ((a << 4) as int);
+  // Not a number, dispatches to Counter.operatorPlus
+  result = result + ((c + 5).value as int);
+  return result;
+}
+
+int testDynamicNullArguments() {
+  dynamic list = <Object>[1, 2];
+  list.add(null);
+  list[0] = null;
+  Object first = list[0];
+  Object last = list[2];
+  int result = list.length as int;
+  if (first == null) result = result + 10;
+  if (last == null) result = result + 100;
+  return result + (list[1] as int) * 1000;
+}
+
+dynamic newClass6() => new Class6();
+
+int callFoo(dynamic d) => d.foo(3, 4) as int;
+
+int callFooThroughOtherCallSite(dynamic d) => d.foo(3, 4) as int;
+
+dynamic newQuotientReceiver(int i) {
+  switch (i % 5) {
+    case 0:
+      return new Class1();
+    case 1:
+      return new Class2();
+    case 2:
+      return new Class3();
+    case 3:
+      return new Class4();
+    default:
+      return new Class5();
+  }
+}
+
+// Only used by testDynamicDispatchMegamorphicExceptions
+int callQuotient(dynamic d, int b) => d.quotient(60, b) as int;
+
+dynamic newDivider() => new Divider();
+
+dynamic newIntList() => <int>[1, 2];
+
+int setDivisor(dynamic d, int value) => (d.divisor = value) as int;
+
+int setLength(dynamic list, int value) => (list.length = value) as int;
+
+// Only used by testDynamicDispatchOnNull
+int callQuotientOrNull(dynamic d) => d.quotient(60, 2) as int;
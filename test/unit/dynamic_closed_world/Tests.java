@@ -0,0 +1,45 @@
+// Copyright 2016, the Dart project authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import scenario.__TopLevel;
+
+public class Tests {
+  @Test
+  public void testClassDispatch() {
+    assertEquals(30, (int) __TopLevel.testClassDispatch());
+  }
+
+  @Test
+  public void testSetterDispatch() {
+    assertEquals(60, (int) __TopLevel.testSetterDispatch());
+  }
+
+  @Test
+  public void testGenericClassDispatch() {
+    assertEquals(28, (int) __TopLevel.testGenericClassDispatch());
+  }
+
+  @Test
+  public void testNumberDispatch() {
+    assertEquals(20, (int) __TopLevel.testNumberDispatch());
+  }
+
+  @Test
+  public void testStringAndListDispatch() {
+    assertEquals(12, (int) __TopLevel.testStringAndListDispatch());
+  }
+}
@@ -0,0 +1,119 @@
+// compile options: --closed-world
+// Copyright 2016, the Dart project authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+class Shape {
+  int sides = 0;
+
+  int area() => 0;
+}
+
+class Square extends Shape {
+  int size;
+
+  Square(this.size) {
+    sides = 4;
+  }
+
+  int area() => size * size;
+}
+
+class Rectangle extends Shape {
+  int width;
+  int height;
+
+  Rectangle(this.width, this.height) {
+    sides = 4;
+  }
+
+  int area() => width * height;
+
+  int get perimeter => 2 * (width + height);
+}
+
+class Triangle extends Shape {
+  Triangle() {
+    sides = 3;
+  }
+}
+
+class Box<T> {
+  T value;
+
+  Box(this.value);
+
+  T get content => value;
+
+  T swap(T newValue) {
+    T old = value;
+    value = newValue;
+    return old;
+  }
+}
+
+class IntBox extends Box<int> {
+  IntBox(int value) : super(value);
+
+  int doubled() => value * 2;
+}
+
+int testClassDispatch() {
+  List<dynamic> shapes = [
+    new Square(3),
+    new Rectangle(2, 5),
+    new Triangle(),
+    new Shape()
+  ];
+  int result = 0;
+  for (dynamic shape in shapes) {
+    // Methods and fields, declared in the class itself or inherited
+    result = result + (shape.area() as int) + (shape.sides as int);
+  }
+  return result;
+}
+
+int testSetterDispatch() {
+  dynamic shape = new Rectangle(1, 1);
+  shape.width = 10;
+  shape.height = 20;
+  return shape.perimeter as int;
+}
+
+int testGenericClassDispatch() {
+  dynamic box = new Box<String>("a");
+  dynamic intBox = new IntBox(3);
+  int result = (box.swap("bc") as String).length;
+  result = result + (box.value as String).length;
+  // Members inherited from a generic superclass
+  result = result + (intBox.swap(5) as int) + (intBox.content as int);
+  result = result + (intBox.doubled() as int);
+  intBox.value = 7;
+  return result + (intBox.value as int);
+}
+
+int testNumberDispatch() {
+  dynamic a = 5;
+  dynamic b = 2.5;
+  dynamic c = 3;
+  int result = (a + c) as int;
+  result = result + ((a * b) as double).toInt();
+  result = result + ((b - c) as double).toInt();
+  return result;
+}
+
+int testStringAndListDispatch() {
+  dynamic s = "dart";
+  dynamic l = [1, 2, 3, 4, 5];
+  return (s.length as int) + (l.length as int) + (l[2] as int);
+}
@@ -15,6 +15,7 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
 
 import org.junit.Test;
 import scenario.__TopLevel;
@@ -26,4 +27,37 @@ public class Tests {
     assertEquals(1213, (int) __TopLevel.testB());
     assertEquals(1131, (int) __TopLevel.testC());
   }
+
+  @Test
+  public void testIsAndAs() {
+    assertEquals(1224, (int) __TopLevel.testIsAndAs());
+  }
+
+  @Test
+  public void testNullCasts() {
+    assertTrue(__TopLevel.testNullIsChecks());
+    try {
+      __TopLevel.castNullToB();
+      fail("Expected a CastError");
+    } catch (RuntimeException e) {
+      assertTrue(e.getMessage().startsWith("CastError"));
+    }
+    try {
+      __TopLevel.castNullToListOfA();
+      fail("Expected a CastError");
+    } catch (RuntimeException e) {
+      assertTrue(e.getMessage().startsWith("CastError"));
+    }
+  }
+
+  @Test
+  public void testCastOfElement() {
+    assertEquals(100, (int) __TopLevel.testCastOfElement());
+    try {
+      __TopLevel.castIntToB();
+      fail("Expected a CastError");
+    } catch (RuntimeException e) {
+      assertTrue(e.getMessage().startsWith("CastError"));
+    }
+  }
 }
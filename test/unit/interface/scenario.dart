@@ -60,3 +60,41 @@ int testC() {
   int result = c1.foo() + c1.bar(10, 20) + c2.qux(1000);    // expect 1131
   return result;
 }
+
+int testIsAndAs() {
+  List<Object> values = [new A(), new B(), new C(), 5, 2.5, "s", null];
+  int result = 0;
+  for (int i = 0; i < values.length; i++) {
+    Object value = values[i];
+    if (value is A) result = result + 1;
+    if (value is B) result = result + 10;
+    if (value is num) result = result + 100;
+    if (value is String) result = result + 1000;
+  }
+  A a = values[2] as A;
+  return result + a.foo();    // expect 1224
+}
+
+bool testNullIsChecks() {
+  Object nothing = null;
+  return !(nothing is B) && !(nothing is List<A>);
+}
+
+// B is checked with instanceof, List<A> against the reified type. Both
+// reject null, which is not a subtype of either.
+B castNullToB() {
+  Object nothing = null;
+  return nothing as B;
+}
+
+List<A> castNullToListOfA() {
+  Object nothing = null;
+  return nothing as List<A>;
+}
+
+// The operand is not a local variable, so it is read once into a temporary
+B castFirstToB(List<Object> values) => values[0] as B;
+
+int testCastOfElement() => castFirstToB([new C(), 5]).qux(0);   // expect 100
+
+B castIntToB() => castFirstToB([5, new C()]);
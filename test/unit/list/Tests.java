@@ -15,6 +15,8 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 
 import java.util.List;
 import org.junit.Test;
@@ -64,4 +66,99 @@ public class Tests {
   public void testDoubleList() {
     assertEquals(7.6, (double) __TopLevel.testDoubleList(), 0.01);
   }
+
+  @Test
+  public void testSort() {
+    assertEquals("-11 2 2 13 40 -1.0 0.5 2.5 apple fig pear ", __TopLevel.testSort());
+  }
+
+  @Test
+  public void testBulkOperations() {
+    assertEquals("8 9 3 0 0 9 3 abcd", __TopLevel.testBulkOperations());
+  }
+
+  @Test
+  public void testSpecializedBulkOperations() {
+    assertEquals("0.5 9.5 8.5 false true true ", __TopLevel.testSpecializedBulkOperations());
+  }
+
+  @Test
+  public void testBulkOperationsWithIterables() {
+    assertEquals("1 4 5 4 5 ebcde", __TopLevel.testBulkOperationsWithIterables());
+  }
+
+  @Test
+  public void testInsertAllAtBoundaries() {
+    assertEquals("1 2 8 9 3 4 5 axybc 1.5 2.5 true true false false",
+        __TopLevel.testInsertAllAtBoundaries());
+  }
+
+  @Test
+  public void testGetRange() {
+    // The second loop over the int range only sees the remaining element
+    assertEquals("2 30 4 2 zb 1.5 9.5 true false", __TopLevel.testGetRange());
+  }
+
+  @Test
+  public void testFillRangeWithoutValue() {
+    assertEquals("--c 1 0 0 0.0 2.5 true false 0 0",
+        __TopLevel.testFillRangeWithoutValue());
+  }
+
+  @Test
+  public void testFailedInsertAll() {
+    dart.core.List_interface shapes = __TopLevel.newShapes();
+    Object second = shapes.operatorAt_List(1);
+    try {
+      // Strings cannot be stored in the Shape array of the list
+      shapes.insertAll_List(1, __TopLevel.newObjects());
+      fail();
+    } catch (ArrayStoreException e) {
+      // The list must be unchanged
+    }
+    assertEquals(2, shapes.getLength_List());
+    assertSame(second, shapes.operatorAt_List(1));
+  }
+
+  @Test
+  public void testConstantLiterals() {
+    assertEquals("1.5 9.5 3 1.5 9.5 3 ", __TopLevel.testConstantLiterals());
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testModifyDuringIteration() {
+    __TopLevel.testModifyDuringIteration();
+  }
+
+  @Test
+  public void testSortWithComparator() {
+    // Dart code cannot pass a compare function yet, Java code can
+    dart._runtime.base.DartList__boolean bools =
+        (dart._runtime.base.DartList__boolean) __TopLevel.newBoolList();
+    bools.sort_List__boolean(new dart._runtime.base.BoolComparator() {
+      @Override
+      public int compare(boolean a, boolean b) {
+        return a == b ? 0 : (a ? -1 : 1);
+      }
+    });
+    String result = "";
+    for (int i = 0; i < bools.getLength_List__boolean(); i++) {
+      result += bools.operatorAt_List__boolean(i) ? "t" : "f";
+    }
+    assertEquals("tttttffff", result);
+
+    dart._runtime.base.DartList__int ints =
+        (dart._runtime.base.DartList__int) __TopLevel.newIntList();
+    ints.sort_List__int(new dart._runtime.base.IntComparator() {
+      @Override
+      public int compare(int a, int b) {
+        return Integer.compare(b, a);
+      }
+    });
+    result = "";
+    for (int i = 0; i < ints.getLength_List__int(); i++) {
+      result += ints.operatorAt_List__int(i) + " ";
+    }
+    assertEquals("12 7 7 5 1 0 -3 -8 ", result);
+  }
 }
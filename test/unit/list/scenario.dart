@@ -108,4 +108,237 @@ String testBoolList() {
   }
 
   return result;
-}
\ No newline at end of file
+}
+
+String testSort() {
+  var ints = <int>[13, 2, -11, 2, 40];
+  ints.sort();
+  var doubles = <double>[2.5, -1.0, 0.5];
+  doubles.sort();
+  var strings = <String>["pear", "apple", "fig"];
+  strings.sort();
+
+  String result = "";
+  for (int i in ints) {
+    result += i.toString() + " ";
+  }
+  for (double d in doubles) {
+    result += d.toString() + " ";
+  }
+  for (String s in strings) {
+    result += s + " ";
+  }
+  return result;
+}
+
+String testBulkOperations() {
+  var list = <int>[1, 2, 3];
+  list.addAll(<int>[4, 5]);
+  list.insertAll(1, <int>[10, 11]);
+  list.setRange(0, 2, <int>[7, 8, 9], 1);
+  list.removeRange(2, 4);
+  list.fillRange(3, 5, 0);
+  var sub = list.sublist(1, 3);
+  var words = <String>["a", "d"];
+  words.insertAll(1, <String>["b", "c"]);
+
+  String result = "";
+  for (int i in list) {
+    result += i.toString() + " ";
+  }
+  for (int i in sub) {
+    result += i.toString() + " ";
+  }
+  for (String word in words) {
+    result += word;
+  }
+  return result;
+}
+
+String testSpecializedBulkOperations() {
+  var doubles = <double>[1.5, 2.5];
+  doubles.addAll(<double>[3.5]);
+  doubles.insertAll(0, <double>[0.5]);
+  doubles.setRange(1, 3, <double>[9.5, 8.5]);
+  doubles.removeRange(3, 4);
+  var bools = <bool>[true, false];
+  bools.insertAll(1, <bool>[false, true]);
+  bools.setRange(0, 1, <bool>[false]);
+  bools.fillRange(3, 4, true);
+  var boolSub = bools.sublist(1, 4);
+
+  String result = "";
+  for (double d in doubles) {
+    result += d.toString() + " ";
+  }
+  for (bool b in boolSub) {
+    result += b.toString() + " ";
+  }
+  return result;
+}
+
+String testBulkOperationsWithIterables() {
+  // Map keys and values are not lists, they are copied through an iterator
+  var map = new Map<int, String>();
+  map[4] = "d";
+  map[5] = "e";
+  var ints = <int>[1, 2, 3];
+  ints.insertAll(1, map.keys);
+  ints.setRange(3, 5, map.keys);
+  var strings = <String>["a", "b", "c"];
+  strings.insertAll(3, map.values);
+  strings.setRange(0, 1, map.values, 1);
+
+  String result = "";
+  for (int i in ints) {
+    result += i.toString() + " ";
+  }
+  for (String s in strings) {
+    result += s;
+  }
+  return result;
+}
+
+String testInsertAllAtBoundaries() {
+  // Insert at the end (index == length) and in the middle
+  var ints = <int>[1, 2, 3];
+  ints.insertAll(3, <int>[4, 5]);
+  ints.insertAll(2, <int>[8, 9]);
+  var strings = <String>["a", "b"];
+  strings.insertAll(2, <String>["c"]);
+  strings.insertAll(1, <String>["x", "y"]);
+  var doubles = <double>[1.5];
+  doubles.insertAll(1, <double>[2.5]);
+  var bools = <bool>[true];
+  bools.insertAll(1, <bool>[false, false]);
+  bools.insertAll(1, <bool>[true]);
+
+  String result = "";
+  for (int i in ints) {
+    result += i.toString() + " ";
+  }
+  for (String s in strings) {
+    result += s;
+  }
+  for (double d in doubles) {
+    result += " " + d.toString();
+  }
+  for (bool b in bools) {
+    result += " " + b.toString();
+  }
+  return result;
+}
+
+String testGetRange() {
+  var ints = <int>[1, 2, 3, 4, 5];
+  var intRange = ints.getRange(1, 4);
+  var strings = <String>["a", "b", "c"];
+  var stringRange = strings.getRange(0, 2);
+  var doubles = <double>[0.5, 1.5, 2.5];
+  var doubleRange = doubles.getRange(1, 3);
+  var bools = <bool>[true, true];
+  var boolRange = bools.getRange(0, 2);
+
+  // The ranges are views, they see later changes of the lists
+  ints[2] = 30;
+  strings[0] = "z";
+  doubles[2] = 9.5;
+  bools[1] = false;
+
+  String result = "";
+  for (int i in intRange) {
+    result += i.toString() + " ";
+  }
+  ints.removeRange(2, 5);
+  for (int i in intRange) {
+    result += i.toString() + " ";
+  }
+  for (String s in stringRange) {
+    result += s;
+  }
+  for (double d in doubleRange) {
+    result += " " + d.toString();
+  }
+  for (bool b in boolRange) {
+    result += " " + b.toString();
+  }
+  return result;
+}
+
+class Filler<T> {
+  void fill(List<T> list) {
+    list.fillRange(0, list.length);
+  }
+}
+
+String testFillRangeWithoutValue() {
+  var strings = <String>["a", "b", "c"];
+  strings.fillRange(0, 2);
+  var ints = <int>[1, 2, 3];
+  ints.fillRange(1, 3);
+  var doubles = <double>[1.5, 2.5];
+  doubles.fillRange(0, 1);
+  var bools = <bool>[true, true];
+  bools.fillRange(1, 2);
+  var filled = <int>[4, 5];
+  new Filler<int>().fill(filled);
+
+  String result = "";
+  for (String s in strings) {
+    result += s == null ? "-" : s;
+  }
+  for (int i in ints) {
+    result += " " + i.toString();
+  }
+  for (double d in doubles) {
+    result += " " + d.toString();
+  }
+  for (bool b in bools) {
+    result += " " + b.toString();
+  }
+  for (int i in filled) {
+    result += " " + i.toString();
+  }
+  return result;
+}
+
+class Shape {}
+
+List<Shape> newShapes() {
+  return <Shape>[new Shape(), new Shape()];
+}
+
+List<Object> newObjects() {
+  return <Object>["a", "b"];
+}
+
+void testModifyDuringIteration() {
+  var list = <int>[1, 2, 3];
+  for (int i in list) {
+    list.add(i);
+  }
+}
+
+List<double> newConstantList() {
+  return <double>[1.5, 2.5];
+}
+
+String testConstantLiterals() {
+  String result = "";
+  for (int round = 0; round < 2; round++) {
+    var list = newConstantList();
+    result += list[0].toString() + " ";
+    list[0] = 9.5;
+    list.add(3.5);
+    result += list[0].toString() + " " + list.length.toString() + " ";
+  }
+  return result;
+}
+
+List<bool> newBoolList() {
+  return <bool>[true, false, true, false, false, true, true, false, true];
+}
+
+List<int> newIntList() {
+  return <int>[5, -3, 12, 0, 7, 7, -8, 1];
+}
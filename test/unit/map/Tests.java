@@ -15,6 +15,7 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
 
 import org.junit.Test;
 import scenario.__TopLevel;
@@ -24,4 +25,74 @@ public class Tests {
   public void testMapMethods() {
     assertEquals(200, (int) __TopLevel.readWriteMap());
   }
+
+  @Test
+  public void testRemoveAndIterate() {
+    assertEquals(84677, (int) __TopLevel.removeAndIterate());
+  }
+
+  @Test
+  public void testLookupMissingKeys() {
+    assertEquals(111, (int) __TopLevel.lookupMissingKeys());
+  }
+
+  @Test
+  public void testRemoveMissingIntKeys() {
+    assertEquals(0, (int) __TopLevel.removeMissingIntKeys());
+  }
+
+  @Test
+  public void testLookupMissingIntKeysWithContainsKey() {
+    assertEquals(110, (int) __TopLevel.lookupMissingIntKeysWithContainsKey());
+  }
+
+  @Test
+  public void testIntKeyedMaps() {
+    assertEquals(334333, (int) __TopLevel.intKeyedMaps());
+  }
+
+  @Test
+  public void testTypedKeyLookups() {
+    assertEquals(12000, (int) __TopLevel.typedKeyLookups());
+  }
+
+  @Test
+  public void testTypedKeyLookupsOnOtherMaps() {
+    assertEquals(3111, (int) __TopLevel.typedKeyLookupsOnOtherMaps());
+  }
+
+  @Test
+  public void testIntKeyedMapsAreSpecialized() {
+    // Map() picks the LinkedHashMap specialization from the reified type
+    // arguments, so that typed-key lookups do not box the key
+    assertTrue(__TopLevel.newIntIntMap()
+        instanceof dart._internal.LinkedHashMap__int_int);
+    assertTrue(__TopLevel.newIntStringMap()
+        instanceof dart._internal.LinkedHashMap__int_generic);
+  }
+
+  @Test
+  public void testTypedKeyLookupsOnFields() {
+    assertEquals(4950, (int) __TopLevel.typedKeyLookupsOnFields());
+  }
+
+  @Test
+  public void testMissingKeysWithObjectValues() {
+    assertEquals(11111, (int) __TopLevel.missingKeysWithObjectValues());
+  }
+
+  @Test
+  public void testMissingKeysWithPrimitiveValues() {
+    assertEquals(4255, (int) __TopLevel.missingKeysWithPrimitiveValues());
+  }
+
+  @Test
+  public void testModifyDuringIteration() {
+    try {
+      __TopLevel.modifyDuringIteration();
+      fail("Expected ConcurrentModificationError");
+    } catch (RuntimeException e) {
+      assertTrue(e.getMessage().startsWith("ConcurrentModificationError"));
+    }
+  }
 }
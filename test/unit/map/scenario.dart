@@ -24,4 +24,238 @@ int readWriteMap() {
   result = result + 2 * map["b"];
   result = result + 3 * map["c"];
   return result;
-}
\ No newline at end of file
+}
+
+int removeAndIterate() {
+  var map = new Map<int, int>();
+  for (int i = 0; i < 100; i++) {
+    map[i] = i * i;
+  }
+  for (int i = 0; i < 100; i += 2) {
+    map.remove(i);
+  }
+  // Re-added keys go to the end of the iteration order.
+  map[2] = 4;
+
+  int result = 0;
+  int position = 0;
+  for (int key in map.keys) {
+    position++;
+    result = result + position * key;
+  }
+  return result;
+}
+
+int lookupMissingKeys() {
+  var map = new Map<String, String>();
+  map["a"] = "x";
+  map.remove("a");
+  map.remove("b");
+
+  int result = 0;
+  if (map["a"] == null) result = result + 1;
+  if (!map.containsKey("a")) result = result + 10;
+  if (map.isEmpty) result = result + 100;
+  return result;
+}
+
+int removeMissingIntKeys() {
+  // Removing a key that may be missing works for maps with int values, too
+  var map = new Map<String, int>();
+  map["a"] = 1;
+  map.remove("a");
+  map.remove("b");
+
+  var intKeys = new Map<int, int>();
+  intKeys[1] = 1;
+  intKeys.remove(2);
+  intKeys.remove(1);
+  intKeys.remove(1);
+  return map.length + intKeys.length;
+}
+
+int lookupMissingIntKeysWithContainsKey() {
+  var map = new Map<String, int>();
+  map["a"] = 1;
+  map.remove("a");
+
+  int result = 0;
+  if (map.containsKey("b")) result = result + map.remove("b");
+  if (!map.containsKey("a")) result = result + 10;
+  if (map.isEmpty) result = result + 100;
+  return result;
+}
+
+int intKeyedMaps() {
+  var ints = new Map<int, int>();
+  var doubles = new Map<int, double>();
+  var strings = new Map<int, String>();
+  for (int i = 0; i < 1000; i++) {
+    ints[i * 31] = i;
+    doubles[i * 31] = i / 2;
+    strings[i * 31] = "s";
+  }
+  for (int i = 0; i < 1000; i += 3) {
+    ints.remove(i * 31);
+  }
+
+  int result = ints.length;
+  for (int i = 0; i < 1000; i++) {
+    if (ints.containsKey(i * 31)) {
+      result = result + ints[i * 31];
+    }
+    if (doubles[i * 31] * 2 == i && strings[i * 31] == "s") {
+      result = result + 1;
+    }
+  }
+  return result;
+}
+
+int typedKeyLookups() {
+  var map = new Map<int, String>();
+  for (int i = -500; i < 500; i++) {
+    map[i * 1000] = "v";
+  }
+  int result = 0;
+  for (int i = -500; i < 500; i += 2) {
+    if (map.remove(i * 1000) == "v") result = result + 1;
+  }
+
+  // Keys that are not statically typed as int use the Object-typed methods
+  Object boxedKey = 1000;
+  if (map[boxedKey] == "v") result = result + 1000;
+  if (!map.containsKey(2000)) result = result + 10000;
+  return result + map.length;
+}
+
+/// A map that is not a `LinkedHashMap`, so it does not have the int-keyed
+/// lookup methods.
+class CountingMap<K, V> implements Map<K, V> {
+  Map<K, V> _map;
+  int lookups = 0;
+
+  CountingMap() {
+    _map = new Map<K, V>();
+  }
+
+  bool containsValue(Object value) => _map.containsValue(value);
+
+  bool containsKey(Object key) {
+    lookups++;
+    return _map.containsKey(key);
+  }
+
+  V operator [](Object key) {
+    lookups++;
+    return _map[key];
+  }
+
+  void operator []=(K key, V value) {
+    _map[key] = value;
+  }
+
+  V remove(Object key) {
+    lookups++;
+    return _map.remove(key);
+  }
+
+  void clear() {
+    _map.clear();
+  }
+
+  Iterable<K> get keys => _map.keys;
+
+  Iterable<V> get values => _map.values;
+
+  int get length => _map.length;
+
+  bool get isEmpty => _map.isEmpty;
+
+  bool get isNotEmpty => _map.isNotEmpty;
+}
+
+int typedKeyLookupsOnOtherMaps() {
+  var counting = new CountingMap<int, String>();
+  Map<int, String> map = counting;
+  map[1] = "a";
+  map[2] = "b";
+
+  int result = 0;
+  if (map[1] == "a") result = result + 1;
+  if (map.containsKey(2)) result = result + 10;
+  if (map.remove(2) == "b") result = result + 100;
+  return result + 1000 * counting.lookups;
+}
+
+Map<int, int> newIntIntMap() => new Map<int, int>();
+
+Map<int, String> newIntStringMap() => new Map<int, String>();
+
+class MapHolder {
+  Map<int, int> map = new Map<int, int>();
+}
+
+int typedKeyLookupsOnFields() {
+  // Receivers other than local variables use the Object-typed methods
+  var holder = new MapHolder();
+  for (int i = 0; i < 100; i++) {
+    holder.map[i] = i;
+  }
+  int result = 0;
+  for (int i = 0; i < 100; i += 2) {
+    result = result + holder.map.remove(i);
+  }
+  for (int i = 0; i < 100; i++) {
+    if (holder.map.containsKey(i)) result = result + holder.map[i];
+  }
+  return result;
+}
+
+int missingKeysWithObjectValues() {
+  var map = new Map<int, String>();
+  map[1] = "a";
+
+  int result = 0;
+  if (map[2] == null) result = result + 1;
+  if (map.remove(2) == null) result = result + 10;
+  Object boxedKey = 2;
+  if (map[boxedKey] == null) result = result + 100;
+  if (map.remove(boxedKey) == null) result = result + 1000;
+  return result + 10000 * map.length;
+}
+
+int missingKeysWithPrimitiveValues() {
+  // [] and remove return 0, 0.0 or false instead of null
+  var ints = new Map<String, int>();
+  var intKeys = new Map<int, int>();
+  var doubles = new Map<int, double>();
+  var bools = new Map<int, bool>();
+  ints["a"] = 5;
+  intKeys[1] = 5;
+  doubles[1] = 1.5;
+  bools[1] = true;
+
+  int result = 0;
+  if (ints["b"] == 0) result = result + 1;
+  if (ints.remove("b") == 0) result = result + 2;
+  if (intKeys[2] == 0) result = result + 4;
+  if (intKeys.remove(2) == 0) result = result + 8;
+  if (doubles[2] == 0.0) result = result + 16;
+  if (doubles.remove(2) == 0.0) result = result + 32;
+  if (!bools[2]) result = result + 64;
+  if (!bools.remove(2)) result = result + 128;
+  return result +
+      1000 * (ints.length + intKeys.length + doubles.length + bools.length);
+}
+
+int modifyDuringIteration() {
+  var map = new Map<int, int>();
+  map[1] = 1;
+  map[2] = 2;
+  int result = 0;
+  for (int key in map.keys) {
+    result = result + key;
+    map[key + 10] = key;
+  }
+  return result;
+}
@@ -0,0 +1,69 @@
+// Copyright 2016, the Dart project authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+import 'dart:collection' show HashSet;
+
+int visitedNodes() {
+  var visited = new Set<int>();
+  int added = 0;
+  for (int i = 0; i < 1000; i++) {
+    if (visited.add(i % 250 * 17)) {
+      added++;
+    }
+  }
+  for (int i = 0; i < 250; i += 2) {
+    visited.remove(i * 17);
+  }
+  visited.add(17);
+
+  int result = added * 1000 + visited.length;
+  if (visited.contains(3 * 17) && !visited.contains(2 * 17)) {
+    result = result + 1000000;
+  }
+  return result;
+}
+
+String iterationOrder() {
+  var set = new Set<String>();
+  set.add("c");
+  set.add("a");
+  set.add("b");
+  set.remove("c");
+  set.add("c");
+  set.add("a");
+
+  String result = "";
+  for (String s in set) {
+    result += s;
+  }
+  return result;
+}
+
+int hashSetOfStrings() {
+  var set = new HashSet<String>();
+  for (int i = 0; i < 500; i++) {
+    set.add("s$i");
+  }
+  for (int i = 0; i < 500; i += 5) {
+    set.remove("s$i");
+  }
+
+  int count = 0;
+  for (String s in set) {
+    if (set.contains(s)) {
+      count++;
+    }
+  }
+  return count * 1000 + set.length;
+}
@@ -15,7 +15,7 @@
 
 set -e
 
-DART_SDK_LIBS="dart:_internal dart:core dart:async dart:math"
+DART_SDK_LIBS="dart:_internal dart:core dart:async dart:collection dart:math"
 
 # Switch to the root directory of dart2java.
 cd $( dirname "${BASH_SOURCE[0]}" )/..
@@ -1,68 +1,339 @@
 part of dart._internal;
- 
+
+/// An insertion-ordered hash map.
+///
+/// The entries are stored in insertion order in parallel lists of keys,
+/// values and hash codes. An open-addressed hash table maps hash codes to
+/// positions in these lists; keys are compared with `==`. Lookups, insertions
+/// and removals take expected constant time.
+///
+/// The map does not allocate objects per entry. In the primitive
+/// specializations generated by the compiler (e.g. `LinkedHashMap__int_int`),
+/// the lists of keys and values are specialized as well, so that `int` and
+/// `double` keys and values are stored unboxed.
+///
+/// [typedLookup], [typedContainsKey] and [typedRemove] are not part of the
+/// [Map] API. If the key of `[]`, `containsKey` or `remove` has the primitive
+/// static type [K], the compiler checks whether the map is a [LinkedHashMap]
+/// and calls these methods instead, so that the key is not boxed either.
+/// Other implementations of [Map] get the `Object`-typed call.
 class LinkedHashMap<K, V> implements Map<K, V> {
-  List<K> _keys = new List<K>();
-  List<V> _values = new List<V>();
+  static const int _INITIAL_CAPACITY = 8;
+
+  /// Marks a slot in [_index] whose entry was removed.
+  static const int _DELETED = -1;
+
+  /// The hash table. A slot holds the position of an entry plus one, 0 if the
+  /// slot is empty, or [_DELETED]. The length is a power of two and twice the
+  /// capacity of the entry lists, so the table is at most half full.
+  List<int> _index;
+
+  /// The entries, in insertion order. Removed entries stay in the lists (and
+  /// are marked in [_removed]) until the lists are compacted.
+  List<K> _keys;
+  List<V> _values;
+  List<int> _hashes;
+  List<bool> _removed;
+
+  /// The number of positions used in the entry lists, including removed
+  /// entries.
+  int _used = 0;
 
-  LinkedHashMap();
+  int _length = 0;
+
+  /// Stored in the entry lists in place of removed keys and values, and
+  /// returned by [operator []] and [remove] for missing keys. These fields are
+  /// never assigned, so they are null (or zero in the primitive
+  /// specializations, whose entries hold no references).
+  K _noKey;
+  V _noValue;
+
+  /// Incremented whenever an entry is added or removed, so that iterators can
+  /// detect concurrent modifications.
+  int _modificationCount = 0;
+
+  LinkedHashMap() {
+    _allocate(_INITIAL_CAPACITY);
+  }
 
   factory LinkedHashMap.newInstance() {
     return new LinkedHashMap<K, V>();
   }
 
   bool containsValue(Object value) {
-    return _values.contains(value);
+    for (int i = 0; i < _used; i++) {
+      if (!_removed[i] && _values[i] == value) {
+        return true;
+      }
+    }
+    return false;
   }
 
   bool containsKey(Object key) {
-    return _keys.contains(key);
+    return _findSlot(key, _hash(key.hashCode)) >= 0;
+  }
+
+  bool typedContainsKey(K key) {
+    return _findKeySlot(key, _hash(key.hashCode)) >= 0;
   }
 
+  /// Returns the value for [key], or null if there is no entry for [key].
+  ///
+  /// Primitive specializations with `int`, `double` or `bool` values (e.g.
+  /// `LinkedHashMap__generic_int`) cannot return null and return 0, 0.0 or
+  /// false instead. Use [containsKey] to tell a missing [key] from such a
+  /// value.
   V operator [](Object key) {
-    for (int i = 0; i < _keys.length; i++) {
-      if (_keys[i] == key) {
-        return _values[i];
-      }
-    }
+    return _valueAt(_findSlot(key, _hash(key.hashCode)));
+  }
 
-    throw "Key not found";
+  V typedLookup(K key) {
+    return _valueAt(_findKeySlot(key, _hash(key.hashCode)));
   }
 
   void operator []=(K key, V value) {
-    for (int i = 0; i < _keys.length; i++) {
-      if (_keys[i] == key) {
-        _values[i] = value;
-        return;
-      }
+    int hash = _hash(key.hashCode);
+    int slot = _findKeySlot(key, hash);
+    if (slot >= 0) {
+      _values[_index[slot] - 1] = value;
+      return;
     }
 
-    _keys.add(key);
-    _values.add(value);
+    if (_used == _keys.length) {
+      _rehash();
+    }
+    int position = _used;
+    _keys[position] = key;
+    _values[position] = value;
+    _hashes[position] = hash;
+    _used++;
+    _insert(hash, position);
+    _length++;
+    _modificationCount++;
   }
 
+  /// Removes the entry for [key] and returns its value, or returns null if
+  /// there is no entry for [key].
+  ///
+  /// Like [operator []], primitive specializations with `int`, `double` or
+  /// `bool` values return 0, 0.0 or false for a missing [key].
   V remove(Object key) {
-    for (int i = 0; i < _keys.length; i++) {
-      if (_keys[i] == key) {
-        _keys.removeAt(i);
-        return _values.removeAt(i);
+    return _removeAt(_findSlot(key, _hash(key.hashCode)));
+  }
+
+  V typedRemove(K key) {
+    return _removeAt(_findKeySlot(key, _hash(key.hashCode)));
+  }
+
+  void clear() {
+    _allocate(_INITIAL_CAPACITY);
+    _used = 0;
+    _length = 0;
+    _modificationCount++;
+  }
+
+  int get length => _length;
+
+  bool get isEmpty => _length == 0;
+
+  bool get isNotEmpty => _length != 0;
+
+  Iterable<K> get keys => new _LinkedHashMapKeyIterable<K, V>(this);
+
+  Iterable<V> get values => new _LinkedHashMapValueIterable<K, V>(this);
+
+  /// Returns the slot in [_index] of the entry for [key], or -1.
+  ///
+  /// Keys are only compared if their hash codes are equal, so that lookups in
+  /// primitive specializations rarely box the stored keys.
+  int _findSlot(Object key, int hash) {
+    int mask = _index.length - 1;
+    for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+      int entry = _index[slot];
+      if (entry == 0) {
+        return -1;
+      }
+      if (entry != _DELETED) {
+        int position = entry - 1;
+        if (_hashes[position] == hash && _keys[position] == key) {
+          return slot;
+        }
       }
     }
+  }
 
-    throw "Key not found";
+  /// Like [_findSlot], but for a key of type [K], which primitive
+  /// specializations compare without boxing.
+  int _findKeySlot(K key, int hash) {
+    int mask = _index.length - 1;
+    for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+      int entry = _index[slot];
+      if (entry == 0) {
+        return -1;
+      }
+      if (entry != _DELETED) {
+        int position = entry - 1;
+        if (_hashes[position] == hash && _keys[position] == key) {
+          return slot;
+        }
+      }
+    }
   }
 
-  void clear() {
-    _keys.clear();
-    _values.clear();
+  /// Returns the value of the entry in [slot], or [_noValue] if [slot] is -1.
+  V _valueAt(int slot) {
+    if (slot < 0) {
+      // Null, or zero in the primitive specializations (see [operator []])
+      return _noValue;
+    }
+    return _values[_index[slot] - 1];
   }
 
-  int get length => _keys.length;
+  /// Removes the entry in [slot] and returns its value, or returns
+  /// [_noValue] if [slot] is -1.
+  V _removeAt(int slot) {
+    if (slot < 0) {
+      // Null, or zero in the primitive specializations (see [remove])
+      return _noValue;
+    }
+    int position = _index[slot] - 1;
+    V value = _values[position];
+    _index[slot] = _DELETED;
+    _removed[position] = true;
+    // Do not keep the key and the value reachable until the next rehash
+    _keys[position] = _noKey;
+    _values[position] = _noValue;
+    _length--;
+    _modificationCount++;
+    return value;
+  }
+
+  /// Adds the entry at [position] to the first empty slot for [hash].
+  void _insert(int hash, int position) {
+    int mask = _index.length - 1;
+    int slot = hash & mask;
+    while (_index[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    _index[slot] = position + 1;
+  }
+
+  void _allocate(int capacity) {
+    _index = new List<int>(capacity * 2);
+    _keys = new List<K>(capacity);
+    _values = new List<V>(capacity);
+    _hashes = new List<int>(capacity);
+    _removed = new List<bool>(capacity);
+  }
+
+  /// Makes room for another entry. Removes the removed entries from the
+  /// entry lists, and doubles their capacity unless that freed enough space.
+  void _rehash() {
+    List<K> keys = _keys;
+    List<V> values = _values;
+    List<int> hashes = _hashes;
+    List<bool> removed = _removed;
+    int used = _used;
+
+    int capacity = keys.length;
+    if (_length * 2 >= capacity) {
+      capacity = capacity * 2;
+    }
+    _allocate(capacity);
+
+    int position = 0;
+    for (int i = 0; i < used; i++) {
+      if (!removed[i]) {
+        _keys[position] = keys[i];
+        _values[position] = values[i];
+        _hashes[position] = hashes[i];
+        _insert(hashes[i], position);
+        position++;
+      }
+    }
+    _used = position;
+  }
+
+  /// Spreads the high bits of a hash code to the low bits, which select the
+  /// slot.
+  static int _hash(int hashCode) {
+    return hashCode ^ (hashCode >> 16);
+  }
+}
+
+/// A live view of the keys of a [LinkedHashMap].
+class _LinkedHashMapKeyIterable<K, V> extends Iterable<K> {
+  final LinkedHashMap<K, V> _map;
+
+  _LinkedHashMapKeyIterable(this._map);
+
+  Iterator<K> get iterator => new _LinkedHashMapKeyIterator<K, V>(_map);
+
+  bool contains(Object element) => _map.containsKey(element);
 
-  bool get isEmpty => _keys.isEmpty;
+  bool get isEmpty => _map.isEmpty;
+}
 
-  bool get isNotEmpty => _keys.isNotEmpty;
+/// A live view of the values of a [LinkedHashMap].
+class _LinkedHashMapValueIterable<K, V> extends Iterable<V> {
+  final LinkedHashMap<K, V> _map;
 
-  Iterable<K> get keys => _keys;
+  _LinkedHashMapValueIterable(this._map);
 
-  Iterable<V> get values => _values;
-}
\ No newline at end of file
+  Iterator<V> get iterator => new _LinkedHashMapValueIterator<K, V>(_map);
+
+  bool contains(Object element) => _map.containsValue(element);
+
+  bool get isEmpty => _map.isEmpty;
+}
+
+/// Iterates over the entries of a [LinkedHashMap] in insertion order.
+abstract class _LinkedHashMapIterator<K, V> {
+  final LinkedHashMap<K, V> _map;
+  final int _modificationCount;
+
+  /// The position of the current entry, or -1 before the first call to
+  /// [moveNext].
+  int _position = -1;
+
+  _LinkedHashMapIterator(LinkedHashMap<K, V> map)
+      : _map = map,
+        _modificationCount = map._modificationCount;
+
+  bool moveNext() {
+    if (_modificationCount != _map._modificationCount) {
+      throwConcurrentModificationError(_map);
+    }
+    _position++;
+    while (_position < _map._used && _map._removed[_position]) {
+      _position++;
+    }
+    return _position < _map._used;
+  }
+
+  bool get _hasCurrent => _position >= 0 && _position < _map._used;
+}
+
+class _LinkedHashMapKeyIterator<K, V> extends _LinkedHashMapIterator<K, V>
+    implements Iterator<K> {
+  _LinkedHashMapKeyIterator(LinkedHashMap<K, V> map) : super(map);
+
+  K get current {
+    if (!_hasCurrent) {
+      return _map._noKey;
+    }
+    return _map._keys[_position];
+  }
+}
+
+class _LinkedHashMapValueIterator<K, V> extends _LinkedHashMapIterator<K, V>
+    implements Iterator<V> {
+  _LinkedHashMapValueIterator(LinkedHashMap<K, V> map) : super(map);
+
+  V get current {
+    if (!_hasCurrent) {
+      return _map._noValue;
+    }
+    return _map._values[_position];
+  }
+}
@@ -0,0 +1,27 @@
+// Copyright 2016, the Dart project authors.
+// 
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+// 
+//     http://www.apache.org/licenses/LICENSE-2.0
+// 
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * Classes and utilities that supplement the collection support in dart:core.
+ *
+ * To use this library in your code:
+ *
+ *     import 'dart:collection';
+ */
+library dart.collection;
+
+import 'dart:_internal' show LinkedHashMap, throwConcurrentModificationError;
+
+part "hash_set.dart";
+part "linked_hash_set.dart";
@@ -0,0 +1,208 @@
+// Copyright 2016, the Dart project authors.
+// 
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+// 
+//     http://www.apache.org/licenses/LICENSE-2.0
+// 
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+part of dart.collection;
+
+/**
+ * An unordered hash-table based [Set] implementation.
+ *
+ * The elements of a `HashSet` must have consistent equality
+ * and hashCode implementations. This means that the equals operation
+ * must define a stable equivalence relation on the elements (reflexive,
+ * symmetric, transitive, and consistent over time), and that the hashCode
+ * must be the same for objects that are considered equal.
+ *
+ * Iterating the set's elements has no specified order.
+ *
+ * The elements are stored in an open-addressed hash table with linear probing.
+ * Removals move later elements of the same probe sequence back, so the table
+ * never contains tombstones. In the primitive specializations generated by the
+ * compiler (e.g. `HashSet__int`), the table of elements is specialized as
+ * well, so that `int` elements are stored unboxed.
+ */
+class HashSet<E> extends Iterable<E> implements Set<E> {
+  static const int _INITIAL_CAPACITY = 8;
+
+  /// The hash table. The length is a power of two, and the table is at most
+  /// half full.
+  List<E> _elements;
+  List<int> _hashes;
+  List<bool> _occupied;
+
+  int _length = 0;
+
+  /// Stored in the table in place of removed elements. This field is never
+  /// assigned, so it is null (or zero in the primitive specializations, whose
+  /// table holds no references).
+  E _noElement;
+
+  /// Incremented whenever an element is added or removed, so that iterators
+  /// can detect concurrent modifications.
+  int _modificationCount = 0;
+
+  HashSet() {
+    _allocate(_INITIAL_CAPACITY);
+  }
+
+  bool contains(Object value) {
+    return _findSlot(value, _hash(value.hashCode)) >= 0;
+  }
+
+  bool add(E value) {
+    int hash = _hash(value.hashCode);
+    int mask = _elements.length - 1;
+    int slot = hash & mask;
+    while (_occupied[slot]) {
+      if (_hashes[slot] == hash && _elements[slot] == value) {
+        return false;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    _elements[slot] = value;
+    _hashes[slot] = hash;
+    _occupied[slot] = true;
+    _length++;
+    _modificationCount++;
+    if (_length * 2 > _elements.length) {
+      _resize(_elements.length * 2);
+    }
+    return true;
+  }
+
+  void addAll(Iterable<E> elements) {
+    for (E element in elements) {
+      add(element);
+    }
+  }
+
+  bool remove(Object value) {
+    int slot = _findSlot(value, _hash(value.hashCode));
+    if (slot < 0) {
+      return false;
+    }
+
+    // Move later elements of the probe sequence into the gap, unless their
+    // probe sequence starts after the gap.
+    int mask = _elements.length - 1;
+    int gap = slot;
+    int next = (gap + 1) & mask;
+    while (_occupied[next]) {
+      int home = _hashes[next] & mask;
+      if (((next - home) & mask) >= ((next - gap) & mask)) {
+        _elements[gap] = _elements[next];
+        _hashes[gap] = _hashes[next];
+        gap = next;
+      }
+      next = (next + 1) & mask;
+    }
+    _occupied[gap] = false;
+    // Do not keep the removed element reachable
+    _elements[gap] = _noElement;
+    _length--;
+    _modificationCount++;
+    return true;
+  }
+
+  void clear() {
+    _allocate(_INITIAL_CAPACITY);
+    _length = 0;
+    _modificationCount++;
+  }
+
+  int get length => _length;
+
+  bool get isEmpty => _length == 0;
+
+  bool get isNotEmpty => _length != 0;
+
+  Iterator<E> get iterator => new _HashSetIterator<E>(this);
+
+  /// Returns the slot of [value], or -1.
+  ///
+  /// Elements are only compared if their hash codes are equal, so that lookups
+  /// in primitive specializations rarely box the stored elements.
+  int _findSlot(Object value, int hash) {
+    int mask = _elements.length - 1;
+    for (int slot = hash & mask; _occupied[slot]; slot = (slot + 1) & mask) {
+      if (_hashes[slot] == hash && _elements[slot] == value) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  void _allocate(int capacity) {
+    _elements = new List<E>(capacity);
+    _hashes = new List<int>(capacity);
+    _occupied = new List<bool>(capacity);
+  }
+
+  void _resize(int capacity) {
+    List<E> elements = _elements;
+    List<int> hashes = _hashes;
+    List<bool> occupied = _occupied;
+    _allocate(capacity);
+
+    int mask = capacity - 1;
+    for (int i = 0; i < elements.length; i++) {
+      if (occupied[i]) {
+        int slot = hashes[i] & mask;
+        while (_occupied[slot]) {
+          slot = (slot + 1) & mask;
+        }
+        _elements[slot] = elements[i];
+        _hashes[slot] = hashes[i];
+        _occupied[slot] = true;
+      }
+    }
+  }
+
+  /// Spreads the high bits of a hash code to the low bits, which select the
+  /// slot.
+  static int _hash(int hashCode) {
+    return hashCode ^ (hashCode >> 16);
+  }
+}
+
+class _HashSetIterator<E> implements Iterator<E> {
+  final HashSet<E> _set;
+  final int _modificationCount;
+
+  /// The current slot, or -1 before the first call to [moveNext].
+  int _slot = -1;
+
+  _HashSetIterator(HashSet<E> set)
+      : _set = set,
+        _modificationCount = set._modificationCount;
+
+  bool moveNext() {
+    if (_modificationCount != _set._modificationCount) {
+      throwConcurrentModificationError(_set);
+    }
+    _slot++;
+    while (_slot < _set._elements.length && !_set._occupied[_slot]) {
+      _slot++;
+    }
+    return _slot < _set._elements.length;
+  }
+
+  E get current {
+    if (_slot < 0 || _slot >= _set._elements.length) {
+      // Primitive specializations cannot represent null; they throw instead.
+      return null as E;
+    }
+    return _set._elements[_slot];
+  }
+}
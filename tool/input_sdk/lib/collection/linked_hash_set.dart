@@ -0,0 +1,73 @@
+// Copyright 2016, the Dart project authors.
+// 
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+// 
+//     http://www.apache.org/licenses/LICENSE-2.0
+// 
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+part of dart.collection;
+
+/**
+ * A [LinkedHashSet] is a hash-table based [Set] implementation.
+ *
+ * The `LinkedHashSet` also keep track of the order that elements were inserted
+ * in, and iteration happens in first-to-last insertion order.
+ *
+ * The elements of a `LinkedHashSet` must have consistent [Object.operator==]
+ * and [Object.hashCode] implementations.
+ *
+ * The elements are stored as the keys of a default [Map] implementation,
+ * which keeps them in insertion order in a hash table. In the primitive
+ * specializations generated by the compiler (e.g. `LinkedHashSet__int`), the
+ * map is specialized as well, so that `int` elements are stored unboxed.
+ */
+class LinkedHashSet<E> extends Iterable<E> implements Set<E> {
+  /// The elements of this set are the keys of [_map]. The values are unused.
+  LinkedHashMap<E, bool> _map;
+
+  LinkedHashSet() {
+    _map = new LinkedHashMap<E, bool>();
+  }
+
+  bool contains(Object value) {
+    return _map.containsKey(value);
+  }
+
+  bool add(E value) {
+    int length = _map.length;
+    // Does not change the position of an element that is already in the set
+    _map[value] = true;
+    return _map.length != length;
+  }
+
+  void addAll(Iterable<E> elements) {
+    for (E element in elements) {
+      add(element);
+    }
+  }
+
+  bool remove(Object value) {
+    int length = _map.length;
+    _map.remove(value);
+    return _map.length != length;
+  }
+
+  void clear() {
+    _map.clear();
+  }
+
+  int get length => _map.length;
+
+  bool get isEmpty => _map.isEmpty;
+
+  bool get isNotEmpty => _map.isNotEmpty;
+
+  Iterator<E> get iterator => _map.keys.iterator;
+}
@@ -26,6 +26,7 @@ part 'map.dart';
 part 'null.dart';
 part 'num.dart';
 part 'object.dart';
+part 'set.dart';
 part 'stopwatch.dart';
 part 'string.dart';
 part 'symbol.dart';
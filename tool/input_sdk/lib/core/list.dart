@@ -165,8 +165,7 @@ abstract class List<E> implements Iterable<E> {
    * Extends the length of the list by the number of objects in [iterable].
    * Throws an [UnsupportedError] if this list is fixed-length.
    */
-  // TODO(springerm): Implement
-  // void addAll(Iterable<E> iterable);
+  void addAll(Iterable<E> iterable);
 
   /**
    * Returns an [Iterable] of the objects in this list in reverse order.
@@ -200,8 +199,14 @@ abstract class List<E> implements Iterable<E> {
    *     numbers.sort((a, b) => a.length.compareTo(b.length));
    *     print(numbers);  // [one, two, four, three] OR [two, one, four, three]
    */
-  // TODO(springerm): Implement
+  // The [compare] parameter is not supported yet: the compiler cannot
+  // represent function types, so Dart code could not pass a compare function.
+  // Java code can call sort_List(Comparator), sort_List__int(IntComparator),
+  // sort_List__double(DoubleComparator) or sort_List__boolean(BoolComparator)
+  // instead, which also sort lists of bool.
+  // TODO(springerm): Add the [compare] parameter once closures are supported.
   // void sort([int compare(E a, E b)]);
+  void sort();
 
   /**
    * Shuffles the elements of this list randomly.
@@ -278,8 +283,7 @@ abstract class List<E> implements Iterable<E> {
    * An error occurs if the [index] is less than 0 or greater than length.
    * An [UnsupportedError] occurs if the list is fixed-length.
    */
-  // TODO(springerm): Implement
-  // void insertAll(int index, Iterable<E> iterable);
+  void insertAll(int index, Iterable<E> iterable);
 
   /**
    * Overwrites objects of `this` with the objects of [iterable], starting
@@ -404,8 +408,7 @@ abstract class List<E> implements Iterable<E> {
    *     colors.length = 3;
    *     range.join(', ');  // 'green, blue'
    */
-  // TODO(springerm): Implement
-  // Iterable<E> getRange(int start, int end);
+  Iterable<E> getRange(int start, int end);
 
   /**
    * Copies the objects of [iterable], skipping [skipCount] objects first,
@@ -431,8 +434,7 @@ abstract class List<E> implements Iterable<E> {
    * If `iterable` depends on this list in some other way, no guarantees are
    * made.
    */
-  // TODO(springerm): Implement
-  // void setRange(int start, int end, Iterable<E> iterable, [int skipCount = 0]);
+  void setRange(int start, int end, Iterable<E> iterable, [int skipCount = 0]);
 
   /**
    * Removes the objects in the range [start] inclusive to [end] exclusive.
@@ -443,8 +445,7 @@ abstract class List<E> implements Iterable<E> {
    * Throws an [UnsupportedError] if this is a fixed-length list. In that case
    * the list is not modified.
    */
-  // TODO(springerm): Implement
-  // void removeRange(int start, int end);
+  void removeRange(int start, int end);
 
   /**
    * Sets the objects in the range [start] inclusive to [end] exclusive
@@ -452,8 +453,10 @@ abstract class List<E> implements Iterable<E> {
    *
    * An error occurs if [start]..[end] is not a valid range for `this`.
    */
-  // TODO(springerm): Implement
-  // void fillRange(int start, int end, [E fillValue]);
+  // The default value of [fillValue] is null, which `List<int>`,
+  // `List<double>` and `List<bool>` cannot hold. They are filled with 0, 0.0
+  // or false instead.
+  void fillRange(int start, int end, [E fillValue]);
 
   /**
    * Removes the objects in the range [start] inclusive to [end] exclusive
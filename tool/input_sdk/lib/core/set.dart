@@ -0,0 +1,86 @@
+// Copyright 2016, the Dart project authors.
+// 
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+// 
+//     http://www.apache.org/licenses/LICENSE-2.0
+// 
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+part of dart.core;
+
+/**
+ * A collection of objects in which each object can occur only once.
+ *
+ * That is, for each object of the element type, the object is either considered
+ * to be in the set, or to _not_ be in the set.
+ *
+ * Set implementations may consider some elements indistinguishable. These
+ * elements are treated as being the same for any operation on the set.
+ *
+ * The default [Set] implementation, [LinkedHashSet], considers objects
+ * indistinguishable if they are equal with regard to [Object.operator==].
+ *
+ * Iterating over elements of a set may be either unordered
+ * or ordered in some way. Examples:
+ *
+ * * A [HashSet] is unordered, which means that its iteration order is
+ *   unspecified,
+ * * [LinkedHashSet] iterates in the insertion order of its elements.
+ *
+ * It is generally not allowed to modify the set (add or remove elements) while
+ * an operation on the set is being performed.
+ */
+abstract class Set<E> implements Iterable<E> {
+  /**
+   * Creates an empty [Set].
+   *
+   * The created [Set] is a [LinkedHashSet]. As such, it considers elements that
+   * are equal (using [==]) to be indistinguishable, and requires them to
+   * have a compatible [Object.hashCode] implementation.
+   */
+  external factory Set();
+
+  /**
+   * Returns true if [value] is in the set.
+   */
+  bool contains(Object value);
+
+  /**
+   * Adds [value] to the set.
+   *
+   * Returns `true` if [value] (or an equal value) was not yet in the set.
+   * Otherwise returns `false` and the set is not changed.
+   */
+  bool add(E value);
+
+  /**
+   * Adds all [elements] to this Set.
+   *
+   * Equivalent to adding each element in [elements] using [add],
+   * but some collections may be able to optimize it.
+   */
+  void addAll(Iterable<E> elements);
+
+  /**
+   * Removes [value] from the set. Returns true if [value] was
+   * in the set. Returns false otherwise. The method has no effect
+   * if [value] value was not in the set.
+   */
+  bool remove(Object value);
+
+  /**
+   * Removes all elements in the set.
+   */
+  void clear();
+
+  /**
+   * Returns the number of elements in the set.
+   */
+  int get length;
+}
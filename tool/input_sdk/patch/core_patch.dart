@@ -13,6 +13,7 @@
 // limitations under the License.
 
 import 'dart:_internal' show JavaCall, LinkedHashMap;
+import 'dart:collection' show LinkedHashSet;
 
 @patch
 class Object {
@@ -70,6 +71,14 @@ class Map<K, V> {
   }
 }
 
+@patch
+class Set<E> {
+  @patch
+  factory Set() {
+    return new LinkedHashSet<E>();
+  }
+}
+
 @patch
 @JavaCall("java.lang.System.out.println")
 external void print(Object o);
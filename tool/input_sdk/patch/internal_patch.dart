@@ -20,3 +20,10 @@ library dart._internal;
 // file.
 part 'java_annotations.dart';
 part 'dart_map.dart';
+
+/// Throws a `ConcurrentModificationError` for [modifiedObject].
+///
+/// Dart objects cannot be thrown as Java exceptions yet, so the error is
+/// thrown by the runtime (like the one of for-in loops over lists).
+@JavaCall("dart._runtime.helpers.ForInHelper.throwConcurrentModificationError")
+external void throwConcurrentModificationError(Object modifiedObject);
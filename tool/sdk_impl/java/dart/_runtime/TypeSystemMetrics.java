@@ -0,0 +1,132 @@
+// Copyright 2016, the Dart project authors.
+// 
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+// 
+//     http://www.apache.org/licenses/LICENSE-2.0
+// 
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dart._runtime;
+
+import dart._runtime.types.simple.InterfaceTypeInfo;
+import dart._runtime.types.simple.TypeCaches;
+import dart._runtime.types.simple.TypeMetrics;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Reports the costs of the reified type system through JMX, under the name {@link #NAME}.
+ * <p>
+ * The MBean is registered automatically when metrics are enabled with the system property
+ * {@code dart2java.typeMetrics=true}. If it is registered with {@link #register()} while metrics
+ * are disabled, it reports nothing useful: the counters stay at zero, and the cache sizes are empty
+ * because {@link InterfaceTypeInfo}s are only recorded while metrics are enabled.
+ */
+public final class TypeSystemMetrics implements TypeSystemMetricsMXBean {
+  public static final String NAME = "dart._runtime:type=TypeSystemMetrics";
+
+  private static boolean registered = false;
+
+  private TypeSystemMetrics() {}
+
+  /**
+   * Registers the MBean with the platform MBean server, unless it is registered already.
+   */
+  public static synchronized void register() {
+    if (registered) {
+      return;
+    }
+    try {
+      ManagementFactory.getPlatformMBeanServer()
+          .registerMBean(new TypeSystemMetrics(), new ObjectName(NAME));
+      registered = true;
+    } catch (JMException e) {
+      throw new IllegalStateException("Cannot register " + NAME, e);
+    }
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return TypeMetrics.ENABLED;
+  }
+
+  @Override
+  public long getEvaluations() {
+    return TypeMetrics.evaluations();
+  }
+
+  @Override
+  public double getEvaluationHitRate() {
+    return hitRate(TypeMetrics.evaluations(), TypeMetrics.evaluationMisses());
+  }
+
+  @Override
+  public long getSubtypeChecks() {
+    return TypeMetrics.subtypeChecks();
+  }
+
+  @Override
+  public double getSubtypeCheckFastRate() {
+    return hitRate(TypeMetrics.subtypeChecks(), TypeMetrics.slowSubtypeChecks());
+  }
+
+  @Override
+  public long getChecks() {
+    return TypeMetrics.checks();
+  }
+
+  @Override
+  public long getCheckFailures() {
+    return TypeMetrics.checkFailures();
+  }
+
+  @Override
+  public long getCasts() {
+    return TypeMetrics.casts();
+  }
+
+  @Override
+  public long getCastFailures() {
+    return TypeMetrics.castFailures();
+  }
+
+  @Override
+  public int getLiveInterfaceTypes() {
+    return TypeCaches.liveInterfaceTypes();
+  }
+
+  @Override
+  public int getLiveFunctionTypes() {
+    return TypeCaches.liveFunctionTypes();
+  }
+
+  @Override
+  public Map<String, Integer> getInstantiationCacheSizes() {
+    Map<String, Integer> sizes = new TreeMap<>();
+    for (InterfaceTypeInfo info : TypeMetrics.infos()) {
+      if (info.typeVariables.length > 0) {
+        // Several declarations can share a name, e.g. in different class loaders
+        sizes.merge(info.fullName, TypeCaches.instantiationCount(info), Integer::sum);
+      }
+    }
+    return sizes;
+  }
+
+  @Override
+  public void reset() {
+    TypeMetrics.reset();
+  }
+
+  private static double hitRate(long calls, long misses) {
+    return calls == 0 ? 0 : (double) (calls - misses) / calls;
+  }
+}
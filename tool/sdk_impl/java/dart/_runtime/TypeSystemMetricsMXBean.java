@@ -0,0 +1,65 @@
+// Copyright 2016, the Dart project authors.
+// 
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+// 
+//     http://www.apache.org/licenses/LICENSE-2.0
+// 
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dart._runtime;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link TypeSystemMetrics}.
+ */
+public interface TypeSystemMetricsMXBean {
+  /**
+   * Returns true if the counters are updated (see {@link
+   * dart._runtime.types.simple.TypeMetrics#ENABLED}).
+   */
+  boolean isEnabled();
+
+  long getEvaluations();
+
+  /**
+   * Returns the fraction of evaluations whose result was cached, or 0 if there were none.
+   */
+  double getEvaluationHitRate();
+
+  long getSubtypeChecks();
+
+  /**
+   * Returns the fraction of subtype checks that were answered without searching the supertype
+   * graph, or 0 if there were none.
+   */
+  double getSubtypeCheckFastRate();
+
+  long getChecks();
+
+  long getCheckFailures();
+
+  long getCasts();
+
+  long getCastFailures();
+
+  int getLiveInterfaceTypes();
+
+  int getLiveFunctionTypes();
+
+  /**
+   * Returns the number of live instantiations of each generic class, keyed by class name.
+   */
+  Map<String, Integer> getInstantiationCacheSizes();
+
+  /**
+   * Resets all counters to zero.
+   */
+  void reset();
+}
@@ -17,6 +17,7 @@ package dart._runtime.base;
 import java.lang.reflect.Array;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
@@ -180,10 +181,9 @@ public class DartList<T>
     Type innerType = type.env.evaluate(
         dart.core.List.dart2java$typeInfo.typeVariables[0]);
 
-    // Create instance of correct specialization
-    // TODO(springerm): Specialization for bool
-    // TODO(springerm): Dispatch to specialized version at call site to avoid
-    // boxing
+    // Create instance of correct specialization. Literals with a primitive
+    // element type call the specialized factories below instead, unless the
+    // element type is a type variable.
     if (innerType == dart._runtime.helpers.IntegerHelper.type) {
       DartList__int instance = new DartList__int(type, elements.length);
 
@@ -218,11 +218,102 @@ public class DartList<T>
     }
   }
   
+  // Factories for list literals with a primitive element type. They do not box
+  // the elements. The elements of literals that consist of constants only are
+  // precomputed in a static array at the call site, which is shared by all
+  // lists created from the literal until they are modified (copy-on-write).
+
+  public static dart.core.List_interface__int specialfactory$fromArguments__int(
+      Type type, int... elements) {
+    if (elements.length == 0) {
+      return new DartList__int(type, 0);
+    }
+
+    // The varargs array is allocated at the call site for this list only
+    return new DartList__int(type, elements, false);
+  }
+
+  public static dart.core.List_interface__int specialfactory$fromConstants__int(
+      Type type, int[] elements) {
+    return new DartList__int(type, elements, true);
+  }
+
+  public static dart.core.List_interface__double specialfactory$fromArguments__double(
+      Type type, double... elements) {
+    if (elements.length == 0) {
+      return new DartList__double(type, 0);
+    }
+
+    // The varargs array is allocated at the call site for this list only
+    return new DartList__double(type, elements, false);
+  }
+
+  public static dart.core.List_interface__double specialfactory$fromConstants__double(
+      Type type, double[] elements) {
+    return new DartList__double(type, elements, true);
+  }
+
+  public static dart.core.List_interface__boolean specialfactory$fromArguments__boolean(
+      Type type, boolean... elements) {
+    if (elements.length == 0) {
+      return new DartList__boolean(type, 0);
+    }
+
+    // The varargs array is allocated at the call site for this list only
+    return new DartList__boolean(type, elements, false);
+  }
+
+  public static dart.core.List_interface__boolean specialfactory$fromConstants__boolean(
+      Type type, boolean[] elements) {
+    return new DartList__boolean(type, elements, true);
+  }
+
   private void increaseSize() {
     array = Arrays.copyOf(array, (int) (array.length * GROW_FACTOR) + 1, 
       genericArrayType);
   }
 
+  private void ensureCapacity(int capacity) {
+    if (capacity > array.length) {
+      array = Arrays.copyOf(array,
+          Math.max(capacity, (int) (array.length * GROW_FACTOR) + 1),
+          genericArrayType);
+    }
+  }
+
+  /**
+   * Copies the elements of {@code iterable} into a new array of exactly their length, whose
+   * component type is the element type of this list. Throws an {@link ArrayStoreException} if an
+   * element cannot be stored in this list.
+   */
+  private T[] toTypedArray(dart.core.Iterable_interface<?> iterable) {
+    if (iterable instanceof DartList) {
+      DartList<?> list = (DartList<?>) iterable;
+      return Arrays.copyOf(list.array, list.size, genericArrayType);
+    }
+
+    T[] result = (T[]) Array.newInstance(genericType, DEFAULT_SIZE);
+    int count = 0;
+    dart.core.Iterator_interface<?> iterator = iterable.getIterator_Iterable();
+    while (iterator.moveNext_Iterator()) {
+      if (count == result.length) {
+        result = Arrays.copyOf(result, (int) (result.length * GROW_FACTOR) + 1);
+      }
+      result[count++] = (T) iterator.getCurrent_Iterator();
+    }
+    return Arrays.copyOf(result, count);
+  }
+
+  /**
+   * Throws a RangeError unless {@code 0 <= start <= end <= length}.
+   */
+  static void checkRange(int start, int end, int length) {
+    if (start < 0 || start > end || end > length) {
+      // TODO(springerm): Dart exceptions
+      throw new RuntimeException("RangeError: out of bounds");
+    }
+  }
+
   private boolean isArrayFull() {
     return size == array.length;
   }
@@ -289,9 +380,15 @@ public class DartList<T>
     return add_List(value);
   }
 
-  // TODO(springerm): addAll
+  public void addAll_List(dart.core.Iterable_interface<T> iterable) {
+    insertAll_List(size, iterable);
+  }
+
+  public void addAll(dart.core.Iterable_interface<T> iterable) {
+    addAll_List(iterable);
+  }
+
   // TODO(springerm): reversed
-  // TODO(springerm): sort
   // TODO(springerm): shuffle
 
   public int indexOf_List(T element, int start) {
@@ -324,18 +421,43 @@ public class DartList<T>
       increaseSize();
     }
 
-    for (int i = size; i > index; i--) {
-      array[i] = array[i - 1];
-    }
-
+    System.arraycopy(array, index, array, index + 1, size - index);
     array[index] = element;
+    size++;
   }
 
   public void insert(int index, T element) {
     insert_List(index, element);
   }
 
-  // TODO(springerm): insertAll
+  public void insertAll_List(int index, dart.core.Iterable_interface<T> iterable) {
+    checkRange(index, index, size);
+
+    // The elements must be known to fit into this array before the tail is
+    // shifted, otherwise a failed store would leave the list corrupted.
+    Object[] elements;
+    int count;
+    if (iterable instanceof DartList && iterable != this
+        && genericArrayType.isInstance(((DartList<?>) iterable).array)) {
+      // Copy directly from the other backing array
+      DartList<?> other = (DartList<?>) iterable;
+      elements = other.array;
+      count = other.size;
+    } else {
+      elements = toTypedArray(iterable);
+      count = elements.length;
+    }
+
+    ensureCapacity(size + count);
+    System.arraycopy(array, index, array, index + count, size - index);
+    System.arraycopy(elements, 0, array, index, count);
+    size += count;
+  }
+
+  public void insertAll(int index, dart.core.Iterable_interface<T> iterable) {
+    insertAll_List(index, iterable);
+  }
+
   // TODO(springerm): setAll
 
   public boolean remove_List(Object value) {
@@ -400,17 +522,158 @@ public class DartList<T>
   // TODO(springerm): retainWhere
 
   public DartList<T> sublist_List(int start, int end) {
-    throw new RuntimeException("Not implemented yet.");
+    checkRange(start, end, size);
+
+    DartList<T> result = new DartList<T>(dart2java$getType(), genericType, end - start);
+    System.arraycopy(array, start, result.array, 0, end - start);
+    return result;
   }
 
   public DartList<T> sublist(int start, int end) {
     return sublist_List(start, end);
   }
 
-  // TODO(springerm): getRange
-  // TODO(springerm): setRange
-  // TODO(springerm): removeRange
-  // TODO(springerm): fillRange
+  public void sort_List() {
+    Arrays.sort(array, 0, size, Sorting.DART_COMPARE);
+  }
+
+  /**
+   * Sorts this list with a Java comparator. Like Dart's {@code sort} with a compare function, but
+   * only available to Java code until the compiler supports closures.
+   */
+  public void sort_List(Comparator<? super T> compare) {
+    Arrays.sort(array, 0, size, compare);
+  }
+
+  public void sort() {
+    sort_List();
+  }
+
+  @Override
+  public void sort(Comparator<? super T> compare) {
+    sort_List(compare);
+  }
+
+  /**
+   * Returns a view of the elements from {@code start} to {@code end}, which are read when the
+   * view is iterated. Like {@code skip(start).take(end - start)}, the view ends early if this
+   * list is shortened.
+   */
+  public dart.core.Iterable_interface<T> getRange_List(final int start, final int end) {
+    checkRange(start, end, size);
+    Type iterableType = dart2java$getType().env.evaluate(new InterfaceTypeExpr(
+      dart.core.Iterable.dart2java$typeInfo,
+      new TypeExpr[] { dart.core.List.dart2java$typeInfo.typeVariables[0] }));
+
+    return new dart.core.Iterable<T>(
+        (ConstructorHelper.EmptyConstructorMarker) null, iterableType) {
+      public dart.core.Iterator_interface<T> getIterator_Iterable() {
+        return getRangeIterator(start, end);
+      }
+
+      public dart.core.Iterator_interface<T> getIterator() {
+        return getIterator_Iterable();
+      }
+    };
+  }
+
+  private dart.core.Iterator_interface<T> getRangeIterator(final int start, final int end) {
+    Type iteratorType = dart2java$getType().env.evaluate(new InterfaceTypeExpr(
+      dart.core.Iterator.dart2java$typeInfo,
+      new TypeExpr[] { dart.core.List.dart2java$typeInfo.typeVariables[0] }));
+
+    return new dart.core.Iterator<T>(
+        (ConstructorHelper.EmptyConstructorMarker) null, iteratorType) {
+      int nextIndex = start - 1;
+
+      public boolean moveNext_Iterator() {
+        if (nextIndex < Math.min(end, size) - 1) {
+          nextIndex++;
+          return true;
+        } else {
+          return false;
+        }
+      }
+
+      public T getCurrent_Iterator() {
+        return (T) array[nextIndex];
+      }
+
+      public boolean moveNext() {
+        return moveNext_Iterator();
+      }
+
+      public T getCurrent() {
+        return getCurrent_Iterator();
+      }
+    };
+  }
+
+  public dart.core.Iterable_interface<T> getRange(int start, int end) {
+    return getRange_List(start, end);
+  }
+
+  public void setRange_List(int start, int end, dart.core.Iterable_interface<T> iterable,
+      int skipCount) {
+    checkRange(start, end, size);
+    if (skipCount < 0) {
+      // TODO(springerm): Dart exceptions
+      throw new RuntimeException("RangeError: out of bounds");
+    }
+
+    int count = end - start;
+    if (iterable instanceof DartList) {
+      // Copy directly from the other backing array. Overlapping ranges of
+      // this list are copied correctly.
+      DartList<?> other = (DartList<?>) iterable;
+      if (skipCount + count > other.size) {
+        // TODO(springerm): Dart exceptions
+        throw new RuntimeException("StateError: Too few elements");
+      }
+      System.arraycopy(other.array, skipCount, array, start, count);
+      return;
+    }
+
+    dart.core.Iterator_interface<T> iterator = iterable.getIterator_Iterable();
+    for (int i = -skipCount; i < count; i++) {
+      if (!iterator.moveNext_Iterator()) {
+        // TODO(springerm): Dart exceptions
+        throw new RuntimeException("StateError: Too few elements");
+      }
+      if (i >= 0) {
+        array[start + i] = iterator.getCurrent_Iterator();
+      }
+    }
+  }
+
+  public void setRange(int start, int end, dart.core.Iterable_interface<T> iterable,
+      int skipCount) {
+    setRange_List(start, end, iterable, skipCount);
+  }
+
+  public void removeRange_List(int start, int end) {
+    checkRange(start, end, size);
+
+    int oldSize = size;
+    System.arraycopy(array, end, array, start, size - end);
+    size -= end - start;
+    Arrays.fill(array, size, oldSize, null);
+  }
+
+  public void removeRange(int start, int end) {
+    removeRange_List(start, end);
+  }
+
+  public void fillRange_List(int start, int end, T fillValue) {
+    checkRange(start, end, size);
+
+    Arrays.fill(array, start, end, fillValue);
+  }
+
+  public void fillRange(int start, int end, T fillValue) {
+    fillRange_List(start, end, fillValue);
+  }
+
   // TODO(springerm): replaceRange
   // TODO(springerm): asMap
 
@@ -418,7 +681,7 @@ public class DartList<T>
   // --- Methods defined in Iterable ---
 
   public dart.core.Iterator_interface<T> getIterator_Iterable() {
-    Type iteratorType = dart2java$type.env.evaluate(new InterfaceTypeExpr(
+    Type iteratorType = dart2java$getType().env.evaluate(new InterfaceTypeExpr(
       dart.core.Iterator.dart2java$typeInfo, 
       new TypeExpr[] { dart.core.List.dart2java$typeInfo.typeVariables[0] }));
 
@@ -530,6 +793,7 @@ public class DartList<T>
   }
 
   public boolean addAll(Collection<? extends T> c) {
+    ensureCapacity(size + c.size());
     for (T element : c) {
       add(element);
     }
@@ -48,6 +48,12 @@ public class DartList__boolean
 
   boolean[] array;
 
+  /**
+   * Whether {@link #array} is shared with other lists, and must be copied before it is modified
+   * (see {@link DartList#specialfactory$fromConstants__boolean}).
+   */
+  boolean shared;
+
   public DartList__boolean(ConstructorHelper.EmptyConstructorMarker arg, Type type)
   {
     super(arg, type);
@@ -65,9 +71,54 @@ public class DartList__boolean
       this.size = parameterSize;
     }
   }
+
+  DartList__boolean(Type type, boolean[] array, boolean shared) {
+    super((ConstructorHelper.EmptyConstructorMarker) null, type);
+
+    this.array = array;
+    this.size = array.length;
+    this.shared = shared;
+  }
   
   private void increaseSize() {
     array = Arrays.copyOf(array, (int) (array.length * GROW_FACTOR) + 1);
+    shared = false;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity > array.length) {
+      array = Arrays.copyOf(array,
+          Math.max(capacity, (int) (array.length * GROW_FACTOR) + 1));
+      shared = false;
+    }
+  }
+
+  private void ensureWritable() {
+    if (shared) {
+      array = array.clone();
+      shared = false;
+    }
+  }
+
+  /**
+   * Copies the elements of {@code iterable} into a new array of exactly their length.
+   */
+  private static boolean[] toBooleanArray(dart.core.Iterable_interface__boolean iterable) {
+    if (iterable instanceof DartList__boolean) {
+      DartList__boolean list = (DartList__boolean) iterable;
+      return Arrays.copyOf(list.array, list.size);
+    }
+
+    boolean[] result = new boolean[DEFAULT_SIZE];
+    int count = 0;
+    dart.core.Iterator_interface__boolean iterator = iterable.getIterator_Iterable__boolean();
+    while (iterator.moveNext_Iterator__boolean()) {
+      if (count == result.length) {
+        result = Arrays.copyOf(result, (int) (result.length * GROW_FACTOR) + 1);
+      }
+      result[count++] = iterator.getCurrent_Iterator__boolean();
+    }
+    return Arrays.copyOf(result, count);
   }
 
   private boolean isArrayFull() {
@@ -90,6 +141,7 @@ public class DartList__boolean
       throw new RuntimeException("RangeError: out of bounds");
     }
 
+    ensureWritable();
     array[index] = value;
   }
 
@@ -101,6 +153,7 @@ public class DartList__boolean
     // TODO(springerm): Check semantics (null values)
     size = newLength;
     array = Arrays.copyOf(array, size);
+    shared = false;
   }
 
   public boolean add_List__boolean(boolean value) {
@@ -108,15 +161,18 @@ public class DartList__boolean
       increaseSize();
     }
 
+    ensureWritable();
     array[size] = value;
     size++;
 
     return true;
   }
 
-  // TODO(springerm): addAll
+  public void addAll_List__boolean(dart.core.Iterable_interface__boolean iterable) {
+    insertAll_List__boolean(size, iterable);
+  }
+
   // TODO(springerm): reversed
-  // TODO(springerm): sort
   // TODO(springerm): shuffle
 
   public int indexOf_List__boolean(boolean element, int start) {
@@ -134,6 +190,7 @@ public class DartList__boolean
   public void clear_List__boolean() {
     size = 0;
     array = new boolean[DEFAULT_SIZE];
+    shared = false;
   }
 
 
@@ -142,14 +199,34 @@ public class DartList__boolean
       increaseSize();
     }
 
-    for (int i = size; i > index; i--) {
-      array[i] = array[i - 1];
+    ensureWritable();
+    System.arraycopy(array, index, array, index + 1, size - index);
+    array[index] = element;
+    size++;
+  }
+
+  public void insertAll_List__boolean(int index, dart.core.Iterable_interface__boolean iterable) {
+    DartList.checkRange(index, index, size);
+
+    boolean[] elements;
+    int count;
+    if (iterable instanceof DartList__boolean && iterable != this) {
+      // Same specialization: copy directly from the other backing array
+      DartList__boolean other = (DartList__boolean) iterable;
+      elements = other.array;
+      count = other.size;
+    } else {
+      elements = toBooleanArray(iterable);
+      count = elements.length;
     }
 
-    array[index] = element;
+    ensureCapacity(size + count);
+    ensureWritable();
+    System.arraycopy(array, index, array, index + count, size - index);
+    System.arraycopy(elements, 0, array, index, count);
+    size += count;
   }
 
-  // TODO(springerm): insertAll
   // TODO(springerm): setAll
 
   // Must be boxed Boolean here
@@ -172,6 +249,7 @@ public class DartList__boolean
 
     // shift
     if (found) {
+      ensureWritable();
       for ( ; index < size - 1; index++) {
         array[index] = array[index + 1];
       }
@@ -184,6 +262,7 @@ public class DartList__boolean
   }
 
   public boolean removeAt_List__boolean(int index) {
+    ensureWritable();
     boolean element = operatorAt_List__boolean(index);
 
     for (int i = index; i < size - 1; i++) {
@@ -197,6 +276,7 @@ public class DartList__boolean
   }
 
   public boolean removeLast_List__boolean() {
+    ensureWritable();
     boolean element = array[size - 1];
     array[size - 1] = false;
 
@@ -205,16 +285,130 @@ public class DartList__boolean
   }
 
   public dart.core.List_interface__boolean sublist_List__boolean(int start, int end) {
-    throw new RuntimeException("Not implemented yet.");
+    DartList.checkRange(start, end, size);
+
+    DartList__boolean result = new DartList__boolean(dart2java$getType(), end - start);
+    System.arraycopy(array, start, result.array, 0, end - start);
+    return result;
+  }
+
+  public void sort_List__boolean() {
+    ensureWritable();
+    if (size > 1) {
+      // bool does not implement Comparable.
+      throw new RuntimeException("TypeError: bool is not a subtype of Comparable");
+    }
+  }
+
+  /**
+   * Sorts this list with a comparator on unboxed bools. Like Dart's {@code sort} with a compare
+   * function, but only available to Java code until the compiler supports closures.
+   */
+  public void sort_List__boolean(BoolComparator compare) {
+    ensureWritable();
+    Sorting.sort(array, 0, size, compare);
   }
 
   // TODO(springerm): removeWhere
   // TODO(springerm): retainWhere
-  // TODO(springerm): sublist
-  // TODO(springerm): getRange
-  // TODO(springerm): setRange
-  // TODO(springerm): removeRange
-  // TODO(springerm): fillRange
+
+  /**
+   * Returns a view of the elements from {@code start} to {@code end}, which are read when the
+   * view is iterated. Like {@code skip(start).take(end - start)}, the view ends early if this
+   * list is shortened.
+   */
+  public dart.core.Iterable_interface__boolean getRange_List__boolean(
+      final int start, final int end) {
+    DartList.checkRange(start, end, size);
+    Type iterableType = dart2java$getType().env.evaluate(new InterfaceTypeExpr(
+      dart.core.Iterable.dart2java$typeInfo,
+      new TypeExpr[] { dart.core.List.dart2java$typeInfo.typeVariables[0] }));
+
+    return new dart.core.Iterable__boolean(
+        (ConstructorHelper.EmptyConstructorMarker) null, iterableType) {
+      public dart.core.Iterator_interface__boolean getIterator_Iterable__boolean() {
+        return getRangeIterator(start, end);
+      }
+
+      public dart.core.Iterator_interface__boolean getIterator_Iterable() {
+        return getRangeIterator(start, end);
+      }
+    };
+  }
+
+  private dart.core.Iterator_interface__boolean getRangeIterator(final int start, final int end) {
+    Type iteratorType = dart2java$getType().env.evaluate(new InterfaceTypeExpr(
+      dart.core.Iterator.dart2java$typeInfo,
+      new TypeExpr[] { dart.core.List.dart2java$typeInfo.typeVariables[0] }));
+
+    return new dart.core.Iterator__boolean(
+        (ConstructorHelper.EmptyConstructorMarker) null, iteratorType) {
+      int nextIndex = start - 1;
+
+      public boolean moveNext_Iterator__boolean() {
+        if (nextIndex < Math.min(end, size) - 1) {
+          nextIndex++;
+          return true;
+        } else {
+          return false;
+        }
+      }
+
+      public boolean getCurrent_Iterator__boolean() {
+        return array[nextIndex];
+      }
+    };
+  }
+
+  public void setRange_List__boolean(int start, int end, dart.core.Iterable_interface__boolean iterable,
+      int skipCount) {
+    DartList.checkRange(start, end, size);
+    if (skipCount < 0) {
+      // TODO(springerm): Dart exceptions
+      throw new RuntimeException("RangeError: out of bounds");
+    }
+
+    int count = end - start;
+    ensureWritable();
+    if (iterable instanceof DartList__boolean) {
+      // Same specialization: copy directly from the other backing array.
+      // Overlapping ranges of this list are copied correctly.
+      DartList__boolean other = (DartList__boolean) iterable;
+      if (skipCount + count > other.size) {
+        // TODO(springerm): Dart exceptions
+        throw new RuntimeException("StateError: Too few elements");
+      }
+      System.arraycopy(other.array, skipCount, array, start, count);
+      return;
+    }
+
+    dart.core.Iterator_interface__boolean iterator = iterable.getIterator_Iterable__boolean();
+    for (int i = -skipCount; i < count; i++) {
+      if (!iterator.moveNext_Iterator__boolean()) {
+        // TODO(springerm): Dart exceptions
+        throw new RuntimeException("StateError: Too few elements");
+      }
+      if (i >= 0) {
+        array[start + i] = iterator.getCurrent_Iterator__boolean();
+      }
+    }
+  }
+
+  public void removeRange_List__boolean(int start, int end) {
+    DartList.checkRange(start, end, size);
+    ensureWritable();
+
+    System.arraycopy(array, end, array, start, size - end);
+    size -= end - start;
+  }
+
+  public void fillRange_List__boolean(int start, int end, boolean fillValue) {
+    DartList.checkRange(start, end, size);
+    ensureWritable();
+
+    Arrays.fill(array, start, end, fillValue);
+  }
+
   // TODO(springerm): replaceRange
   // TODO(springerm): asMap
 
@@ -225,7 +419,7 @@ public class DartList__boolean
   }
 
   public dart.core.Iterator_interface__boolean getIterator_Iterable__boolean() {
-    Type iteratorType = dart2java$type.env.evaluate(new InterfaceTypeExpr(
+    Type iteratorType = dart2java$getType().env.evaluate(new InterfaceTypeExpr(
       dart.core.Iterator.dart2java$typeInfo, 
       new TypeExpr[] { dart.core.List.dart2java$typeInfo.typeVariables[0] }));
 
@@ -345,6 +539,12 @@ public class DartList__boolean
   }
 
   public boolean addAll(Collection<? extends Boolean> c) {
+    if (c instanceof DartList__boolean) {
+      addAll_List__boolean((DartList__boolean) c);
+      return true;
+    }
+
+    ensureCapacity(size + c.size());
     for (Boolean element : c) {
       add(element);
     }
@@ -529,4 +729,41 @@ public class DartList__boolean
   {
     return this.sublist_List__boolean(start, end);
   }
+
+  public void addAll(dart.core.Iterable_interface__boolean iterable)
+  {
+    this.addAll_List__boolean(iterable);
+  }
+
+  public void insertAll(int index, dart.core.Iterable_interface__boolean iterable)
+  {
+    this.insertAll_List__boolean(index, iterable);
+  }
+
+  public dart.core.Iterable_interface__boolean getRange(int start, int end)
+  {
+    return this.getRange_List__boolean(start, end);
+  }
+
+  public void setRange(int start, int end, dart.core.Iterable_interface__boolean iterable,
+      int skipCount)
+  {
+    this.setRange_List__boolean(start, end, iterable, skipCount);
+  }
+
+  public void removeRange(int start, int end)
+  {
+    this.removeRange_List__boolean(start, end);
+  }
+
+  public void fillRange(int start, int end, java.lang.Boolean fillValue)
+  {
+    // Dart fills the range with null, which this list stores as false
+    this.fillRange_List__boolean(start, end, fillValue == null ? false : fillValue);
+  }
+
+  public void sort()
+  {
+    this.sort_List__boolean();
+  }
 }
\ No newline at end of file
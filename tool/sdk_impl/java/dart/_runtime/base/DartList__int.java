@@ -48,6 +48,12 @@ public class DartList__int
 
   int[] array;
 
+  /**
+   * Whether {@link #array} is shared with other lists, and must be copied before it is modified
+   * (see {@link DartList#specialfactory$fromConstants__int}).
+   */
+  boolean shared;
+
   public DartList__int(ConstructorHelper.EmptyConstructorMarker arg, Type type)
   {
     super(arg, type);
@@ -65,9 +71,54 @@ public class DartList__int
       this.size = parameterSize;
     }
   }
+
+  DartList__int(Type type, int[] array, boolean shared) {
+    super((ConstructorHelper.EmptyConstructorMarker) null, type);
+
+    this.array = array;
+    this.size = array.length;
+    this.shared = shared;
+  }
   
   private void increaseSize() {
     array = Arrays.copyOf(array, (int) (array.length * GROW_FACTOR) + 1);
+    shared = false;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity > array.length) {
+      array = Arrays.copyOf(array,
+          Math.max(capacity, (int) (array.length * GROW_FACTOR) + 1));
+      shared = false;
+    }
+  }
+
+  private void ensureWritable() {
+    if (shared) {
+      array = array.clone();
+      shared = false;
+    }
+  }
+
+  /**
+   * Copies the elements of {@code iterable} into a new array of exactly their length.
+   */
+  private static int[] toIntArray(dart.core.Iterable_interface__int iterable) {
+    if (iterable instanceof DartList__int) {
+      DartList__int list = (DartList__int) iterable;
+      return Arrays.copyOf(list.array, list.size);
+    }
+
+    int[] result = new int[DEFAULT_SIZE];
+    int count = 0;
+    dart.core.Iterator_interface__int iterator = iterable.getIterator_Iterable__int();
+    while (iterator.moveNext_Iterator__int()) {
+      if (count == result.length) {
+        result = Arrays.copyOf(result, (int) (result.length * GROW_FACTOR) + 1);
+      }
+      result[count++] = iterator.getCurrent_Iterator__int();
+    }
+    return Arrays.copyOf(result, count);
   }
 
   private boolean isArrayFull() {
@@ -90,6 +141,7 @@ public class DartList__int
       throw new RuntimeException("RangeError: out of bounds");
     }
 
+    ensureWritable();
     array[index] = value;
   }
 
@@ -101,6 +153,7 @@ public class DartList__int
     // TODO(springerm): Check semantics (null values)
     size = newLength;
     array = Arrays.copyOf(array, size);
+    shared = false;
   }
 
   public boolean add_List__int(int value) {
@@ -108,15 +161,18 @@ public class DartList__int
       increaseSize();
     }
 
+    ensureWritable();
     array[size] = value;
     size++;
 
     return true;
   }
 
-  // TODO(springerm): addAll
+  public void addAll_List__int(dart.core.Iterable_interface__int iterable) {
+    insertAll_List__int(size, iterable);
+  }
+
   // TODO(springerm): reversed
-  // TODO(springerm): sort
   // TODO(springerm): shuffle
 
   public int indexOf_List__int(int element, int start) {
@@ -134,6 +190,7 @@ public class DartList__int
   public void clear_List__int() {
     size = 0;
     array = new int[DEFAULT_SIZE];
+    shared = false;
   }
 
 
@@ -142,14 +199,34 @@ public class DartList__int
       increaseSize();
     }
 
-    for (int i = size; i > index; i--) {
-      array[i] = array[i - 1];
+    ensureWritable();
+    System.arraycopy(array, index, array, index + 1, size - index);
+    array[index] = element;
+    size++;
+  }
+
+  public void insertAll_List__int(int index, dart.core.Iterable_interface__int iterable) {
+    DartList.checkRange(index, index, size);
+
+    int[] elements;
+    int count;
+    if (iterable instanceof DartList__int && iterable != this) {
+      // Same specialization: copy directly from the other backing array
+      DartList__int other = (DartList__int) iterable;
+      elements = other.array;
+      count = other.size;
+    } else {
+      elements = toIntArray(iterable);
+      count = elements.length;
     }
 
-    array[index] = element;
+    ensureCapacity(size + count);
+    ensureWritable();
+    System.arraycopy(array, index, array, index + count, size - index);
+    System.arraycopy(elements, 0, array, index, count);
+    size += count;
   }
 
-  // TODO(springerm): insertAll
   // TODO(springerm): setAll
 
   // Must be boxed integer here
@@ -172,6 +249,7 @@ public class DartList__int
 
     // shift
     if (found) {
+      ensureWritable();
       for ( ; index < size - 1; index++) {
         array[index] = array[index + 1];
       }
@@ -184,6 +262,7 @@ public class DartList__int
   }
 
   public int removeAt_List__int(int index) {
+    ensureWritable();
     int element = operatorAt_List__int(index);
 
     for (int i = index; i < size - 1; i++) {
@@ -197,6 +276,7 @@ public class DartList__int
   }
 
   public int removeLast_List__int() {
+    ensureWritable();
     int element = array[size - 1];
     array[size - 1] = 0;
 
@@ -205,16 +285,126 @@ public class DartList__int
   }
 
   public dart.core.List_interface__int sublist_List__int(int start, int end) {
-    throw new RuntimeException("Not implemented yet.");
+    DartList.checkRange(start, end, size);
+
+    DartList__int result = new DartList__int(dart2java$getType(), end - start);
+    System.arraycopy(array, start, result.array, 0, end - start);
+    return result;
+  }
+
+  public void sort_List__int() {
+    ensureWritable();
+    Arrays.sort(array, 0, size);
+  }
+
+  /**
+   * Sorts this list with a comparator on unboxed ints. Like Dart's {@code sort} with a compare
+   * function, but only available to Java code until the compiler supports closures.
+   */
+  public void sort_List__int(IntComparator compare) {
+    ensureWritable();
+    Sorting.sort(array, 0, size, compare);
   }
 
   // TODO(springerm): removeWhere
   // TODO(springerm): retainWhere
-  // TODO(springerm): sublist
-  // TODO(springerm): getRange
-  // TODO(springerm): setRange
-  // TODO(springerm): removeRange
-  // TODO(springerm): fillRange
+
+  /**
+   * Returns a view of the elements from {@code start} to {@code end}, which are read when the
+   * view is iterated. Like {@code skip(start).take(end - start)}, the view ends early if this
+   * list is shortened.
+   */
+  public dart.core.Iterable_interface__int getRange_List__int(final int start, final int end) {
+    DartList.checkRange(start, end, size);
+    Type iterableType = dart2java$getType().env.evaluate(new InterfaceTypeExpr(
+      dart.core.Iterable.dart2java$typeInfo,
+      new TypeExpr[] { dart.core.List.dart2java$typeInfo.typeVariables[0] }));
+
+    return new dart.core.Iterable__int(
+        (ConstructorHelper.EmptyConstructorMarker) null, iterableType) {
+      public dart.core.Iterator_interface__int getIterator_Iterable__int() {
+        return getRangeIterator(start, end);
+      }
+
+      public dart.core.Iterator_interface__int getIterator_Iterable() {
+        return getRangeIterator(start, end);
+      }
+    };
+  }
+
+  private dart.core.Iterator_interface__int getRangeIterator(final int start, final int end) {
+    Type iteratorType = dart2java$getType().env.evaluate(new InterfaceTypeExpr(
+      dart.core.Iterator.dart2java$typeInfo,
+      new TypeExpr[] { dart.core.List.dart2java$typeInfo.typeVariables[0] }));
+
+    return new dart.core.Iterator__int(
+        (ConstructorHelper.EmptyConstructorMarker) null, iteratorType) {
+      int nextIndex = start - 1;
+
+      public boolean moveNext_Iterator__int() {
+        if (nextIndex < Math.min(end, size) - 1) {
+          nextIndex++;
+          return true;
+        } else {
+          return false;
+        }
+      }
+
+      public int getCurrent_Iterator__int() {
+        return array[nextIndex];
+      }
+    };
+  }
+
+  public void setRange_List__int(int start, int end, dart.core.Iterable_interface__int iterable,
+      int skipCount) {
+    DartList.checkRange(start, end, size);
+    if (skipCount < 0) {
+      // TODO(springerm): Dart exceptions
+      throw new RuntimeException("RangeError: out of bounds");
+    }
+
+    int count = end - start;
+    ensureWritable();
+    if (iterable instanceof DartList__int) {
+      // Same specialization: copy directly from the other backing array.
+      // Overlapping ranges of this list are copied correctly.
+      DartList__int other = (DartList__int) iterable;
+      if (skipCount + count > other.size) {
+        // TODO(springerm): Dart exceptions
+        throw new RuntimeException("StateError: Too few elements");
+      }
+      System.arraycopy(other.array, skipCount, array, start, count);
+      return;
+    }
+
+    dart.core.Iterator_interface__int iterator = iterable.getIterator_Iterable__int();
+    for (int i = -skipCount; i < count; i++) {
+      if (!iterator.moveNext_Iterator__int()) {
+        // TODO(springerm): Dart exceptions
+        throw new RuntimeException("StateError: Too few elements");
+      }
+      if (i >= 0) {
+        array[start + i] = iterator.getCurrent_Iterator__int();
+      }
+    }
+  }
+
+  public void removeRange_List__int(int start, int end) {
+    DartList.checkRange(start, end, size);
+    ensureWritable();
+
+    System.arraycopy(array, end, array, start, size - end);
+    size -= end - start;
+  }
+
+  public void fillRange_List__int(int start, int end, int fillValue) {
+    DartList.checkRange(start, end, size);
+    ensureWritable();
+
+    Arrays.fill(array, start, end, fillValue);
+  }
+
   // TODO(springerm): replaceRange
   // TODO(springerm): asMap
 
@@ -225,7 +415,7 @@ public class DartList__int
   }
 
   public dart.core.Iterator_interface__int getIterator_Iterable__int() {
-    Type iteratorType = dart2java$type.env.evaluate(new InterfaceTypeExpr(
+    Type iteratorType = dart2java$getType().env.evaluate(new InterfaceTypeExpr(
       dart.core.Iterator.dart2java$typeInfo, 
       new TypeExpr[] { dart.core.List.dart2java$typeInfo.typeVariables[0] }));
 
@@ -346,6 +536,12 @@ public class DartList__int
   }
 
   public boolean addAll(Collection<? extends Integer> c) {
+    if (c instanceof DartList__int) {
+      addAll_List__int((DartList__int) c);
+      return true;
+    }
+
+    ensureCapacity(size + c.size());
     for (Integer element : c) {
       add(element);
     }
@@ -538,4 +734,41 @@ public class DartList__int
   {
     return this.sublist_List__int(start, end);
   }
+
+  public void addAll(dart.core.Iterable_interface__int iterable)
+  {
+    this.addAll_List__int(iterable);
+  }
+
+  public void insertAll(int index, dart.core.Iterable_interface__int iterable)
+  {
+    this.insertAll_List__int(index, iterable);
+  }
+
+  public dart.core.Iterable_interface__int getRange(int start, int end)
+  {
+    return this.getRange_List__int(start, end);
+  }
+
+  public void setRange(int start, int end, dart.core.Iterable_interface__int iterable,
+      int skipCount)
+  {
+    this.setRange_List__int(start, end, iterable, skipCount);
+  }
+
+  public void removeRange(int start, int end)
+  {
+    this.removeRange_List__int(start, end);
+  }
+
+  public void fillRange(int start, int end, java.lang.Integer fillValue)
+  {
+    // Dart fills the range with null, which this list stores as 0
+    this.fillRange_List__int(start, end, fillValue == null ? 0 : fillValue);
+  }
+
+  public void sort()
+  {
+    this.sort_List__int();
+  }
 }
\ No newline at end of file
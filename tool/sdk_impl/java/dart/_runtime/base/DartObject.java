@@ -22,8 +22,6 @@ import dart._runtime.types.simple.Type;
 import dart._runtime.types.simple.TypeEnvironment;
 
 public class DartObject implements DartObject_interface {
-  public final InterfaceType dart2java$type;
-
   private static final InterfaceType objectType =
       TypeEnvironment.ROOT.evaluate(new InterfaceTypeExpr(ObjectHelper.dart2java$typeInfo));
 
@@ -38,8 +36,8 @@ public class DartObject implements DartObject_interface {
   }
 
   public DartObject(@SuppressWarnings("unused") ConstructorHelper.EmptyConstructorMarker marker,
-      Type type) {
-    this.dart2java$type = (InterfaceType) type;
+      @SuppressWarnings("unused") Type type) {
+    // Subclasses store the type if they need to, see dart2java$getType
   }
 
   public static DartObject_interface _new_Object$(Type type) {
@@ -50,6 +48,26 @@ public class DartObject implements DartObject_interface {
 
   }
 
+  /**
+   * Returns the runtime type of this object.
+   * <p>
+   * Every compiled Dart class overrides this method. Instances of generic classes store their type
+   * in a field, whereas non-generic classes return the type of the class, which is the same for
+   * all instances.
+   */
+  public InterfaceType dart2java$getType() {
+    return objectType;
+  }
+
+  /**
+   * Returns the id of the class of this object, as assigned by the compiler in
+   * closed-world mode, or 0 if the class has no id. Generated selector classes
+   * switch on this id to dispatch dynamic invocations.
+   */
+  public int dart2java$classId() {
+    return 0;
+  }
+
   @Override
   public int getHashCode() {
     return this.hashCode();
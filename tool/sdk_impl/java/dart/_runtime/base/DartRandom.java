@@ -49,6 +49,11 @@ public class DartRandom extends dart.math.Random {
     rnd = new SecureRandom();
   }
 
+  @Override
+  public InterfaceType dart2java$getType() {
+    return thisType;
+  }
+
   @Override
   public int nextInt(int max) {
     return rnd.nextInt(max);
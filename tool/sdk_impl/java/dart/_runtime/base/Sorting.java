@@ -0,0 +1,185 @@
+// Copyright 2016, the Dart project authors.
+// 
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+// 
+//     http://www.apache.org/licenses/LICENSE-2.0
+// 
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dart._runtime.base;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Sorting algorithms for the backing arrays of {@link DartList} and its specializations.
+ * <p>
+ * Without a comparator, primitive arrays are sorted with {@link Arrays#sort(int[], int, int)},
+ * which is a dual-pivot quicksort, and object arrays with a TimSort that compares elements with
+ * their Dart {@code compareTo} method. With a comparator, primitive arrays (including the
+ * {@code boolean[]} of bool lists, which cannot be sorted without one) are sorted with a stable
+ * merge sort that calls the comparator on unboxed values.
+ */
+final class Sorting {
+  /**
+   * Ranges shorter than this are sorted with insertion sort.
+   */
+  private static final int INSERTION_SORT_THRESHOLD = 7;
+
+  /**
+   * Compares two objects with their Dart {@code compareTo} method, like Dart's
+   * {@code Comparable.compare}.
+   */
+  static final Comparator<Object> DART_COMPARE = new Comparator<Object>() {
+    @Override
+    public int compare(Object a, Object b) {
+      return (Integer) dart._runtime.helpers.DynamicHelper.invoke1("compareTo", a, b);
+    }
+  };
+
+  private Sorting() {}
+
+  static void sort(int[] a, int from, int to, IntComparator c) {
+    int[] aux = Arrays.copyOfRange(a, from, to);
+    mergeSort(aux, a, from, to, -from, c);
+  }
+
+  static void sort(double[] a, int from, int to, DoubleComparator c) {
+    double[] aux = Arrays.copyOfRange(a, from, to);
+    mergeSort(aux, a, from, to, -from, c);
+  }
+
+  static void sort(boolean[] a, int from, int to, BoolComparator c) {
+    boolean[] aux = Arrays.copyOfRange(a, from, to);
+    mergeSort(aux, a, from, to, -from, c);
+  }
+
+  /**
+   * Sorts {@code dest[low, high)}, using {@code src[low + off, high + off)} (which must contain
+   * the same elements) as scratch space.
+   */
+  private static void mergeSort(int[] src, int[] dest, int low, int high, int off,
+      IntComparator c) {
+    int length = high - low;
+    if (length < INSERTION_SORT_THRESHOLD) {
+      for (int i = low + 1; i < high; i++) {
+        int x = dest[i];
+        int j = i;
+        for (; j > low && c.compare(dest[j - 1], x) > 0; j--) {
+          dest[j] = dest[j - 1];
+        }
+        dest[j] = x;
+      }
+      return;
+    }
+
+    // Sort both halves of src, using dest as scratch space
+    int destLow = low;
+    int destHigh = high;
+    low += off;
+    high += off;
+    int mid = (low + high) >>> 1;
+    mergeSort(dest, src, low, mid, -off, c);
+    mergeSort(dest, src, mid, high, -off, c);
+
+    // The halves are already in order
+    if (c.compare(src[mid - 1], src[mid]) <= 0) {
+      System.arraycopy(src, low, dest, destLow, length);
+      return;
+    }
+
+    for (int i = destLow, p = low, q = mid; i < destHigh; i++) {
+      if (q >= high || p < mid && c.compare(src[p], src[q]) <= 0) {
+        dest[i] = src[p++];
+      } else {
+        dest[i] = src[q++];
+      }
+    }
+  }
+
+  /**
+   * Like {@link #mergeSort(int[], int[], int, int, int, IntComparator)}, for doubles.
+   */
+  private static void mergeSort(double[] src, double[] dest, int low, int high, int off,
+      DoubleComparator c) {
+    int length = high - low;
+    if (length < INSERTION_SORT_THRESHOLD) {
+      for (int i = low + 1; i < high; i++) {
+        double x = dest[i];
+        int j = i;
+        for (; j > low && c.compare(dest[j - 1], x) > 0; j--) {
+          dest[j] = dest[j - 1];
+        }
+        dest[j] = x;
+      }
+      return;
+    }
+
+    int destLow = low;
+    int destHigh = high;
+    low += off;
+    high += off;
+    int mid = (low + high) >>> 1;
+    mergeSort(dest, src, low, mid, -off, c);
+    mergeSort(dest, src, mid, high, -off, c);
+
+    if (c.compare(src[mid - 1], src[mid]) <= 0) {
+      System.arraycopy(src, low, dest, destLow, length);
+      return;
+    }
+
+    for (int i = destLow, p = low, q = mid; i < destHigh; i++) {
+      if (q >= high || p < mid && c.compare(src[p], src[q]) <= 0) {
+        dest[i] = src[p++];
+      } else {
+        dest[i] = src[q++];
+      }
+    }
+  }
+
+  /**
+   * Like {@link #mergeSort(int[], int[], int, int, int, IntComparator)}, for bools.
+   */
+  private static void mergeSort(boolean[] src, boolean[] dest, int low, int high, int off,
+      BoolComparator c) {
+    int length = high - low;
+    if (length < INSERTION_SORT_THRESHOLD) {
+      for (int i = low + 1; i < high; i++) {
+        boolean x = dest[i];
+        int j = i;
+        for (; j > low && c.compare(dest[j - 1], x) > 0; j--) {
+          dest[j] = dest[j - 1];
+        }
+        dest[j] = x;
+      }
+      return;
+    }
+
+    int destLow = low;
+    int destHigh = high;
+    low += off;
+    high += off;
+    int mid = (low + high) >>> 1;
+    mergeSort(dest, src, low, mid, -off, c);
+    mergeSort(dest, src, mid, high, -off, c);
+
+    if (c.compare(src[mid - 1], src[mid]) <= 0) {
+      System.arraycopy(src, low, dest, destLow, length);
+      return;
+    }
+
+    for (int i = destLow, p = low, q = mid; i < destHigh; i++) {
+      if (q >= high || p < mid && c.compare(src[p], src[q]) <= 0) {
+        dest[i] = src[p++];
+      } else {
+        dest[i] = src[q++];
+      }
+    }
+  }
+}
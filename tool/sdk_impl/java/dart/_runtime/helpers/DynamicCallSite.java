@@ -0,0 +1,367 @@
+// Copyright 2016, the Dart project authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dart._runtime.helpers;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A call site for a dynamic method invocation with a polymorphic inline cache.
+ * <p>
+ * The target of the call site is a chain of guarded {@link MethodHandle}s, one
+ * per receiver class seen so far, ending in a fallback that resolves the
+ * method through {@link DynamicHelper} and extends the chain. Once more than
+ * {@link #MAX_POLYMORPHIC_DEPTH} receiver classes were seen, the call site is
+ * considered megamorphic and dispatches through {@link DynamicHelper#invoke}.
+ * <p>
+ * Bytecode generators can bind {@code invokedynamic} instructions to
+ * {@link #bootstrap}. Java source code cannot express {@code invokedynamic},
+ * so the compiler stores the invoker of every call site (see {@link #invoker}
+ * and {@link #spreadInvoker}) in a {@code static final} field of the calling
+ * class and passes it to one of the static {@code invoke} methods:
+ * {@code invoke0} to {@code invoke4} for call sites with a fixed number of
+ * arguments (with int/double variants for primitive arguments), and
+ * {@link #invoke} otherwise. The variant must match the argument types that
+ * the call site was created with. Once an {@code invoke} method is inlined
+ * into its caller, the invoker is a constant, so the JIT can inline the
+ * current target of the call site (and deoptimizes if the target changes).
+ */
+public final class DynamicCallSite extends MutableCallSite {
+  /**
+   * Maximum number of receiver classes in the inline cache.
+   */
+  static final int MAX_POLYMORPHIC_DEPTH = 4;
+
+  /**
+   * Maximum number of arguments for which there is an {@code invokeN} method.
+   */
+  static final int MAX_FIXED_ARITY = 4;
+
+  /**
+   * Maximum number of arguments for which there are {@code int} and
+   * {@code double} variants of {@code invokeN}.
+   */
+  static final int MAX_PRIMITIVE_ARITY = 2;
+
+  private static final MethodHandle MISS;
+  private static final MethodHandle CHECK_CLASS;
+  private static final MethodHandle INVOKE_MEGAMORPHIC;
+
+  /**
+   * The {@code DynamicHelper.invokeN} overloads, by the type of the call sites
+   * that they can serve.
+   */
+  private static final Map<MethodType, MethodHandle> INVOKE_FIXED_ARITY =
+    new HashMap<>();
+
+  static {
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      MISS = lookup.findVirtual(DynamicCallSite.class, "miss",
+        MethodType.methodType(Object.class, Object[].class));
+      CHECK_CLASS = lookup.findStatic(DynamicCallSite.class, "checkClass",
+        MethodType.methodType(boolean.class, Class.class, Object.class));
+      INVOKE_MEGAMORPHIC = lookup.findStatic(DynamicHelper.class, "invoke",
+        MethodType.methodType(Object.class, String.class, Object[].class))
+        .asFixedArity();
+
+      for (int i = 0; i <= MAX_FIXED_ARITY; i++) {
+        addFixedArityInvoke(lookup, MethodType.genericMethodType(i + 1));
+      }
+      for (Class<?> primitive : new Class<?>[] { int.class, double.class }) {
+        for (int i = 1; i <= MAX_PRIMITIVE_ARITY; i++) {
+          Class<?>[] argumentTypes = new Class<?>[i];
+          Arrays.fill(argumentTypes, primitive);
+          addFixedArityInvoke(lookup, makeType(argumentTypes));
+        }
+      }
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private static void addFixedArityInvoke(MethodHandles.Lookup lookup,
+      MethodType type) throws ReflectiveOperationException {
+    INVOKE_FIXED_ARITY.put(type, lookup.findStatic(DynamicHelper.class,
+      "invoke" + (type.parameterCount() - 1),
+      type.insertParameterTypes(0, String.class)));
+  }
+
+  private final String methodName;
+  private int depth = 0;
+
+  private DynamicCallSite(String methodName, MethodType type) {
+    super(type);
+    this.methodName = methodName;
+    setTarget(collectArguments(MISS.bindTo(this)));
+  }
+
+  private static MethodType makeType(Class<?>... argumentTypes) {
+    return MethodType.methodType(Object.class, argumentTypes)
+      .insertParameterTypes(0, Object.class);
+  }
+
+  /**
+   * Creates a call site for invoking {@code methodName} with
+   * {@code argumentCount} arguments (not counting the receiver), and returns
+   * its invoker, for use with {@code invoke0} to {@code invoke4}.
+   */
+  public static MethodHandle invoker(String methodName, int argumentCount) {
+    return new DynamicCallSite(
+      methodName, MethodType.genericMethodType(argumentCount + 1))
+      .dynamicInvoker();
+  }
+
+  /**
+   * Creates a call site for invoking {@code methodName} with arguments of the
+   * given (Java) types, not counting the receiver, and returns its invoker,
+   * for use with the primitive variants of {@code invoke1} and
+   * {@code invoke2}.
+   */
+  public static MethodHandle invoker(String methodName,
+      Class<?>... argumentTypes) {
+    return new DynamicCallSite(methodName, makeType(argumentTypes))
+      .dynamicInvoker();
+  }
+
+  /**
+   * Creates a call site for invoking {@code methodName} with
+   * {@code argumentCount} arguments (not counting the receiver), and returns
+   * an invoker that takes the receiver and the arguments as an array, for use
+   * with {@link #invoke}.
+   */
+  public static MethodHandle spreadInvoker(String methodName,
+      int argumentCount) {
+    return invoker(methodName, argumentCount)
+      .asSpreader(Object[].class, argumentCount + 1);
+  }
+
+  /**
+   * Bootstrap method for {@code invokedynamic} instructions. The first
+   * parameter of {@code type} is the receiver.
+   */
+  public static CallSite bootstrap(@SuppressWarnings("unused") MethodHandles.Lookup caller,
+      String methodName, MethodType type) {
+    return new DynamicCallSite(methodName, type);
+  }
+
+  /**
+   * Invokes the method on the receiver {@code recvAndArgs[0]}, through an
+   * invoker returned by {@link #spreadInvoker}.
+   */
+  public static Object invoke(MethodHandle spreadInvoker,
+      Object... recvAndArgs) {
+    try {
+      return (Object) spreadInvoker.invokeExact(recvAndArgs);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  public static Object invoke0(MethodHandle invoker, Object receiver) {
+    try {
+      return (Object) invoker.invokeExact(receiver);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  public static Object invoke1(MethodHandle invoker, Object receiver,
+      Object arg1) {
+    try {
+      return (Object) invoker.invokeExact(receiver, arg1);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  public static Object invoke1(MethodHandle invoker, Object receiver,
+      int arg1) {
+    try {
+      return (Object) invoker.invokeExact(receiver, arg1);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  public static Object invoke1(MethodHandle invoker, Object receiver,
+      double arg1) {
+    try {
+      return (Object) invoker.invokeExact(receiver, arg1);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  public static Object invoke2(MethodHandle invoker, Object receiver,
+      Object arg1, Object arg2) {
+    try {
+      return (Object) invoker.invokeExact(receiver, arg1, arg2);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  public static Object invoke2(MethodHandle invoker, Object receiver,
+      int arg1, int arg2) {
+    try {
+      return (Object) invoker.invokeExact(receiver, arg1, arg2);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  public static Object invoke2(MethodHandle invoker, Object receiver,
+      double arg1, double arg2) {
+    try {
+      return (Object) invoker.invokeExact(receiver, arg1, arg2);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  public static Object invoke3(MethodHandle invoker, Object receiver,
+      Object arg1, Object arg2, Object arg3) {
+    try {
+      return (Object) invoker.invokeExact(receiver, arg1, arg2, arg3);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  public static Object invoke4(MethodHandle invoker, Object receiver,
+      Object arg1, Object arg2, Object arg3, Object arg4) {
+    try {
+      return (Object) invoker.invokeExact(receiver, arg1, arg2, arg3, arg4);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  @SuppressWarnings("unused")
+  private Object miss(Object[] recvAndArgs) throws Throwable {
+    if (recvAndArgs[0] == null) {
+      // Let DynamicHelper report the error
+      return DynamicHelper.invoke(methodName, recvAndArgs);
+    }
+
+    DynamicHelper.ResolvedMethod method =
+      DynamicHelper.resolve(methodName, recvAndArgs);
+
+    synchronized (this) {
+      if (depth < MAX_POLYMORPHIC_DEPTH) {
+        MethodHandle guard;
+        if (method.argumentClasses != null) {
+          guard = makeGuard(method.argumentClasses);
+        } else {
+          guard = makeGuard(new Class<?>[] { recvAndArgs[0].getClass() });
+        }
+
+        setTarget(MethodHandles.guardWithTest(
+          guard, method.handle.asType(type()), getTarget()));
+        depth++;
+      } else {
+        setTarget(makeMegamorphicTarget());
+      }
+    }
+
+    return (Object) method.spreader.invokeExact(recvAndArgs);
+  }
+
+  /**
+   * Returns a handle that dispatches through {@link DynamicHelper}, preferably
+   * through the {@code invokeN} overload that matches the type of this call
+   * site (which avoids allocating an argument array). Call sites created by
+   * {@link #bootstrap} may have other types, they use the generic version.
+   */
+  private MethodHandle makeMegamorphicTarget() {
+    MethodHandle handle = INVOKE_FIXED_ARITY.get(type());
+    if (handle != null) {
+      return MethodHandles.insertArguments(handle, 0, methodName);
+    }
+
+    return collectArguments(
+      MethodHandles.insertArguments(INVOKE_MEGAMORPHIC, 0, methodName));
+  }
+
+  /**
+   * Adapts a handle taking an {@code Object[]} to the type of this call site.
+   */
+  private MethodHandle collectArguments(MethodHandle handle) {
+    return handle.asCollector(Object[].class, type().parameterCount())
+      .asType(type().changeReturnType(handle.type().returnType()));
+  }
+
+  /**
+   * Builds a handle that checks the classes of the first
+   * {@code expectedClasses.length} arguments of this call site. Arguments of
+   * primitive type are not checked.
+   */
+  private MethodHandle makeGuard(Class<?>[] expectedClasses) {
+    MethodType guardType = type().changeReturnType(boolean.class);
+    MethodHandle guard = MethodHandles.dropArguments(
+      MethodHandles.constant(boolean.class, true), 0, guardType.parameterList());
+    MethodHandle fail = MethodHandles.dropArguments(
+      MethodHandles.constant(boolean.class, false), 0, guardType.parameterList());
+
+    for (int i = expectedClasses.length - 1; i >= 0; i--) {
+      Class<?> parameterType = guardType.parameterType(i);
+      if (parameterType.isPrimitive()) {
+        continue;
+      }
+
+      MethodHandle check = CHECK_CLASS.bindTo(expectedClasses[i]).asType(
+        MethodType.methodType(boolean.class, parameterType));
+      check = MethodHandles.dropArguments(
+        check, 0, guardType.parameterList().subList(0, i));
+      check = MethodHandles.dropArguments(check, i + 1,
+        guardType.parameterList().subList(i + 1, guardType.parameterCount()));
+      guard = MethodHandles.guardWithTest(check, guard, fail);
+    }
+
+    return guard;
+  }
+
+  @SuppressWarnings("unused")
+  private static boolean checkClass(Class<?> expected, Object value) {
+    return value == null ? expected == null : value.getClass() == expected;
+  }
+}
@@ -14,13 +14,17 @@
 
 package dart._runtime.helpers;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.Set;
 import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 
 public class DynamicHelper {
@@ -34,6 +38,21 @@ public class DynamicHelper {
   private static final Class<?> unboxedDouble = double.class;
   private static final Class<?> unboxedBool = boolean.class;
 
+  // Methods that were resolved before, per receiver class and method name.
+  // The arrays are never modified once they are in the map (copy-on-write).
+  private static final ClassValue<ConcurrentHashMap<String, ResolvedMethod[]>>
+    resolvedMethods =
+      new ClassValue<ConcurrentHashMap<String, ResolvedMethod[]>>() {
+        @Override
+        protected ConcurrentHashMap<String, ResolvedMethod[]> computeValue(
+            Class<?> receiverClass) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  private static final LongAdder cacheHits = new LongAdder();
+  private static final LongAdder cacheMisses = new LongAdder();
+
   // TODO(springerm): Consider generating map initialization automatically
   // from compiler_state.dart.
   static {
@@ -71,79 +90,523 @@ public class DynamicHelper {
     // TODO(springerm): Need to do Dart type checks for arguments
     // TODO(springerm): Special case methods defined on DartObject
 
+    if (recvAndArgs[0] == null) {
+      throw nullReceiverError(methodName);
+    }
+
     try {
-      MethodHandles.Lookup lookup = MethodHandles.publicLookup();
-      Object receiver = recvAndArgs[0];
-      Class<?> receiverClass = receiver.getClass();
-      boolean checkForOverloads = false;
-
-      // TODO(springerm): Handle static methods properly
-      // The index of the first argument. When calling a static method, the
-      // first argument starts at index 0, because no "self" object is passed
-      int startArgs = 1;
-
-      if (classImpls.containsKey(receiverClass)) {
-        receiverClass = classImpls.get(receiverClass);
-
-        // There may be multiple overloadings for operators, we have to
-        // pick the correct one
-        checkForOverloads = true;
-        startArgs = 0;
-      } else if (classesWithJavaInterfaces.contains(receiverClass)) {
-        checkForOverloads = true;
-      }
-
-      // TODO(springerm): Try to use MethodHandles API for lookup
-      // TODO(springerm): Look into byte code generation for invokedynamic
-      Method method = null;
-      
-      methodLoop: 
-      for (Method m : receiverClass.getMethods()) {
-        if (m.getName().equals(methodName)) {
-          if (checkForOverloads) {
-            Class<?>[] parameterTypes = m.getParameterTypes();
-
-            // Check if the number of parameters match
-            if (parameterTypes.length != recvAndArgs.length - startArgs) {
-              continue methodLoop;
-            }
+      ResolvedMethod method = resolve(methodName, recvAndArgs);
+      return (Object) method.spreader.invokeExact(recvAndArgs);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
 
-            // Check if the parameter types for this method match
-            for (int i = startArgs; i < parameterTypes.length; i++) {
-              if (!parameterTypes[i - startArgs].isAssignableFrom(
-                boxedToMaybeUnboxedType(recvAndArgs[i].getClass()))
-                && !parameterTypes[i - startArgs].isAssignableFrom(
-                recvAndArgs[i].getClass())) {
-                // Picked the wrong method, continue searching
-                continue methodLoop;
-              }
-            }
-          }
+  // Arity-specialized variants of invoke. These do not allocate an argument
+  // array (unless the method has to be looked up) and the int/double variants
+  // do not box their arguments. Megamorphic call sites dispatch through them.
+  // Like the inline caches of DynamicCallSite, all variants rethrow unchecked
+  // exceptions of the target unchanged.
 
-          // Found matching method
-          method = m;
-          break methodLoop;
-        }
+  public static Object invoke0(String methodName, Object receiver) {
+    if (receiver == null) {
+      throw nullReceiverError(methodName);
+    }
+
+    try {
+      ResolvedMethod method = lookup(methodName, 1,
+        receiver.getClass(), null, null, null, null);
+      if (method == null) {
+        method = resolveUncached(methodName, new Object[] { receiver });
       }
+      return (Object) method.genericHandle.invokeExact(receiver);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
 
+  public static Object invoke1(String methodName, Object receiver,
+      Object arg1) {
+    if (receiver == null) {
+      throw nullReceiverError(methodName);
+    }
+
+    try {
+      ResolvedMethod method = lookup(methodName, 2,
+        receiver.getClass(), classOf(arg1), null, null, null);
       if (method == null) {
-        String argTypes = "";
-        for (Object o : recvAndArgs) {
-          argTypes = argTypes + o.getClass().getName() + ", ";
-        }
-        throw new NoSuchMethodException(
-          receiverClass.getName() + "." + methodName 
-            + " (" + argTypes + ") not found");
+        method = resolveUncached(methodName, new Object[] { receiver, arg1 });
       }
+      return (Object) method.genericHandle.invokeExact(receiver, arg1);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
 
-      MethodHandle handle = lookup.unreflect(method);
-      MethodHandle handleSpreader = handle.asSpreader(
-        Object[].class, recvAndArgs.length);
-      Object result = handleSpreader.invoke(recvAndArgs);
+  public static Object invoke1(String methodName, Object receiver, int arg1) {
+    if (receiver == null) {
+      throw nullReceiverError(methodName);
+    }
 
-      return result;
+    try {
+      ResolvedMethod method = lookup(methodName, 2,
+        receiver.getClass(), boxedInt, null, null, null);
+      if (method == null) {
+        method = resolveUncached(methodName, new Object[] { receiver, arg1 });
+      }
+      return (Object) method.intInvoker().invokeExact(receiver, arg1);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  public static Object invoke1(String methodName, Object receiver,
+      double arg1) {
+    if (receiver == null) {
+      throw nullReceiverError(methodName);
+    }
+
+    try {
+      ResolvedMethod method = lookup(methodName, 2,
+        receiver.getClass(), boxedDouble, null, null, null);
+      if (method == null) {
+        method = resolveUncached(methodName, new Object[] { receiver, arg1 });
+      }
+      return (Object) method.doubleInvoker().invokeExact(receiver, arg1);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  public static Object invoke2(String methodName, Object receiver,
+      Object arg1, Object arg2) {
+    if (receiver == null) {
+      throw nullReceiverError(methodName);
+    }
+
+    try {
+      ResolvedMethod method = lookup(methodName, 3,
+        receiver.getClass(), classOf(arg1), classOf(arg2), null, null);
+      if (method == null) {
+        method = resolveUncached(
+          methodName, new Object[] { receiver, arg1, arg2 });
+      }
+      return (Object) method.genericHandle.invokeExact(receiver, arg1, arg2);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  public static Object invoke2(String methodName, Object receiver,
+      int arg1, int arg2) {
+    if (receiver == null) {
+      throw nullReceiverError(methodName);
+    }
+
+    try {
+      ResolvedMethod method = lookup(methodName, 3,
+        receiver.getClass(), boxedInt, boxedInt, null, null);
+      if (method == null) {
+        method = resolveUncached(
+          methodName, new Object[] { receiver, arg1, arg2 });
+      }
+      return (Object) method.intInvoker().invokeExact(receiver, arg1, arg2);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  public static Object invoke2(String methodName, Object receiver,
+      double arg1, double arg2) {
+    if (receiver == null) {
+      throw nullReceiverError(methodName);
+    }
+
+    try {
+      ResolvedMethod method = lookup(methodName, 3,
+        receiver.getClass(), boxedDouble, boxedDouble, null, null);
+      if (method == null) {
+        method = resolveUncached(
+          methodName, new Object[] { receiver, arg1, arg2 });
+      }
+      return (Object) method.doubleInvoker().invokeExact(receiver, arg1, arg2);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  public static Object invoke3(String methodName, Object receiver,
+      Object arg1, Object arg2, Object arg3) {
+    if (receiver == null) {
+      throw nullReceiverError(methodName);
+    }
+
+    try {
+      ResolvedMethod method = lookup(methodName, 4, receiver.getClass(),
+        classOf(arg1), classOf(arg2), classOf(arg3), null);
+      if (method == null) {
+        method = resolveUncached(
+          methodName, new Object[] { receiver, arg1, arg2, arg3 });
+      }
+      return (Object) method.genericHandle.invokeExact(
+        receiver, arg1, arg2, arg3);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  public static Object invoke4(String methodName, Object receiver,
+      Object arg1, Object arg2, Object arg3, Object arg4) {
+    if (receiver == null) {
+      throw nullReceiverError(methodName);
+    }
+
+    try {
+      ResolvedMethod method = lookup(methodName, 5, receiver.getClass(),
+        classOf(arg1), classOf(arg2), classOf(arg3), classOf(arg4));
+      if (method == null) {
+        method = resolveUncached(
+          methodName, new Object[] { receiver, arg1, arg2, arg3, arg4 });
+      }
+      return (Object) method.genericHandle.invokeExact(
+        receiver, arg1, arg2, arg3, arg4);
+    } catch (RuntimeException | Error e) {
+      throw e;
     } catch (Throwable t) {
       throw new RuntimeException(t);
     }
   }
+
+  /**
+   * Returns the error for invoking {@code methodName} on {@code null}. Like
+   * an invocation of a method that does not exist, this wraps a
+   * {@link NoSuchMethodException}.
+   */
+  private static RuntimeException nullReceiverError(String methodName) {
+    // TODO(springerm): Dart exceptions
+    return new RuntimeException(new NoSuchMethodException(
+      "null." + methodName + " not found"));
+  }
+
+  /**
+   * Returns the number of dynamic invocations that found their target method
+   * in the resolution cache.
+   */
+  public static long getCacheHits() {
+    return cacheHits.sum();
+  }
+
+  /**
+   * Returns the number of dynamic invocations that had to look up their target
+   * method using reflection.
+   */
+  public static long getCacheMisses() {
+    return cacheMisses.sum();
+  }
+
+  /**
+   * A method that a dynamic invocation dispatches to, for a certain receiver
+   * class, method name and number of arguments.
+   */
+  static final class ResolvedMethod {
+    /**
+     * The exact classes of the receiver and all arguments for which this
+     * method was selected, or {@code null} if the method does not depend on
+     * the classes of the arguments.
+     */
+    final Class<?>[] argumentClasses;
+
+    /**
+     * The number of arguments, including the receiver.
+     */
+    final int arity;
+
+    /**
+     * A handle with fixed arity that takes the receiver as first argument
+     * (also for static helper methods).
+     */
+    final MethodHandle handle;
+
+    /**
+     * {@link #handle} with type {@code (Object, ..., Object)Object}.
+     */
+    final MethodHandle genericHandle;
+
+    /**
+     * {@link #handle} with type {@code (Object[])Object}.
+     */
+    final MethodHandle spreader;
+
+    // Adapted handles for the int/double variants of invoke, created lazily.
+    private MethodHandle intInvoker;
+    private MethodHandle doubleInvoker;
+
+    ResolvedMethod(Class<?>[] argumentClasses, int arity, MethodHandle handle) {
+      this.argumentClasses = argumentClasses;
+      this.arity = arity;
+      this.handle = handle;
+      this.genericHandle = handle.asType(MethodType.genericMethodType(arity));
+      this.spreader = genericHandle.asSpreader(Object[].class, arity);
+    }
+
+    /**
+     * Returns {@link #handle} with type {@code (Object, int, ..., int)Object}.
+     */
+    MethodHandle intInvoker() {
+      // Racy initialization is fine, all threads compute equivalent handles
+      MethodHandle result = intInvoker;
+      if (result == null) {
+        result = intInvoker = primitiveInvoker(int.class);
+      }
+      return result;
+    }
+
+    /**
+     * Returns {@link #handle} with type
+     * {@code (Object, double, ..., double)Object}.
+     */
+    MethodHandle doubleInvoker() {
+      MethodHandle result = doubleInvoker;
+      if (result == null) {
+        result = doubleInvoker = primitiveInvoker(double.class);
+      }
+      return result;
+    }
+
+    private MethodHandle primitiveInvoker(Class<?> argumentType) {
+      MethodType type = MethodType.genericMethodType(1);
+      for (int i = 1; i < arity; i++) {
+        type = type.appendParameterTypes(argumentType);
+      }
+      return handle.asType(type);
+    }
+
+    boolean matches(Object[] recvAndArgs) {
+      if (recvAndArgs.length != arity) {
+        return false;
+      }
+
+      if (argumentClasses != null) {
+        for (int i = 0; i < arity; i++) {
+          if (classOf(recvAndArgs[i]) != argumentClasses[i]) {
+            return false;
+          }
+        }
+      }
+
+      return true;
+    }
+
+    /**
+     * Variant of {@link #matches(Object[])} for at most five arguments
+     * (including the receiver). Only the first {@code arity} classes are
+     * considered.
+     */
+    boolean matches(int arity, Class<?> class0, Class<?> class1,
+        Class<?> class2, Class<?> class3, Class<?> class4) {
+      if (this.arity != arity) {
+        return false;
+      }
+
+      if (argumentClasses != null) {
+        return argumentClasses[0] == class0
+          && (arity < 2 || argumentClasses[1] == class1)
+          && (arity < 3 || argumentClasses[2] == class2)
+          && (arity < 4 || argumentClasses[3] == class3)
+          && (arity < 5 || argumentClasses[4] == class4);
+      }
+
+      return true;
+    }
+  }
+
+  /**
+   * Returns the method that a dynamic invocation of {@code methodName} with
+   * the given receiver and arguments dispatches to.
+   * <p>
+   * Results are cached per receiver class, so this method only uses reflection
+   * the first time a method is invoked on a certain receiver class (or with
+   * certain argument classes, if the method is overloaded).
+   */
+  static ResolvedMethod resolve(String methodName, Object[] recvAndArgs)
+      throws NoSuchMethodException, IllegalAccessException {
+    ResolvedMethod[] candidates =
+      resolvedMethods.get(recvAndArgs[0].getClass()).get(methodName);
+    if (candidates != null) {
+      for (ResolvedMethod candidate : candidates) {
+        if (candidate.matches(recvAndArgs)) {
+          cacheHits.increment();
+          return candidate;
+        }
+      }
+    }
+
+    return resolveUncached(methodName, recvAndArgs);
+  }
+
+  /**
+   * Looks up a cached method for an invocation with at most five arguments
+   * (including the receiver), given the classes of the arguments. Returns
+   * {@code null} if the method was not resolved before.
+   */
+  private static ResolvedMethod lookup(String methodName, int arity,
+      Class<?> class0, Class<?> class1, Class<?> class2, Class<?> class3,
+      Class<?> class4) {
+    ResolvedMethod[] candidates =
+      resolvedMethods.get(class0).get(methodName);
+    if (candidates != null) {
+      for (ResolvedMethod candidate : candidates) {
+        if (candidate.matches(arity, class0, class1, class2, class3, class4)) {
+          cacheHits.increment();
+          return candidate;
+        }
+      }
+    }
+
+    return null;
+  }
+
+  private static ResolvedMethod resolveUncached(String methodName,
+      Object[] recvAndArgs)
+      throws NoSuchMethodException, IllegalAccessException {
+    Class<?> receiverClass = recvAndArgs[0].getClass();
+
+    cacheMisses.increment();
+    ResolvedMethod result = new ResolvedMethod(
+      dispatchesOnArguments(receiverClass) ? classesOf(recvAndArgs) : null,
+      recvAndArgs.length,
+      findMethod(methodName, recvAndArgs));
+
+    // Concurrent misses may add equivalent entries; that is harmless.
+    resolvedMethods.get(receiverClass).merge(
+      methodName, new ResolvedMethod[] { result },
+      (oldValue, newValue) -> {
+        ResolvedMethod[] merged = Arrays.copyOf(oldValue, oldValue.length + 1);
+        merged[oldValue.length] = newValue[0];
+        return merged;
+      });
+
+    return result;
+  }
+
+  private static Class<?> classOf(Object value) {
+    return value == null ? null : value.getClass();
+  }
+
+  private static Class<?>[] classesOf(Object[] values) {
+    Class<?>[] result = new Class<?>[values.length];
+    for (int i = 0; i < values.length; i++) {
+      result[i] = classOf(values[i]);
+    }
+    return result;
+  }
+
+  /**
+   * Returns true if the method invoked on an instance of {@code receiverClass}
+   * also depends on the classes of the arguments, i.e., if there may be
+   * multiple overloadings.
+   */
+  static boolean dispatchesOnArguments(Class<?> receiverClass) {
+    return classImpls.containsKey(receiverClass)
+      || classesWithJavaInterfaces.contains(receiverClass);
+  }
+
+  /**
+   * Looks up the method that a dynamic invocation of {@code methodName} with
+   * the given receiver and arguments dispatches to, using reflection.
+   */
+  private static MethodHandle findMethod(String methodName, Object[] recvAndArgs)
+      throws NoSuchMethodException, IllegalAccessException {
+    MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+    Object receiver = recvAndArgs[0];
+    Class<?> receiverClass = receiver.getClass();
+    boolean checkForOverloads = false;
+
+    // TODO(springerm): Handle static methods properly
+    // The index of the first argument. When calling a static method, the
+    // first argument starts at index 0, because no "self" object is passed
+    int startArgs = 1;
+
+    if (classImpls.containsKey(receiverClass)) {
+      receiverClass = classImpls.get(receiverClass);
+
+      // There may be multiple overloadings for operators, we have to
+      // pick the correct one
+      checkForOverloads = true;
+      startArgs = 0;
+    } else if (classesWithJavaInterfaces.contains(receiverClass)) {
+      checkForOverloads = true;
+    }
+
+    Method method = null;
+    
+    methodLoop: 
+    for (Method m : receiverClass.getMethods()) {
+      if (m.getName().equals(methodName)) {
+        if (checkForOverloads) {
+          Class<?>[] parameterTypes = m.getParameterTypes();
+
+          // Check if the number of parameters match
+          if (parameterTypes.length != recvAndArgs.length - startArgs) {
+            continue methodLoop;
+          }
+
+          // Check if the parameter types for this method match
+          for (int i = 0; i < parameterTypes.length; i++) {
+            Object arg = recvAndArgs[i + startArgs];
+            if (arg == null) {
+              // null can be passed to any non-primitive parameter
+              if (parameterTypes[i].isPrimitive()) {
+                continue methodLoop;
+              }
+              continue;
+            }
+
+            Class<?> argClass = arg.getClass();
+            if (!parameterTypes[i].isAssignableFrom(
+              boxedToMaybeUnboxedType(argClass))
+              && !parameterTypes[i].isAssignableFrom(argClass)) {
+              // Picked the wrong method, continue searching
+              continue methodLoop;
+            }
+          }
+        }
+
+        // Found matching method
+        method = m;
+        break methodLoop;
+      }
+    }
+
+    if (method == null) {
+      String argTypes = "";
+      for (Object o : recvAndArgs) {
+        argTypes = argTypes + (o == null ? "null" : o.getClass().getName())
+          + ", ";
+      }
+      throw new NoSuchMethodException(
+        receiverClass.getName() + "." + methodName 
+          + " (" + argTypes + ") not found");
+    }
+
+    return lookup.unreflect(method).asFixedArity();
+  }
 }
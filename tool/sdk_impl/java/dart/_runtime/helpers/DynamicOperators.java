@@ -0,0 +1,435 @@
+// Copyright 2016, the Dart project authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dart._runtime.helpers;
+
+/**
+ * Dart operators on receivers whose static type is {@code dynamic}.
+ * <p>
+ * The compiler calls these methods instead of {@link DynamicHelper} for
+ * operator invocations on dynamic receivers. Numbers are dispatched with
+ * {@code instanceof} checks directly to the primitive overloads in
+ * {@link IntegerHelper} and {@link DoubleHelper}, without any method lookup.
+ * All other receivers (including {@code DartObject}s and {@code null}) go
+ * through {@link DynamicHelper}.
+ * <p>
+ * Arithmetic and comparison operators have overloads for {@code int} and
+ * {@code double} arguments, so that the compiler does not have to box
+ * arguments whose static type is a primitive.
+ */
+public final class DynamicOperators {
+  private DynamicOperators() { }
+
+  public static Object operatorPlus(Object receiver, Object other) {
+    if (other instanceof Integer) {
+      return operatorPlus(receiver, ((Integer) other).intValue());
+    } else if (other instanceof Double) {
+      return operatorPlus(receiver, ((Double) other).doubleValue());
+    }
+    return DynamicHelper.invoke1("operatorPlus", receiver, other);
+  }
+
+  public static Object operatorPlus(Object receiver, int other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorPlus(self, other);
+    } else if (receiver instanceof Double) {
+      double self = ((Double) receiver).doubleValue();
+      return DoubleHelper.operatorPlus(self, other);
+    }
+    return DynamicHelper.invoke1("operatorPlus", receiver, other);
+  }
+
+  public static Object operatorPlus(Object receiver, double other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorPlus(self, other);
+    } else if (receiver instanceof Double) {
+      double self = ((Double) receiver).doubleValue();
+      return DoubleHelper.operatorPlus(self, other);
+    }
+    return DynamicHelper.invoke1("operatorPlus", receiver, other);
+  }
+
+  public static Object operatorMinus(Object receiver, Object other) {
+    if (other instanceof Integer) {
+      return operatorMinus(receiver, ((Integer) other).intValue());
+    } else if (other instanceof Double) {
+      return operatorMinus(receiver, ((Double) other).doubleValue());
+    }
+    return DynamicHelper.invoke1("operatorMinus", receiver, other);
+  }
+
+  public static Object operatorMinus(Object receiver, int other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorMinus(self, other);
+    } else if (receiver instanceof Double) {
+      double self = ((Double) receiver).doubleValue();
+      return DoubleHelper.operatorMinus(self, other);
+    }
+    return DynamicHelper.invoke1("operatorMinus", receiver, other);
+  }
+
+  public static Object operatorMinus(Object receiver, double other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorMinus(self, other);
+    } else if (receiver instanceof Double) {
+      double self = ((Double) receiver).doubleValue();
+      return DoubleHelper.operatorMinus(self, other);
+    }
+    return DynamicHelper.invoke1("operatorMinus", receiver, other);
+  }
+
+  public static Object operatorStar(Object receiver, Object other) {
+    if (other instanceof Integer) {
+      return operatorStar(receiver, ((Integer) other).intValue());
+    } else if (other instanceof Double) {
+      return operatorStar(receiver, ((Double) other).doubleValue());
+    }
+    return DynamicHelper.invoke1("operatorStar", receiver, other);
+  }
+
+  public static Object operatorStar(Object receiver, int other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorStar(self, other);
+    } else if (receiver instanceof Double) {
+      double self = ((Double) receiver).doubleValue();
+      return DoubleHelper.operatorStar(self, other);
+    }
+    return DynamicHelper.invoke1("operatorStar", receiver, other);
+  }
+
+  public static Object operatorStar(Object receiver, double other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorStar(self, other);
+    } else if (receiver instanceof Double) {
+      double self = ((Double) receiver).doubleValue();
+      return DoubleHelper.operatorStar(self, other);
+    }
+    return DynamicHelper.invoke1("operatorStar", receiver, other);
+  }
+
+  public static Object operatorDivide(Object receiver, Object other) {
+    if (other instanceof Integer) {
+      return operatorDivide(receiver, ((Integer) other).intValue());
+    } else if (other instanceof Double) {
+      return operatorDivide(receiver, ((Double) other).doubleValue());
+    }
+    return DynamicHelper.invoke1("operatorDivide", receiver, other);
+  }
+
+  public static Object operatorDivide(Object receiver, int other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorDivide(self, other);
+    } else if (receiver instanceof Double) {
+      double self = ((Double) receiver).doubleValue();
+      return DoubleHelper.operatorDivide(self, other);
+    }
+    return DynamicHelper.invoke1("operatorDivide", receiver, other);
+  }
+
+  public static Object operatorDivide(Object receiver, double other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorDivide(self, other);
+    } else if (receiver instanceof Double) {
+      double self = ((Double) receiver).doubleValue();
+      return DoubleHelper.operatorDivide(self, other);
+    }
+    return DynamicHelper.invoke1("operatorDivide", receiver, other);
+  }
+
+  public static Object operatorTruncatedDivide(Object receiver, Object other) {
+    if (other instanceof Integer) {
+      return operatorTruncatedDivide(receiver, ((Integer) other).intValue());
+    } else if (other instanceof Double) {
+      return operatorTruncatedDivide(receiver, ((Double) other).doubleValue());
+    }
+    return DynamicHelper.invoke1("operatorTruncatedDivide", receiver, other);
+  }
+
+  public static Object operatorTruncatedDivide(Object receiver, int other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorTruncatedDivide(self, other);
+    } else if (receiver instanceof Double) {
+      double self = ((Double) receiver).doubleValue();
+      return DoubleHelper.operatorTruncatedDivide(self, other);
+    }
+    return DynamicHelper.invoke1("operatorTruncatedDivide", receiver, other);
+  }
+
+  public static Object operatorTruncatedDivide(Object receiver, double other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorTruncatedDivide(self, other);
+    } else if (receiver instanceof Double) {
+      double self = ((Double) receiver).doubleValue();
+      return DoubleHelper.operatorTruncatedDivide(self, other);
+    }
+    return DynamicHelper.invoke1("operatorTruncatedDivide", receiver, other);
+  }
+
+  public static Object operatorLess(Object receiver, Object other) {
+    if (other instanceof Integer) {
+      return operatorLess(receiver, ((Integer) other).intValue());
+    } else if (other instanceof Double) {
+      return operatorLess(receiver, ((Double) other).doubleValue());
+    }
+    return DynamicHelper.invoke1("operatorLess", receiver, other);
+  }
+
+  public static Object operatorLess(Object receiver, int other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorLess(self, other);
+    } else if (receiver instanceof Double) {
+      double self = ((Double) receiver).doubleValue();
+      return DoubleHelper.operatorLess(self, other);
+    }
+    return DynamicHelper.invoke1("operatorLess", receiver, other);
+  }
+
+  public static Object operatorLess(Object receiver, double other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorLess(self, other);
+    } else if (receiver instanceof Double) {
+      double self = ((Double) receiver).doubleValue();
+      return DoubleHelper.operatorLess(self, other);
+    }
+    return DynamicHelper.invoke1("operatorLess", receiver, other);
+  }
+
+  public static Object operatorLessEqual(Object receiver, Object other) {
+    if (other instanceof Integer) {
+      return operatorLessEqual(receiver, ((Integer) other).intValue());
+    } else if (other instanceof Double) {
+      return operatorLessEqual(receiver, ((Double) other).doubleValue());
+    }
+    return DynamicHelper.invoke1("operatorLessEqual", receiver, other);
+  }
+
+  public static Object operatorLessEqual(Object receiver, int other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorLessEqual(self, other);
+    } else if (receiver instanceof Double) {
+      double self = ((Double) receiver).doubleValue();
+      return DoubleHelper.operatorLessEqual(self, other);
+    }
+    return DynamicHelper.invoke1("operatorLessEqual", receiver, other);
+  }
+
+  public static Object operatorLessEqual(Object receiver, double other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorLessEqual(self, other);
+    } else if (receiver instanceof Double) {
+      double self = ((Double) receiver).doubleValue();
+      return DoubleHelper.operatorLessEqual(self, other);
+    }
+    return DynamicHelper.invoke1("operatorLessEqual", receiver, other);
+  }
+
+  public static Object operatorGreater(Object receiver, Object other) {
+    if (other instanceof Integer) {
+      return operatorGreater(receiver, ((Integer) other).intValue());
+    } else if (other instanceof Double) {
+      return operatorGreater(receiver, ((Double) other).doubleValue());
+    }
+    return DynamicHelper.invoke1("operatorGreater", receiver, other);
+  }
+
+  public static Object operatorGreater(Object receiver, int other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorGreater(self, other);
+    } else if (receiver instanceof Double) {
+      double self = ((Double) receiver).doubleValue();
+      return DoubleHelper.operatorGreater(self, other);
+    }
+    return DynamicHelper.invoke1("operatorGreater", receiver, other);
+  }
+
+  public static Object operatorGreater(Object receiver, double other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorGreater(self, other);
+    } else if (receiver instanceof Double) {
+      double self = ((Double) receiver).doubleValue();
+      return DoubleHelper.operatorGreater(self, other);
+    }
+    return DynamicHelper.invoke1("operatorGreater", receiver, other);
+  }
+
+  public static Object operatorGreaterEqual(Object receiver, Object other) {
+    if (other instanceof Integer) {
+      return operatorGreaterEqual(receiver, ((Integer) other).intValue());
+    } else if (other instanceof Double) {
+      return operatorGreaterEqual(receiver, ((Double) other).doubleValue());
+    }
+    return DynamicHelper.invoke1("operatorGreaterEqual", receiver, other);
+  }
+
+  public static Object operatorGreaterEqual(Object receiver, int other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorGreaterEqual(self, other);
+    } else if (receiver instanceof Double) {
+      double self = ((Double) receiver).doubleValue();
+      return DoubleHelper.operatorGreaterEqual(self, other);
+    }
+    return DynamicHelper.invoke1("operatorGreaterEqual", receiver, other);
+  }
+
+  public static Object operatorGreaterEqual(Object receiver, double other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorGreaterEqual(self, other);
+    } else if (receiver instanceof Double) {
+      double self = ((Double) receiver).doubleValue();
+      return DoubleHelper.operatorGreaterEqual(self, other);
+    }
+    return DynamicHelper.invoke1("operatorGreaterEqual", receiver, other);
+  }
+
+  public static Object operatorModulus(Object receiver, Object other) {
+    if (other instanceof Integer) {
+      return operatorModulus(receiver, ((Integer) other).intValue());
+    } else if (other instanceof Double) {
+      return operatorModulus(receiver, ((Double) other).doubleValue());
+    }
+    return DynamicHelper.invoke1("operatorModulus", receiver, other);
+  }
+
+  public static Object operatorModulus(Object receiver, int other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorModulus(self, other);
+    } else if (receiver instanceof Double) {
+      double self = ((Double) receiver).doubleValue();
+      return DoubleHelper.operatorModulus(self, other);
+    }
+    return DynamicHelper.invoke1("operatorModulus", receiver, other);
+  }
+
+  public static Object operatorModulus(Object receiver, double other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return DoubleHelper.operatorModulus((double) self, other);
+    } else if (receiver instanceof Double) {
+      double self = ((Double) receiver).doubleValue();
+      return DoubleHelper.operatorModulus(self, other);
+    }
+    return DynamicHelper.invoke1("operatorModulus", receiver, other);
+  }
+
+  public static Object operatorBitAnd(Object receiver, Object other) {
+    if (other instanceof Integer) {
+      return operatorBitAnd(receiver, ((Integer) other).intValue());
+    }
+    return DynamicHelper.invoke1("operatorBitAnd", receiver, other);
+  }
+
+  public static Object operatorBitAnd(Object receiver, int other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorBitAnd(self, other);
+    }
+    return DynamicHelper.invoke1("operatorBitAnd", receiver, other);
+  }
+
+  public static Object operatorBitOr(Object receiver, Object other) {
+    if (other instanceof Integer) {
+      return operatorBitOr(receiver, ((Integer) other).intValue());
+    }
+    return DynamicHelper.invoke1("operatorBitOr", receiver, other);
+  }
+
+  public static Object operatorBitOr(Object receiver, int other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorBitOr(self, other);
+    }
+    return DynamicHelper.invoke1("operatorBitOr", receiver, other);
+  }
+
+  public static Object operatorBitXor(Object receiver, Object other) {
+    if (other instanceof Integer) {
+      return operatorBitXor(receiver, ((Integer) other).intValue());
+    }
+    return DynamicHelper.invoke1("operatorBitXor", receiver, other);
+  }
+
+  public static Object operatorBitXor(Object receiver, int other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorBitXor(self, other);
+    }
+    return DynamicHelper.invoke1("operatorBitXor", receiver, other);
+  }
+
+  public static Object operatorShiftLeft(Object receiver, Object other) {
+    if (other instanceof Integer) {
+      return operatorShiftLeft(receiver, ((Integer) other).intValue());
+    }
+    return DynamicHelper.invoke1("operatorShiftLeft", receiver, other);
+  }
+
+  public static Object operatorShiftLeft(Object receiver, int other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorShiftLeft(self, other);
+    }
+    return DynamicHelper.invoke1("operatorShiftLeft", receiver, other);
+  }
+
+  public static Object operatorShiftRight(Object receiver, Object other) {
+    if (other instanceof Integer) {
+      return operatorShiftRight(receiver, ((Integer) other).intValue());
+    }
+    return DynamicHelper.invoke1("operatorShiftRight", receiver, other);
+  }
+
+  public static Object operatorShiftRight(Object receiver, int other) {
+    if (receiver instanceof Integer) {
+      int self = ((Integer) receiver).intValue();
+      return IntegerHelper.operatorShiftRight(self, other);
+    }
+    return DynamicHelper.invoke1("operatorShiftRight", receiver, other);
+  }
+
+  public static Object operatorUnaryMinus(Object receiver) {
+    if (receiver instanceof Integer) {
+      return IntegerHelper.operatorUnaryMinus(((Integer) receiver).intValue());
+    } else if (receiver instanceof Double) {
+      return DoubleHelper.operatorUnaryMinus(((Double) receiver).doubleValue());
+    }
+    return DynamicHelper.invoke0("operatorUnaryMinus", receiver);
+  }
+
+  public static Object operatorUnaryBitNegate(Object receiver) {
+    if (receiver instanceof Integer) {
+      return IntegerHelper.operatorUnaryBitNegate(
+        ((Integer) receiver).intValue());
+    }
+    return DynamicHelper.invoke0("operatorUnaryBitNegate", receiver);
+  }
+}
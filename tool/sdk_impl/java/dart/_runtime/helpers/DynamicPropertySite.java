@@ -0,0 +1,218 @@
+// Copyright 2016, the Dart project authors.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dart._runtime.helpers;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A call site for reading or writing a property of a receiver whose static
+ * type is {@code dynamic}.
+ * <p>
+ * The compiler generates one {@code DynamicPropertySite} per dynamic property
+ * access (stored in a static field of the calling class). If the property is
+ * a Dart field and the receiver's class uses the implicit accessor generated
+ * by the compiler, the site accesses the Java field directly through a
+ * {@link VarHandle}. Otherwise (explicit or overridden accessors, helper
+ * classes), it calls the accessor method through a {@link MethodHandle}.
+ * <p>
+ * Accessors are resolved once per receiver class and property, and every site
+ * caches the accessor for the receiver class it saw last. Accesses that cannot
+ * use a cached accessor (e.g., overloaded setters) go through
+ * {@link DynamicHelper}. Either way, unchecked exceptions of the accessor
+ * reach the caller unchanged.
+ */
+public final class DynamicPropertySite {
+  private static final ClassValue<ConcurrentHashMap<String, Accessor>> accessors =
+    new ClassValue<ConcurrentHashMap<String, Accessor>>() {
+      @Override
+      protected ConcurrentHashMap<String, Accessor> computeValue(Class<?> type) {
+        return new ConcurrentHashMap<>();
+      }
+    };
+
+  /**
+   * {@code (Object receiver, Object value)Object}, returns {@code value}.
+   */
+  private static final MethodHandle RETURN_VALUE = MethodHandles.dropArguments(
+    MethodHandles.identity(Object.class), 0, Object.class);
+
+  private final String fieldName;
+  private final String getterName;
+  private final String setterName;
+
+  // Accessors are immutable, so racy updates of these fields are fine.
+  private Accessor getter = Accessor.NONE;
+  private Accessor setter = Accessor.NONE;
+
+  /**
+   * Creates a call site for the Dart property {@code name}.
+   */
+  public DynamicPropertySite(String name) {
+    // Keep in sync with CompilerState.translatedMethodName
+    String capitalizedName =
+      Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    this.fieldName = name;
+    this.getterName = "get" + capitalizedName;
+    this.setterName = "set" + capitalizedName;
+  }
+
+  /**
+   * Reads the property of {@code receiver}.
+   */
+  public Object get(Object receiver) {
+    if (receiver == null) {
+      // Let DynamicHelper report the error
+      return DynamicHelper.invoke(getterName, receiver);
+    }
+
+    Accessor accessor = getter;
+    if (accessor.receiverClass != receiver.getClass()) {
+      accessor = getter = resolve(false, receiver, null);
+    }
+    if (accessor.handle == null) {
+      return DynamicHelper.invoke0(getterName, receiver);
+    }
+
+    try {
+      return (Object) accessor.handle.invokeExact(receiver);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  /**
+   * Writes the property of {@code receiver} and returns {@code value}.
+   */
+  public Object set(Object receiver, Object value) {
+    if (receiver == null) {
+      return DynamicHelper.invoke(setterName, receiver, value);
+    }
+
+    Accessor accessor = setter;
+    if (accessor.receiverClass != receiver.getClass()) {
+      accessor = setter = resolve(true, receiver, value);
+    }
+    if (accessor.handle == null) {
+      DynamicHelper.invoke1(setterName, receiver, value);
+      return value;
+    }
+
+    try {
+      return (Object) accessor.handle.invokeExact(receiver, value);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  private Accessor resolve(boolean isSetter, Object receiver, Object value) {
+    String methodName = isSetter ? setterName : getterName;
+    ConcurrentHashMap<String, Accessor> cache =
+      accessors.get(receiver.getClass());
+
+    Accessor accessor = cache.get(methodName);
+    if (accessor == null) {
+      accessor = findAccessor(isSetter, receiver, value);
+      cache.putIfAbsent(methodName, accessor);
+    }
+    return accessor;
+  }
+
+  private Accessor findAccessor(boolean isSetter, Object receiver,
+      Object value) {
+    Class<?> receiverClass = receiver.getClass();
+
+    try {
+      Field field = receiverClass.getField(fieldName);
+      if (!Modifier.isStatic(field.getModifiers())) {
+        Method method = isSetter
+          ? receiverClass.getMethod(setterName, field.getType())
+          : receiverClass.getMethod(getterName);
+
+        // A Dart class cannot declare both a field and an accessor with the
+        // same name, so this is the implicit accessor of the field.
+        if (method.getDeclaringClass() == field.getDeclaringClass()) {
+          VarHandle handle = MethodHandles.publicLookup()
+            .unreflectVarHandle(field);
+          return new Accessor(receiverClass,
+            isSetter ? fieldSetter(handle) : fieldGetter(handle));
+        }
+      }
+    } catch (NoSuchFieldException | NoSuchMethodException
+        | IllegalAccessException e) {
+      // Not a field, use the accessor method
+    }
+
+    try {
+      Object[] recvAndArgs = isSetter
+        ? new Object[] { receiver, value }
+        : new Object[] { receiver };
+      DynamicHelper.ResolvedMethod method =
+        DynamicHelper.resolve(isSetter ? setterName : getterName, recvAndArgs);
+
+      if (isSetter && method.argumentClasses != null) {
+        // The setter is overloaded, so it also depends on the class of the
+        // value. Dispatch through DynamicHelper every time.
+        return new Accessor(receiverClass, null);
+      }
+      return new Accessor(receiverClass, method.genericHandle);
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      // DynamicHelper reports the error on every access
+      return new Accessor(receiverClass, null);
+    }
+  }
+
+  private static MethodHandle fieldGetter(VarHandle handle) {
+    return handle.toMethodHandle(VarHandle.AccessMode.GET)
+      .asType(MethodType.genericMethodType(1));
+  }
+
+  private static MethodHandle fieldSetter(VarHandle handle) {
+    MethodHandle set = handle.toMethodHandle(VarHandle.AccessMode.SET)
+      .asType(MethodType.methodType(void.class, Object.class, Object.class));
+    return MethodHandles.foldArguments(RETURN_VALUE, set);
+  }
+
+  /**
+   * The way a property is accessed on instances of a certain class.
+   */
+  private static final class Accessor {
+    static final Accessor NONE = new Accessor(null, null);
+
+    final Class<?> receiverClass;
+
+    /**
+     * {@code (Object)Object} for getters, {@code (Object, Object)Object} for
+     * setters, or {@code null} if the access must go through
+     * {@link DynamicHelper}.
+     */
+    final MethodHandle handle;
+
+    Accessor(Class<?> receiverClass, MethodHandle handle) {
+      this.receiverClass = receiverClass;
+      this.handle = handle;
+    }
+  }
+}
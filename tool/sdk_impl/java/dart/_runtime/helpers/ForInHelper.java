@@ -0,0 +1,40 @@
+// Copyright 2016, the Dart project authors.
+// 
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+// 
+//     http://www.apache.org/licenses/LICENSE-2.0
+// 
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dart._runtime.helpers;
+
+public class ForInHelper {
+  // For-in loops over lists are translated to indexed loops. This is the loop
+  // condition: like the iterator of a Dart list, it throws if the length of
+  // the list changed during the iteration.
+  public static boolean hasNext(int index, int length, int currentLength) {
+    if (currentLength != length) {
+      // TODO(springerm): Dart exceptions
+      throw new RuntimeException(
+          "ConcurrentModificationError: List modified during iteration");
+    }
+
+    return index < length;
+  }
+
+  // The iterators of maps and sets throw this error in their moveNext.
+  public static void throwConcurrentModificationError(Object modifiedObject) {
+    // TODO(springerm): Dart exceptions
+    // Like Error.safeToString, do not call toString of the modified object
+    throw new RuntimeException(
+        "ConcurrentModificationError: Concurrent modification during "
+        + "iteration: Instance of '"
+        + modifiedObject.getClass().getSimpleName() + "'");
+  }
+}
@@ -56,6 +56,11 @@ public class StringHelper {
     return self.equals(other);
   }
 
+  // Compares UTF-16 code units, like Dart.
+  public static Integer compareTo(String self, String other) {
+    return Integer.signum(self.compareTo(other));
+  }
+
   public static Boolean endsWith(String self, String other) {
     return self.endsWith(other);
   }
@@ -27,7 +27,7 @@ import java.util.Map;
 public class TypeSystemHelper {
   public static final Type getTrueType(Object o) {
     if (o instanceof DartObject) {
-      return ((DartObject)o).dart2java$type;
+      return ((DartObject)o).dart2java$getType();
     } else if (o == null) {
       return nullType;
     } else {
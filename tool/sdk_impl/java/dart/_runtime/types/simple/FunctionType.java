@@ -14,11 +14,12 @@
 
 package dart._runtime.types.simple;
 
-import java.util.ArrayList;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Representation of a concrete Dart function type.
@@ -46,44 +47,206 @@ public class FunctionType extends Type {
   final Type[] positionalParams;
 
   /**
-   * The names and types of (optional) named parameters.
+   * The names of the (optional) named parameters, sorted alphabetically.
    */
-  final Map<String, Type> namedParams;
+  final String[] namedParamNames;
 
-  private static final InterfaceType functionType =
-      TypeEnvironment.ROOT.evaluate(new InterfaceTypeExpr(dart.core.Function.dart2java$typeInfo));
+  /**
+   * The types of the named parameters, in the same order as {@link #namedParamNames}.
+   */
+  final Type[] namedParamTypes;
+
+  /**
+   * The type {@code Function}, resolved on first use (see {@link #functionType()}).
+   */
+  private static volatile InterfaceType functionType;
 
-  private FunctionType(Type returnType, int requiredParamCount, Type[] positionalParams,
-      Map<String, Type> namedParams) {
-    this.returnType = returnType;
-    this.requiredParamCount = requiredParamCount;
-    this.positionalParams = positionalParams;
-    this.namedParams = namedParams;
+  private FunctionType(Key key) {
+    this.returnType = key.returnType;
+    this.requiredParamCount = key.requiredParamCount;
+    this.positionalParams = key.positionalParams;
+    this.namedParamNames = key.namedParamNames;
+    this.namedParamTypes = key.namedParamTypes;
   }
 
-  private static Map<List<?>, FunctionType> instantiationCache = new HashMap<>();
+  /**
+   * Canonical function types, keyed by their signature.
+   * <p>
+   * Function types are only weakly referenced, so that the types of short-lived closures do not
+   * accumulate. A function type is only removed once it is unreachable, so callers of
+   * {@link #instantiate} cannot observe two different instances for the same signature.
+   */
+  private static final Map<Key, Entry> instantiationCache = new ConcurrentHashMap<>();
+
+  /**
+   * Entries of {@link #instantiationCache} whose function type was garbage collected; guarded by
+   * {@link TypeConstruction#lock}.
+   */
+  private static final ReferenceQueue<FunctionType> collectedTypes = new ReferenceQueue<>();
+
+  /**
+   * Instantiations that refer to types under construction; guarded by
+   * {@link TypeConstruction#lock}.
+   */
+  private static final Map<Key, FunctionType> pendingInstantiations = new HashMap<>();
 
   /**
    * Return the function type with the given signature.
    * <p>
    * Function type representations are canonicalized, so calls to {@code instantiate} with equal
-   * arguments with return identical {@code FunctionType} instances. This method should only be
-   * called by {@link FunctionTypeExpr#evaluateUncached}.
+   * arguments with return identical {@code FunctionType} instances. Arguments are compared
+   * element-wise, and {@link Type}s by identity (which is correct because they are canonical).
+   * This method should only be called by {@link FunctionTypeExpr#evaluateUncached}.
+   *
+   * @param namedParamNames names of the named parameters, sorted alphabetically
+   * @param namedParamTypes types of the named parameters, in the same order
    */
   static FunctionType instantiate(Type returnType, int requiredParamCount, Type[] positionalParams,
-      Map<String, Type> namedParams) {
-    List<?> key = Arrays.asList(returnType, requiredParamCount, positionalParams, namedParams);
-    FunctionType result = instantiationCache.get(key);
+      String[] namedParamNames, Type[] namedParamTypes) {
+    Key key = new Key(returnType, requiredParamCount, positionalParams, namedParamNames,
+        namedParamTypes);
+    Entry entry = instantiationCache.get(key);
+    FunctionType result = entry == null ? null : entry.get();
+    if (result == null) {
+      synchronized (TypeConstruction.lock) {
+        expungeCollectedTypes();
+        entry = instantiationCache.get(key);
+        result = entry == null ? null : entry.get();
+        if (result == null) {
+          result = pendingInstantiations.get(key);
+        }
+        if (result == null) {
+          FunctionType instance = new FunctionType(key);
+          pendingInstantiations.put(key, instance);
+          TypeConstruction.onEnd(publish -> {
+            pendingInstantiations.remove(key);
+            if (publish) {
+              instantiationCache.put(key, new Entry(key, instance));
+            }
+          });
+          result = instance;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of canonical function types that are currently cached.
+   */
+  static int cacheSize() {
+    synchronized (TypeConstruction.lock) {
+      expungeCollectedTypes();
+      return instantiationCache.size();
+    }
+  }
+
+  private static void expungeCollectedTypes() {
+    Entry entry;
+    while ((entry = (Entry) collectedTypes.poll()) != null) {
+      instantiationCache.remove(entry.key, entry);
+    }
+  }
+
+  /**
+   * The signature of a function type.
+   */
+  private static final class Key {
+    final Type returnType;
+    final int requiredParamCount;
+    final Type[] positionalParams;
+    final String[] namedParamNames;
+    final Type[] namedParamTypes;
+    final int hashCode;
+
+    Key(Type returnType, int requiredParamCount, Type[] positionalParams,
+        String[] namedParamNames, Type[] namedParamTypes) {
+      assert namedParamNames.length == namedParamTypes.length;
+      this.returnType = returnType;
+      this.requiredParamCount = requiredParamCount;
+      this.positionalParams = positionalParams;
+      this.namedParamNames = namedParamNames;
+      this.namedParamTypes = namedParamTypes;
+
+      int hash = System.identityHashCode(returnType) * 31 + requiredParamCount;
+      for (Type type : positionalParams) {
+        hash = hash * 31 + System.identityHashCode(type);
+      }
+      for (int i = 0; i < namedParamNames.length; i++) {
+        hash = hash * 31 + namedParamNames[i].hashCode();
+        hash = hash * 31 + System.identityHashCode(namedParamTypes[i]);
+      }
+      this.hashCode = hash;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return hashCode == other.hashCode
+          && returnType == other.returnType
+          && requiredParamCount == other.requiredParamCount
+          && sameTypes(positionalParams, other.positionalParams)
+          && Arrays.equals(namedParamNames, other.namedParamNames)
+          && sameTypes(namedParamTypes, other.namedParamTypes);
+    }
+
+    private static boolean sameTypes(Type[] a, Type[] b) {
+      if (a.length != b.length) {
+        return false;
+      }
+      for (int i = 0; i < a.length; i++) {
+        if (a[i] != b[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  /**
+   * A weakly referenced entry of {@link #instantiationCache}.
+   */
+  private static final class Entry extends WeakReference<FunctionType> {
+    final Key key;
+
+    Entry(Key key, FunctionType type) {
+      super(type, collectedTypes);
+      this.key = key;
+    }
+  }
+
+  /**
+   * Returns the type {@code Function}.
+   * <p>
+   * This must not be evaluated during class initialization: evaluating a type can take
+   * {@link TypeConstruction#lock}, and a thread holding the lock may be waiting for this class to be
+   * initialized (e.g. while evaluating the supertypes of a class that mention function types).
+   */
+  private static InterfaceType functionType() {
+    InterfaceType result = functionType;
     if (result == null) {
-      result = new FunctionType(returnType, requiredParamCount, positionalParams, namedParams);
-      instantiationCache.put(key, result);
+      result = TypeEnvironment.ROOT.evaluate(
+          new InterfaceTypeExpr(dart.core.Function.dart2java$typeInfo));
+      // Racy initialization is fine, all threads get the canonical type. A thread that is
+      // constructing types may get an incomplete type, which must not be shared.
+      if (!TypeConstruction.isActive()) {
+        functionType = result;
+      }
     }
     return result;
   }
 
   @Override
   protected boolean isSubtypeOfInterfaceType(InterfaceType other) {
-    return functionType.isSubtypeOfInterfaceType(other);
+    return functionType().isSubtypeOfInterfaceType(other);
   }
 
   @Override
@@ -98,9 +261,15 @@ public class FunctionType extends Type {
       if (!other.positionalParams[i].isSubtypeOf(this.positionalParams[i]))
         return false;
     }
-    for (String name : other.namedParams.keySet()) {
-      Type type = this.namedParams.get(name);
-      if (type == null || !other.namedParams.get(name).isSubtypeOf(type))
+    // Both name arrays are sorted
+    int j = 0;
+    for (int i = 0; i < other.namedParamNames.length; i++) {
+      String name = other.namedParamNames[i];
+      while (j < this.namedParamNames.length && this.namedParamNames[j].compareTo(name) < 0) {
+        j++;
+      }
+      if (j == this.namedParamNames.length || !this.namedParamNames[j].equals(name)
+          || !other.namedParamTypes[i].isSubtypeOf(this.namedParamTypes[j]))
         return false;
     }
     return true;
@@ -130,22 +299,18 @@ public class FunctionType extends Type {
       }
       sb.append(']');
     }
-    if (!namedParams.isEmpty()) {
+    if (namedParamNames.length > 0) {
       if (positionalParams.length > 0) {
         sb.append(", ");
       }
       sb.append('{');
-      List<String> names = new ArrayList<>(namedParams.keySet());
-      names.sort(null);
-      boolean first = true;
-      for (String s : names) {
-        if (!first) {
+      for (i = 0; i < namedParamNames.length; i++) {
+        if (i > 0) {
           sb.append(", ");
         }
-        sb.append(s);
+        sb.append(namedParamNames[i]);
         sb.append(": ");
-        sb.append(namedParams.get(s));
-        first = false;
+        sb.append(namedParamTypes[i]);
       }
       sb.append('}');
     }
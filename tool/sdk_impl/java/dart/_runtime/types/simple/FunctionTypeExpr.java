@@ -14,8 +14,6 @@
 
 package dart._runtime.types.simple;
 
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -28,12 +26,26 @@ import java.util.Map;
 public final class FunctionTypeExpr extends TypeExpr {
   final FunctionTypeInfo info;
 
+  /**
+   * The names of the named parameters of {@link #info}, in alphabetical order.
+   */
+  private final String[] namedParamNames;
+
+  /**
+   * The types of the named parameters of {@link #info}, in the same order as
+   * {@link #namedParamNames}.
+   */
+  private final TypeExpr[] namedParamTypes;
+
   /**
    * Creates a new {@code FunctionTypeExpr} for the given {@code FunctionTypeInfo}.
    */
   public FunctionTypeExpr(FunctionTypeInfo info) {
     super(makeKey(info));
     this.info = info;
+    // FunctionTypeInfo.namedParams is sorted
+    this.namedParamNames = info.namedParams.keySet().toArray(new String[0]);
+    this.namedParamTypes = info.namedParams.values().toArray(new TypeExpr[0]);
   }
 
   @Override
@@ -43,14 +55,13 @@ public final class FunctionTypeExpr extends TypeExpr {
     for (int i = 0; i < info.positionalParams.length; i++) {
       positionalParams[i] = env.evaluate(info.positionalParams[i]);
     }
-    Map<String, Type> namedParams = info.namedParams.isEmpty() ? Collections.emptyMap()
-        : new HashMap<>(info.namedParams.size());
-    for (Map.Entry<String, TypeExpr> e : info.namedParams.entrySet()) {
-      namedParams.put(e.getKey(), env.evaluate((e.getValue())));
+    Type[] namedParamTypes = new Type[this.namedParamTypes.length];
+    for (int i = 0; i < namedParamTypes.length; i++) {
+      namedParamTypes[i] = env.evaluate(this.namedParamTypes[i]);
     }
 
     return FunctionType.instantiate(returnType, info.requiredParamCount, positionalParams,
-        namedParams);
+        namedParamNames, namedParamTypes);
   }
 
   private static String makeKey(FunctionTypeInfo info) {
@@ -30,12 +30,7 @@ public final class FunctionTypeInfo {
   public final TypeVariableExpr[] typeVariables;
 
   /**
-   * Creates a {@code FunctionTypeInfo} for a function signature with no named parameters.
-   *
-   * @param returnType return type of function (TODO(springerm))
-   * @param requiredParamCount number of required parameters
-   * @param positionalParams types of positional parameters (must have at least {@code
-   * requiredParamCount} elements).
+   * Creates a {@code FunctionTypeInfo} for a generic function with the given type variables.
    */
   public FunctionTypeInfo(String name, String[] typeVariableNames) {
     this.name = name;
@@ -56,6 +51,42 @@ public final class FunctionTypeInfo {
 
   private static final String[] EMPTY_STRING_ARRAY = new String[0];
   private static final TypeVariableExpr[] EMPTY_TVE_ARRAY = new TypeVariableExpr[0];
+  private static final TypeExpr[] EMPTY_TYPE_EXPR_ARRAY = new TypeExpr[0];
+
+  /**
+   * Creates a {@code FunctionTypeInfo} for a function signature with no named parameters.
+   *
+   * @param returnType return type of function
+   * @param requiredParamCount number of required parameters
+   * @param positionalParams types of positional parameters (must have at least {@code
+   * requiredParamCount} elements).
+   */
+  public FunctionTypeInfo(TypeExpr returnType, int requiredParamCount,
+      TypeExpr[] positionalParams) {
+    this(returnType, requiredParamCount, positionalParams, EMPTY_STRING_ARRAY,
+        EMPTY_TYPE_EXPR_ARRAY);
+  }
+
+  /**
+   * Creates a {@code FunctionTypeInfo} for a function signature.
+   *
+   * @param returnType return type of function
+   * @param requiredParamCount number of required parameters
+   * @param positionalParams types of positional parameters (must have at least {@code
+   * requiredParamCount} elements).
+   * @param namedParamNames names of the named parameters, in any order
+   * @param namedParamTypes types of the named parameters, in the same order as {@code
+   * namedParamNames}
+   */
+  public FunctionTypeInfo(TypeExpr returnType, int requiredParamCount,
+      TypeExpr[] positionalParams, String[] namedParamNames, TypeExpr[] namedParamTypes) {
+    this.name = null;
+    this.typeVariables = EMPTY_TVE_ARRAY;
+    this.returnType = returnType;
+    this.requiredParamCount = requiredParamCount;
+    this.positionalParams = positionalParams;
+    this.namedParams = makeSortedMap(namedParamNames, namedParamTypes);
+  }
 
   /**
    * The return type of the function.
@@ -0,0 +1,288 @@
+// Copyright 2016, the Dart project authors.
+// 
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+// 
+//     http://www.apache.org/licenses/LICENSE-2.0
+// 
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dart._runtime.types.simple;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The instantiations of a generic class, keyed by their type arguments.
+ * <p>
+ * The table is an open-addressed hash table with linear probing, keyed by a hash over the
+ * identities of the type arguments (which is correct because types are canonical). Lookups need no
+ * locking and do not allocate. Insertions must hold {@link TypeConstruction#lock}. When the table
+ * is full, the entries are copied into a new table, which replaces the old one once it is
+ * complete.
+ * <p>
+ * Instantiations are only weakly referenced, so that types that are no longer used (e.g. because
+ * the classes referring to them were unloaded) can be collected. A collected instantiation is
+ * never observed by anyone, so canonicalization still holds. Slots of collected instantiations are
+ * reclaimed when the table is rebuilt.
+ * <p>
+ * Types that are still under construction are kept in a separate list of pending instantiations
+ * (see {@link TypeConstruction}).
+ */
+final class InstantiationTable {
+  private static final VarHandle ENTRIES = MethodHandles.arrayElementVarHandle(Entry[].class);
+  private static final int INITIAL_BITS = 2;
+
+  /**
+   * Entries of all tables whose instantiation was collected; guarded by
+   * {@link TypeConstruction#lock}.
+   */
+  private static final ReferenceQueue<InterfaceType> collected = new ReferenceQueue<>();
+
+  /**
+   * The number of instantiations in all tables that were not collected yet; guarded by
+   * {@link TypeConstruction#lock}.
+   */
+  private static int liveCount = 0;
+
+  private volatile Table table = new Table(INITIAL_BITS);
+
+  /**
+   * Instantiations that are still under construction; guarded by {@link TypeConstruction#lock}.
+   */
+  private final List<InterfaceType> pending = new ArrayList<>();
+
+  static int hash(Type[] typeArgs) {
+    int hash = 1;
+    for (Type type : typeArgs) {
+      hash = hash(hash, type);
+    }
+    return hash;
+  }
+
+  static int hash(int hash, Type type) {
+    return hash * 31 + System.identityHashCode(type);
+  }
+
+  /**
+   * Returns the instantiation with the given type arguments, or {@code null}.
+   */
+  InterfaceType get(Type[] typeArgs) {
+    int hash = hash(typeArgs);
+    Table t = table;
+    int mask = t.entries.length - 1;
+    for (int i = t.indexFor(hash); ; i = (i + 1) & mask) {
+      Entry e = (Entry) ENTRIES.getAcquire(t.entries, i);
+      if (e == null) {
+        return null;
+      }
+      InterfaceType type;
+      if (e.hash == hash && (type = e.get()) != null
+          && sameTypes(type.actualTypeParams, typeArgs)) {
+        return type;
+      }
+    }
+  }
+
+  /**
+   * Returns the instantiation with the single type argument {@code typeArg0}, or {@code null}.
+   */
+  InterfaceType get(Type typeArg0) {
+    int hash = hash(1, typeArg0);
+    Table t = table;
+    int mask = t.entries.length - 1;
+    for (int i = t.indexFor(hash); ; i = (i + 1) & mask) {
+      Entry e = (Entry) ENTRIES.getAcquire(t.entries, i);
+      if (e == null) {
+        return null;
+      }
+      InterfaceType type;
+      if (e.hash == hash && (type = e.get()) != null && type.actualTypeParams[0] == typeArg0) {
+        return type;
+      }
+    }
+  }
+
+  /**
+   * Returns the instantiation with the type arguments {@code typeArg0} and {@code typeArg1}, or
+   * {@code null}.
+   */
+  InterfaceType get(Type typeArg0, Type typeArg1) {
+    int hash = hash(hash(1, typeArg0), typeArg1);
+    Table t = table;
+    int mask = t.entries.length - 1;
+    for (int i = t.indexFor(hash); ; i = (i + 1) & mask) {
+      Entry e = (Entry) ENTRIES.getAcquire(t.entries, i);
+      if (e == null) {
+        return null;
+      }
+      InterfaceType type;
+      if (e.hash == hash && (type = e.get()) != null && type.actualTypeParams[0] == typeArg0
+          && type.actualTypeParams[1] == typeArg1) {
+        return type;
+      }
+    }
+  }
+
+  /**
+   * Returns the pending instantiation with the given type arguments, or {@code null}. Must be
+   * called while holding {@link TypeConstruction#lock}.
+   */
+  InterfaceType getPending(Type[] typeArgs) {
+    for (InterfaceType type : pending) {
+      if (sameTypes(type.actualTypeParams, typeArgs)) {
+        return type;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Registers an instantiation that is under construction. Once the outermost construction ends,
+   * the instantiation is moved to the table, or discarded if the construction failed. Must be
+   * called while holding {@link TypeConstruction#lock}.
+   */
+  void addPending(InterfaceType type) {
+    pending.add(type);
+    TypeConstruction.onEnd(publish -> {
+      pending.remove(type);
+      if (publish) {
+        put(type);
+      }
+    });
+  }
+
+  private void put(InterfaceType type) {
+    expungeCollected();
+    Table t = table;
+    if ((t.size + 1) * 2 > t.entries.length) {
+      // Rebuild the table without the collected instantiations, and grow it if it is still too
+      // full
+      List<Entry> live = new ArrayList<>(t.size);
+      for (Entry e : t.entries) {
+        if (e == null) {
+          continue;
+        }
+        if (e.get() != null) {
+          live.add(e);
+        } else {
+          // The entry may be dropped before it is enqueued
+          e.remove();
+        }
+      }
+      Table rebuilt = new Table((live.size() + 1) * 4 > t.entries.length ? t.bits + 1 : t.bits);
+      for (Entry e : live) {
+        rebuilt.insert(e);
+      }
+      rebuilt.insert(new Entry(hash(type.actualTypeParams), type));
+      table = rebuilt;
+    } else {
+      t.insert(new Entry(hash(type.actualTypeParams), type));
+    }
+    liveCount++;
+  }
+
+  /**
+   * Returns the number of instantiations in this table that were not collected yet.
+   */
+  int size() {
+    int size = 0;
+    for (Entry e : table.entries) {
+      if (e != null && e.get() != null) {
+        size++;
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Returns the number of instantiations in all tables that were not collected yet.
+   */
+  static int liveCount() {
+    synchronized (TypeConstruction.lock) {
+      expungeCollected();
+      return liveCount;
+    }
+  }
+
+  private static void expungeCollected() {
+    Entry e;
+    while ((e = (Entry) collected.poll()) != null) {
+      e.remove();
+    }
+  }
+
+  private static boolean sameTypes(Type[] a, Type[] b) {
+    if (a.length != b.length) {
+      return false;
+    }
+    for (int i = 0; i < a.length; i++) {
+      if (a[i] != b[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * A weakly referenced instantiation, together with the hash of its type arguments.
+   */
+  private static final class Entry extends WeakReference<InterfaceType> {
+    final int hash;
+
+    // Guarded by TypeConstruction.lock
+    private boolean removed = false;
+
+    Entry(int hash, InterfaceType type) {
+      super(type, collected);
+      this.hash = hash;
+    }
+
+    /**
+     * Accounts for the collection of this entry's instantiation, unless that was done already.
+     */
+    void remove() {
+      if (!removed) {
+        removed = true;
+        liveCount--;
+      }
+    }
+  }
+
+  private static final class Table {
+    final int bits;
+    final Entry[] entries;
+
+    // Only modified while holding TypeConstruction.lock
+    int size = 0;
+
+    Table(int bits) {
+      this.bits = bits;
+      this.entries = new Entry[1 << bits];
+    }
+
+    int indexFor(int hash) {
+      // Fibonacci hashing
+      return (hash * 0x9E3779B9) >>> (32 - bits);
+    }
+
+    void insert(Entry entry) {
+      int mask = entries.length - 1;
+      int i = indexFor(entry.hash);
+      while (entries[i] != null) {
+        i = (i + 1) & mask;
+      }
+      ENTRIES.setRelease(entries, i, entry);
+      size++;
+    }
+  }
+}
@@ -14,11 +14,19 @@
 
 package dart._runtime.types.simple;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
 /**
  * Representation of a Dart interface type.
  */
 public class InterfaceType extends Type {
   private static final InterfaceType[] EMPTY_INTERFACE_TYPE_ARRAY = null;
+  private static final InterfaceTypeInfo[] EMPTY_INFO_ARRAY = new InterfaceTypeInfo[0];
 
   /**
    * The "raw class" for this interface type; represents a declaration like
@@ -55,6 +63,30 @@ public class InterfaceType extends Type {
    */
   public final Type[] actualTypeParams;
 
+  /**
+   * The supertype display: all interface types that this type is a subclass of (including this
+   * type itself), as an open-addressed hash table keyed by {@link InterfaceTypeInfo#id}.
+   * <p>
+   * Computed by {@link #finishInitialization}. If a supertype was still incomplete at that time
+   * (cyclic declaration), the display is {@code null} and subtype checks walk the supertype graph
+   * instead.
+   */
+  private InterfaceType[] display;
+
+  /**
+   * The classes that are supertypes of this type with different type arguments, e.g.
+   * {@code Comparable} if {@code class B extends A implements Comparable<int>} and
+   * {@code class A implements Comparable<num>}. The display has an arbitrary one of these
+   * supertypes, so subtype checks against these classes walk the supertype graph. Usually empty.
+   */
+  private InterfaceTypeInfo[] conflicts = EMPTY_INFO_ARRAY;
+
+  /**
+   * Memoized results of subtype checks that walked the supertype graph, created on first use. The
+   * other types are only weakly referenced, like the instantiations in {@link InstantiationTable}.
+   */
+  private volatile Map<InterfaceType, Boolean> slowResults;
+
   /**
    * The Java class to use for references to this Type.
    * <p>
@@ -94,10 +126,133 @@ public class InterfaceType extends Type {
       superEnv = superEnv.extend(this.mixin.info.typeVariables, this.mixin.actualTypeParams);
     }
     this.env = superEnv.extend(this.info.typeVariables, this.actualTypeParams);
+    buildDisplay();
+  }
+
+  private void buildDisplay() {
+    List<InterfaceType> supertypes = new ArrayList<>();
+    List<InterfaceTypeInfo> conflicts = new ArrayList<>();
+    supertypes.add(this);
+    for (InterfaceType direct : directSupertypes()) {
+      if (direct.display == null) {
+        // An incomplete type (cyclic declaration)
+        return;
+      }
+      for (InterfaceType s : direct.display) {
+        if (s != null) {
+          supertypes.add(s);
+        }
+      }
+      for (InterfaceTypeInfo info : direct.conflicts) {
+        if (!conflicts.contains(info)) {
+          conflicts.add(info);
+        }
+      }
+    }
+
+    // Load factor of at most 1/2
+    int capacity = Integer.highestOneBit(supertypes.size() * 2 - 1) << 1;
+    InterfaceType[] result = new InterfaceType[capacity];
+    for (InterfaceType s : supertypes) {
+      int i = s.info.id & (capacity - 1);
+      while (result[i] != null && result[i].info != s.info) {
+        i = (i + 1) & (capacity - 1);
+      }
+      if (result[i] == null) {
+        result[i] = s;
+      } else if (result[i] != s && !conflicts.contains(s.info)) {
+        // Implements the same class with different type arguments
+        conflicts.add(s.info);
+      }
+    }
+    if (!conflicts.isEmpty()) {
+      this.conflicts = conflicts.toArray(EMPTY_INFO_ARRAY);
+    }
+    this.display = result;
+  }
+
+  private List<InterfaceType> directSupertypes() {
+    List<InterfaceType> result = new ArrayList<>(interfaces.length + 2);
+    if (supertype != null) {
+      result.add(supertype);
+    }
+    if (mixin != null) {
+      result.add(mixin);
+    }
+    result.addAll(Arrays.asList(interfaces));
+    return result;
+  }
+
+  /**
+   * Returns the supertype of this type with the same class as {@code info}, or {@code null}. Only
+   * valid if this type has a supertype display.
+   */
+  private InterfaceType lookupSupertype(InterfaceTypeInfo info) {
+    int mask = display.length - 1;
+    for (int i = info.id & mask; ; i = (i + 1) & mask) {
+      InterfaceType s = display[i];
+      if (s == null || s.info == info) {
+        return s;
+      }
+    }
   }
 
   @Override
   protected boolean isSubtypeOfInterfaceType(InterfaceType other) {
+    if (display != null && !hasConflict(other.info)) {
+      InterfaceType s = lookupSupertype(other.info);
+      return s != null && (s == other || s.hasSubtypeArguments(other));
+    }
+
+    Map<InterfaceType, Boolean> results = slowResults;
+    if (results != null) {
+      Boolean result = results.get(other);
+      if (result != null) {
+        return result;
+      }
+    }
+    if (TypeMetrics.ENABLED) {
+      TypeMetrics.slowSubtypeChecks.increment();
+    }
+    boolean result = isSubtypeOfInterfaceTypeSlow(other);
+    // The supertypes of types under construction may still change
+    if (!TypeConstruction.isActive()) {
+      if (results == null) {
+        synchronized (this) {
+          if (slowResults == null) {
+            slowResults = Collections.synchronizedMap(new WeakHashMap<>());
+          }
+          results = slowResults;
+        }
+      }
+      results.put(other, result);
+    }
+    return result;
+  }
+
+  private boolean hasConflict(InterfaceTypeInfo info) {
+    for (InterfaceTypeInfo conflict : conflicts) {
+      if (conflict == info) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns true if all type arguments of this type are subtypes of the corresponding arguments
+   * of {@code other}, which must have the same class.
+   */
+  private boolean hasSubtypeArguments(InterfaceType other) {
+    for (int i = 0; i < actualTypeParams.length; i++) {
+      if (!this.actualTypeParams[i].isSubtypeOf(other.actualTypeParams[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean isSubtypeOfInterfaceTypeSlow(InterfaceType other) {
     if (this.info == other.info) {
       // Same base class; check type parameters
       for (int i = 0; i < info.typeVariables.length; i++) {
@@ -108,14 +263,14 @@ public class InterfaceType extends Type {
       return true;
     } else {
       // Check this type's supertypes.
-      if (supertype != null && supertype.isSubtypeOfInterfaceType(other)) {
+      if (supertype != null && supertype.isSubtypeOfInterfaceTypeSlow(other)) {
         return true;
       }
-      if (mixin != null && mixin.isSubtypeOfInterfaceType(other)) {
+      if (mixin != null && mixin.isSubtypeOfInterfaceTypeSlow(other)) {
         return true;
       }
       for (InterfaceType interface_ : interfaces) {
-        if (interface_.isSubtypeOfInterfaceType(other)) {
+        if (interface_.isSubtypeOfInterfaceTypeSlow(other)) {
           return true;
         }
       }
@@ -14,14 +14,12 @@
 
 package dart._runtime.types.simple;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * A {@link TypeExpr} that evaluates to a Dart interface type.
  */
 public final class InterfaceTypeExpr extends TypeExpr {
   private static final TypeExpr[] EMPTY_TYPE_EXPR_ARRAY = new TypeExpr[0];
+  private static final Type[] EMPTY_TYPE_ARRAY = new Type[0];
   private final InterfaceTypeInfo info;
   private final TypeExpr[] typeArgs;
 
@@ -52,38 +50,78 @@ public final class InterfaceTypeExpr extends TypeExpr {
 
   @Override
   Type evaluateUncached(TypeEnvironment env) {
-    List<Type> actualTypeParams = new ArrayList<>(typeArgs.length);
-    for (TypeExpr e : typeArgs) {
-      actualTypeParams.add(env.evaluate(e));
+    // Look up existing instantiations without allocating
+    InterfaceType result;
+    switch (typeArgs.length) {
+      case 0:
+        result = info.instantiations.get(EMPTY_TYPE_ARRAY);
+        return result != null ? result : instantiate(env, EMPTY_TYPE_ARRAY);
+      case 1: {
+        Type typeArg0 = env.evaluate(typeArgs[0]);
+        result = info.instantiations.get(typeArg0);
+        return result != null ? result : instantiate(env, new Type[] {typeArg0});
+      }
+      case 2: {
+        Type typeArg0 = env.evaluate(typeArgs[0]);
+        Type typeArg1 = env.evaluate(typeArgs[1]);
+        result = info.instantiations.get(typeArg0, typeArg1);
+        return result != null ? result : instantiate(env, new Type[] {typeArg0, typeArg1});
+      }
+      default: {
+        Type[] actualTypeParams = new Type[typeArgs.length];
+        for (int i = 0; i < typeArgs.length; i++) {
+          actualTypeParams[i] = env.evaluate(typeArgs[i]);
+        }
+        result = info.instantiations.get(actualTypeParams);
+        return result != null ? result : instantiate(env, actualTypeParams);
+      }
     }
-    InterfaceType result = info.instantiationCache.get(actualTypeParams);
-    if (result == null) {
+  }
+
+  private InterfaceType instantiate(TypeEnvironment env, Type[] actualTypeParams) {
+    synchronized (TypeConstruction.lock) {
+      InterfaceType result = info.instantiations.get(actualTypeParams);
+      if (result == null) {
+        result = info.instantiations.getPending(actualTypeParams);
+      }
+      if (result != null) {
+        return result;
+      }
+
       // We have to be a bit careful here, because of possible circular references in the supertypes
       // of result. For example, consider the class declaration `num implements Comparable<num>`. If
       // we waited until the end of this method to store `num` in the cache, we would reach an
       // infinite cycle where (1) we see the declaration `Comparable<num>`, (2) we evaluate the type
       // parameter `<num>`, which in turn evaluates the interface declaration `Comparable<num>`,
-      // bringing us back to (1). To cut short this infinite regress, we store `num` in the cache
-      // before evaluating the supertype declaration, so instead of recursing, step (2) will just
-      // return the cached instance of `num`. This instance will be incomplete (its superclass,
-      // mixin, and interfaces fields will all be null), but it will already be allocated and it
-      // will be completed once we get back to the first call to evaluateUncached.
+      // bringing us back to (1). To cut short this infinite regress, we store `num` in the pending
+      // instantiations before evaluating the supertype declaration, so instead of recursing, step
+      // (2) will just return the pending instance of `num`. This instance will be incomplete (its
+      // superclass, mixin, and interfaces fields will all be null), but it will already be
+      // allocated and it will be completed once we get back to the first call to instantiate.
+      // Other threads only see it once the outermost construction is done (see TypeConstruction).
 
-      Type[] actualTypeArgsArray = actualTypeParams.toArray(new Type[typeArgs.length]);
       // Create a temporary type environment that binds the type variables for this new type
       // (but not the type variables of its superclasses or mixins).
-      env = env.extend(info.typeVariables, actualTypeArgsArray);
-      result = new InterfaceType(info, actualTypeArgsArray);
-      info.instantiationCache.put(actualTypeParams, result);
-      result.supertype = info.superclass != null ? env.evaluate(info.superclass) : null;
-      result.mixin = info.mixin != null ? env.evaluate(info.mixin) : null;
-      result.interfaces = new InterfaceType[info.interfaces.length];
-      for (int i = 0; i < info.interfaces.length; i++) {
-        result.interfaces[i] = env.evaluate(info.interfaces[i]);
+      env = env.extend(info.typeVariables, actualTypeParams);
+      result = new InterfaceType(info, actualTypeParams);
+
+      boolean completed = false;
+      TypeConstruction.begin();
+      try {
+        info.instantiations.addPending(result);
+        result.supertype = info.superclass != null ? env.evaluate(info.superclass) : null;
+        result.mixin = info.mixin != null ? env.evaluate(info.mixin) : null;
+        result.interfaces = new InterfaceType[info.interfaces.length];
+        for (int i = 0; i < info.interfaces.length; i++) {
+          result.interfaces[i] = env.evaluate(info.interfaces[i]);
+        }
+        result.finishInitialization();
+        completed = true;
+      } finally {
+        TypeConstruction.end(completed);
       }
-      result.finishInitialization();
+      return result;
     }
-    return result;
   }
 
   private static String keyFor(InterfaceTypeInfo info, TypeExpr[] typeArgs) {
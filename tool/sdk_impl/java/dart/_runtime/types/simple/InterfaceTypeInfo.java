@@ -14,9 +14,7 @@
 
 package dart._runtime.types.simple;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A representation of a Dart {@code class} declaration.
@@ -34,7 +32,18 @@ public final class InterfaceTypeInfo {
   public final Class<?> javaClass;
   public final Class<?> javaInterface;
 
-  final Map<List<Type>, InterfaceType> instantiationCache = new HashMap<>();
+  /**
+   * A dense integer that identifies this class declaration, used to look up supertypes in
+   * {@link InterfaceType}'s supertype display.
+   */
+  final int id = nextId.getAndIncrement();
+
+  private static final AtomicInteger nextId = new AtomicInteger();
+
+  /**
+   * The canonical instantiations of this class.
+   */
+  final InstantiationTable instantiations = new InstantiationTable();
 
   private static final String[] EMTPY_STRING_ARRAY = new String[0];
   private static final InterfaceTypeExpr[] EMPTY_ITE_ARRAY = new InterfaceTypeExpr[0];
@@ -80,5 +89,8 @@ public final class InterfaceTypeInfo {
     for (int i = 0; i < typeVariables.length; i++) {
       this.typeVariables[i] = new TypeVariableExpr(this.fullName, typeVariableNames[i]);
     }
+    if (TypeMetrics.ENABLED) {
+      TypeMetrics.register(this);
+    }
   }
 }
@@ -14,9 +14,6 @@
 
 package dart._runtime.types.simple;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * A representation of a Dart type.
  * <p>
@@ -42,29 +39,30 @@ public abstract class Type {
     env = TypeEnvironment.ROOT;
   }
 
-  private final Map<Type, Boolean> isSubtypeOfCache = new HashMap<>();
-
   /**
    * Tests whether this type is a subtype of {@code other}.
+   * <p>
+   * Results are not cached: checks against interface types are a lookup in the supertype display
+   * of this type (see {@link InterfaceType#isSubtypeOfInterfaceType}).
    *
    * @param other other type
    * @return true if this &lt;: other
    */
   public final boolean isSubtypeOf(Type other) {
-    Boolean result = isSubtypeOfCache.get(other);
-    if (result == null) {
-      if (other instanceof InterfaceType) {
-        result = Boolean.valueOf(isSubtypeOfInterfaceType((InterfaceType) other));
-      } else if (other instanceof FunctionType) {
-        result = Boolean.valueOf(isSubtypeOfFunctionType((FunctionType) other));
-      } else if (other == TopType.INSTANCE || other == VoidType.INSTANCE) {
-        result = Boolean.TRUE;
-      } else {
-        throw new IllegalArgumentException("Unrecognized Type of class " + other.getClass());
-      }
-      isSubtypeOfCache.put(other, result);
+    if (TypeMetrics.ENABLED) {
+      TypeMetrics.subtypeChecks.increment();
+    }
+    if (this == other) {
+      return true;
+    } else if (other instanceof InterfaceType) {
+      return isSubtypeOfInterfaceType((InterfaceType) other);
+    } else if (other instanceof FunctionType) {
+      return isSubtypeOfFunctionType((FunctionType) other);
+    } else if (other == TopType.INSTANCE || other == VoidType.INSTANCE) {
+      return true;
+    } else {
+      throw new IllegalArgumentException("Unrecognized Type of class " + other.getClass());
     }
-    return result.booleanValue();
   }
 
   protected abstract boolean isSubtypeOfInterfaceType(InterfaceType other);
@@ -84,10 +82,16 @@ public abstract class Type {
    * @return o if cast succeeds
    */
   public final Object check(Object o) {
+    if (TypeMetrics.ENABLED) {
+      TypeMetrics.checks.increment();
+    }
     Type other = dart._runtime.helpers.TypeSystemHelper.getTrueType(o);
     if (other.isSubtypeOf(this)) {
       return o;
     } else {
+      if (TypeMetrics.ENABLED) {
+        TypeMetrics.checkFailures.increment();
+      }
       // TODO(andrewkrieger,springerm): Proper Dart exceptions.
       throw new RuntimeException("TypeError: " + other + " is not a subtype of " + this);
     }
@@ -106,10 +110,16 @@ public abstract class Type {
    * @return o if cast succeeds
    */
   public final Object cast(Object o) {
+    if (TypeMetrics.ENABLED) {
+      TypeMetrics.casts.increment();
+    }
     Type other = dart._runtime.helpers.TypeSystemHelper.getTrueType(o);
     if (other.isSubtypeOf(this)) {
       return o;
     } else {
+      if (TypeMetrics.ENABLED) {
+        TypeMetrics.castFailures.increment();
+      }
       // TODO(andrewkrieger,springerm): Proper Dart exceptions.
       throw new RuntimeException("CastError: " + other + " is not a subtype of " + this);
     }
@@ -0,0 +1,94 @@
+// Copyright 2016, the Dart project authors.
+// 
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+// 
+//     http://www.apache.org/licenses/LICENSE-2.0
+// 
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package dart._runtime.types.simple;
+
+/**
+ * Reports the sizes of the type caches in this package, e.g. for monitoring the memory used by
+ * long-running programs.
+ * <p>
+ * All caches are bounded or only weakly reference their types, so the numbers reported here may
+ * decrease over time. The results are snapshots and may be outdated as soon as they are returned.
+ */
+public final class TypeCaches {
+  private TypeCaches() {}
+
+  /**
+   * Returns the number of canonical instantiations of generic classes that are currently alive.
+   */
+  public static int liveInterfaceTypes() {
+    return InstantiationTable.liveCount();
+  }
+
+  /**
+   * Returns the number of canonical function types that are currently alive.
+   */
+  public static int liveFunctionTypes() {
+    return FunctionType.cacheSize();
+  }
+
+  /**
+   * Returns the number of instantiations of the class described by {@code info} that are currently
+   * alive.
+   */
+  public static int instantiationCount(InterfaceTypeInfo info) {
+    return info.instantiations.size();
+  }
+
+  /**
+   * Returns the number of evaluation results cached by {@code env}.
+   */
+  public static int evaluationCacheSize(TypeEnvironment env) {
+    return env.cacheSize();
+  }
+
+  /**
+   * Returns the number of times that the evaluation cache of {@code env} evicted the results that
+   * were not used during the previous generation.
+   */
+  public static int evaluationCacheEvictions(TypeEnvironment env) {
+    return env.cacheEvictions();
+  }
+
+  /**
+   * Returns whether the result of evaluating {@code expr} in {@code env} is currently cached.
+   * Unlike {@link TypeEnvironment#evaluate}, does not count as a use of the result.
+   */
+  public static boolean isEvaluationCached(TypeEnvironment env, TypeExpr expr) {
+    return env.isCached(expr);
+  }
+
+  /**
+   * Returns the maximum number of evaluation results that a {@link TypeEnvironment} caches.
+   */
+  public static int maxEvaluationCacheSize() {
+    return TypeExprCache.MAX_SIZE;
+  }
+
+  /**
+   * Returns the number of distinct keys of type expressions that currently have an id.
+   */
+  public static int typeExprIds() {
+    return TypeExpr.idCount();
+  }
+
+  /**
+   * Returns the number of extensions of {@code env} that are memoized (including extensions that
+   * were collected but whose slots were not reclaimed yet).
+   */
+  public static int extensionCacheSize(TypeEnvironment env) {
+    return env.extensionCount();
+  }
+}
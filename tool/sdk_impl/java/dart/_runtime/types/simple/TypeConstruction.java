@@ -0,0 +1,89 @@
+// Copyright 2016, the Dart project authors.
+// 
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+// 
+//     http://www.apache.org/licenses/LICENSE-2.0
+// 
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dart._runtime.types.simple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Coordinates the construction of new {@link Type} instances between threads.
+ * <p>
+ * All type caches in this package are concurrent maps that are read without locking. Creating a
+ * new type, however, can require creating other types first, and because of cyclic supertype
+ * declarations (e.g. {@code num implements Comparable<num>}) some of these types are only complete
+ * once the outermost construction has finished. Therefore, types are constructed while holding
+ * {@link #lock}, and newly created types are kept in "pending" maps (guarded by {@link #lock})
+ * until the outermost construction finishes. Only then are they published to the concurrent
+ * caches, so other threads never observe an incomplete type.
+ */
+final class TypeConstruction {
+  /**
+   * Lock that must be held while creating new types.
+   */
+  static final Object lock = new Object();
+
+  // Guarded by lock.
+  private static int depth = 0;
+  private static final List<Consumer<Boolean>> pendingActions = new ArrayList<>();
+
+  private TypeConstruction() {}
+
+  /**
+   * Returns true if the current thread is constructing types.
+   * <p>
+   * Results computed by such a thread may refer to incomplete types and must not be stored in any
+   * cache that other threads can read.
+   */
+  static boolean isActive() {
+    return Thread.holdsLock(lock);
+  }
+
+  /**
+   * Marks the beginning of a (possibly nested) construction. Must be called while holding
+   * {@link #lock} and must be followed by a call to {@link #end}.
+   */
+  static void begin() {
+    depth++;
+  }
+
+  /**
+   * Marks the end of a construction. Once the outermost construction ends, all pending actions are
+   * run, with argument {@code true} if all constructions completed normally.
+   */
+  static void end(boolean completed) {
+    if (--depth == 0) {
+      try {
+        for (Consumer<Boolean> action : pendingActions) {
+          action.accept(completed);
+        }
+      } finally {
+        pendingActions.clear();
+      }
+    }
+  }
+
+  /**
+   * Registers an action to publish (argument {@code true}) or discard (argument {@code false}) a
+   * pending type once the outermost construction ends. Must be called while holding {@link #lock}.
+   */
+  static void onEnd(Consumer<Boolean> action) {
+    if (depth == 0) {
+      action.accept(Boolean.TRUE);
+    } else {
+      pendingActions.add(action);
+    }
+  }
+}
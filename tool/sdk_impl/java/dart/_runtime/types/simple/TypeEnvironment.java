@@ -14,9 +14,9 @@
 
 package dart._runtime.types.simple;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.SoftReference;
 
 /**
  * A type scope that maps zero or more {@link TypeVariableExpr}s to {@link Type}s.
@@ -24,6 +24,13 @@ import java.util.Map;
  * A {@code TypeEnvironment} is basically a {@code Map<TypeVariableExpr, Type>}, except with a
  * simpler interface. We use this interface rather than having generic classes and functions return
  * a {@code Map} so that they can delegate to other {@code TypeEnvironment}s.
+ * <p>
+ * The bindings of an environment and all of its enclosing environments are stored in two flat
+ * arrays, so resolving a type variable does not walk a chain of environments. Environments are
+ * memoized: extending an environment with the same type variables and (identical) values returns
+ * the same environment, along with the evaluation results cached in it. Once warm, calls to
+ * {@link #extend} do not allocate. Memoized environments are softly referenced, so environments
+ * that are no longer used can be collected when memory runs low.
  */
 public final class TypeEnvironment {
   /**
@@ -31,22 +38,52 @@ public final class TypeEnvironment {
    */
   public static final TypeEnvironment ROOT = new TypeEnvironment();
 
-  private final TypeEnvironment parent;
-  private final Map<TypeVariableExpr, Type> values;
-  final Map<String, Type> cache = new HashMap<>();
+  private static final VarHandle EXTENSIONS =
+      MethodHandles.arrayElementVarHandle(Extension[].class);
+  private static final int INITIAL_EXTENSIONS_LENGTH = 4;
+
+  /**
+   * The bound type variables, including those of the enclosing environments. Bindings of inner
+   * environments come last, so that they shadow outer bindings.
+   */
+  private final TypeVariableExpr[] variables;
+
+  /**
+   * The values of the type variables in {@link #variables}, in the same order.
+   */
+  private final Type[] values;
+
+  final TypeExprCache cache = new TypeExprCache();
+
+  /**
+   * Memoized extensions of this environment, a hash table with chaining that is keyed by the
+   * identities of the type variables and values. Allocated by the first call to {@link #extend}.
+   * Buckets are read without locking; insertions are synchronized on this environment. Entries
+   * whose environment was collected are dropped when the table is rebuilt.
+   */
+  private volatile Extension[] extensions;
+
+  // Guarded by this
+  private int extensionCount = 0;
 
   private TypeEnvironment() {
-    this.parent = null;
-    this.values = Collections.emptyMap();
+    this.variables = new TypeVariableExpr[0];
+    this.values = new Type[0];
   }
 
-  private TypeEnvironment(TypeEnvironment parent, Map<TypeVariableExpr, Type> values) {
-    this.parent = parent;
-    this.values = Collections.unmodifiableMap(values);
+  private TypeEnvironment(TypeEnvironment parent, TypeVariableExpr[] typeVariables,
+      Type[] actualTypeParams) {
+    int parentLength = parent.variables.length;
+    this.variables = new TypeVariableExpr[parentLength + typeVariables.length];
+    this.values = new Type[parentLength + typeVariables.length];
+    System.arraycopy(parent.variables, 0, variables, 0, parentLength);
+    System.arraycopy(parent.values, 0, values, 0, parentLength);
+    System.arraycopy(typeVariables, 0, variables, parentLength, typeVariables.length);
+    System.arraycopy(actualTypeParams, 0, values, parentLength, typeVariables.length);
   }
 
   /**
-   * Creates a new {@code TypeEnvironment} that binds the listed variables to the given values.
+   * Returns a {@code TypeEnvironment} that binds the listed variables to the given values.
    *
    * @param typeVariables variables to bind
    * @param actualTypeParams values for the variables (in the same order)
@@ -58,12 +95,182 @@ public final class TypeEnvironment {
     }
     if (typeVariables.length == 0) {
       return this;
-    } else {
-      Map<TypeVariableExpr, Type> map = new HashMap<>(typeVariables.length);
-      for (int i = 0; i < typeVariables.length; i++) {
-        map.put(typeVariables[i], actualTypeParams[i]);
+    }
+
+    int hash = System.identityHashCode(typeVariables);
+    for (Type value : actualTypeParams) {
+      hash = hash(hash, value);
+    }
+    for (Extension e = bucket(hash); e != null; e = e.next) {
+      TypeEnvironment env;
+      if (e.matches(hash, typeVariables, actualTypeParams) && (env = e.get()) != null) {
+        return env;
+      }
+    }
+    return addExtension(hash, typeVariables, actualTypeParams.clone());
+  }
+
+  /**
+   * Like {@link #extend(TypeVariableExpr[], Type[])}, but for a single type variable. Avoids
+   * allocating an array in generated code.
+   */
+  public TypeEnvironment extend(TypeVariableExpr[] typeVariables, Type value0) {
+    if (typeVariables.length != 1) {
+      throw new IllegalArgumentException("Mismatched number of variables and values");
+    }
+
+    int hash = hash(System.identityHashCode(typeVariables), value0);
+    for (Extension e = bucket(hash); e != null; e = e.next) {
+      TypeEnvironment env;
+      if (e.hash == hash && e.typeVariables == typeVariables && e.values[0] == value0
+          && (env = e.get()) != null) {
+        return env;
+      }
+    }
+    return addExtension(hash, typeVariables, new Type[] {value0});
+  }
+
+  /**
+   * Like {@link #extend(TypeVariableExpr[], Type[])}, but for two type variables. Avoids
+   * allocating an array in generated code.
+   */
+  public TypeEnvironment extend(TypeVariableExpr[] typeVariables, Type value0, Type value1) {
+    if (typeVariables.length != 2) {
+      throw new IllegalArgumentException("Mismatched number of variables and values");
+    }
+
+    int hash = hash(hash(System.identityHashCode(typeVariables), value0), value1);
+    for (Extension e = bucket(hash); e != null; e = e.next) {
+      TypeEnvironment env;
+      if (e.hash == hash && e.typeVariables == typeVariables && e.values[0] == value0
+          && e.values[1] == value1 && (env = e.get()) != null) {
+        return env;
+      }
+    }
+    return addExtension(hash, typeVariables, new Type[] {value0, value1});
+  }
+
+  private static int hash(int hash, Type value) {
+    return hash * 31 + System.identityHashCode(value);
+  }
+
+  private static int indexFor(int hash, int length) {
+    return (hash ^ (hash >>> 16)) & (length - 1);
+  }
+
+  private Extension bucket(int hash) {
+    Extension[] table = extensions;
+    if (table == null) {
+      return null;
+    }
+    return (Extension) EXTENSIONS.getAcquire(table, indexFor(hash, table.length));
+  }
+
+  private synchronized TypeEnvironment addExtension(int hash, TypeVariableExpr[] typeVariables,
+      Type[] actualTypeParams) {
+    // Another thread might have added the extension in the meantime
+    for (Extension e = bucket(hash); e != null; e = e.next) {
+      TypeEnvironment env;
+      if (e.matches(hash, typeVariables, actualTypeParams) && (env = e.get()) != null) {
+        return env;
+      }
+    }
+
+    Extension[] table = extensions;
+    if (table == null) {
+      table = new Extension[INITIAL_EXTENSIONS_LENGTH];
+    } else if ((extensionCount + 1) * 4 > table.length * 3) {
+      // Rebuild the table without the collected environments, and grow it if it is still too full
+      int live = 0;
+      for (Extension head : table) {
+        for (Extension e = head; e != null; e = e.next) {
+          if (e.get() != null) {
+            live++;
+          }
+        }
+      }
+      int length = (live + 1) * 4 > table.length * 3 / 2 ? table.length * 2 : table.length;
+      Extension[] rebuilt = new Extension[length];
+      for (Extension head : table) {
+        for (Extension e = head; e != null; e = e.next) {
+          TypeEnvironment env = e.get();
+          if (env != null) {
+            int i = indexFor(e.hash, rebuilt.length);
+            rebuilt[i] = new Extension(e.hash, e.typeVariables, e.values, env, rebuilt[i]);
+          }
+        }
+      }
+      table = rebuilt;
+      extensionCount = live;
+    }
+
+    TypeEnvironment env = new TypeEnvironment(this, typeVariables, actualTypeParams);
+    int i = indexFor(hash, table.length);
+    EXTENSIONS.setRelease(table, i,
+        new Extension(hash, typeVariables, actualTypeParams, env, table[i]));
+    extensions = table;
+    extensionCount++;
+    return env;
+  }
+
+  /**
+   * Returns the number of results cached in this environment.
+   */
+  int cacheSize() {
+    return cache.size();
+  }
+
+  /**
+   * Returns the number of times that the old generation of the cache of this environment was
+   * dropped.
+   */
+  int cacheEvictions() {
+    return cache.evictions();
+  }
+
+  /**
+   * Returns whether the result of evaluating {@code expr} is cached in this environment.
+   */
+  boolean isCached(TypeExpr expr) {
+    return cache.contains(expr.id);
+  }
+
+  /**
+   * Returns the number of memoized extensions of this environment (including extensions that were
+   * collected since the table was last rebuilt).
+   */
+  synchronized int extensionCount() {
+    return extensionCount;
+  }
+
+  /**
+   * A memoized result of {@link #extend}.
+   */
+  private static final class Extension extends SoftReference<TypeEnvironment> {
+    final int hash;
+    final TypeVariableExpr[] typeVariables;
+    final Type[] values;
+    final Extension next;
+
+    Extension(int hash, TypeVariableExpr[] typeVariables, Type[] values, TypeEnvironment env,
+        Extension next) {
+      super(env);
+      this.hash = hash;
+      this.typeVariables = typeVariables;
+      this.values = values;
+      this.next = next;
+    }
+
+    boolean matches(int hash, TypeVariableExpr[] typeVariables, Type[] values) {
+      if (this.hash != hash || this.typeVariables != typeVariables) {
+        return false;
+      }
+      for (int i = 0; i < values.length; i++) {
+        if (this.values[i] != values[i]) {
+          return false;
+        }
       }
-      return new TypeEnvironment(this, map);
+      return true;
     }
   }
 
@@ -74,10 +281,19 @@ public final class TypeEnvironment {
    * @return value of the type expression
    */
   public Type evaluate(TypeExpr expr) {
-    Type result = cache.get(expr.key);
+    if (TypeMetrics.ENABLED) {
+      TypeMetrics.evaluations.increment();
+    }
+    Type result = cache.get(expr.id);
     if (result == null) {
+      if (TypeMetrics.ENABLED) {
+        TypeMetrics.evaluationMisses.increment();
+      }
       result = expr.evaluateUncached(this);
-      cache.put(expr.key, result);
+      // Types under construction must not be visible to other threads yet
+      if (!TypeConstruction.isActive()) {
+        result = cache.putIfAbsent(expr.id, result);
+      }
     }
     return result;
   }
@@ -118,10 +334,12 @@ public final class TypeEnvironment {
    * default implementation of {@link #resolve}.
    */
   Type tryResolve(TypeVariableExpr var) {
-    Type result = values.get(var);
-    if (result == null && parent != null) {
-      result = parent.tryResolve(var);
+    // Search from the end, inner bindings shadow outer ones
+    for (int i = variables.length - 1; i >= 0; i--) {
+      if (variables[i] == var) {
+        return values[i];
+      }
     }
-    return result;
+    return null;
   }
 }
@@ -14,15 +14,112 @@
 
 package dart._runtime.types.simple;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * A type expression that can be evaluated to a {@link Type} relative to a {@link TypeEnvironment}.
  */
 public abstract class TypeExpr {
+  /**
+   * The ids of the keys of type expressions that are alive.
+   * <p>
+   * Ids are softly referenced, so that the keys of type expressions that are no longer used do
+   * not accumulate, but expressions that are built again for every evaluation (e.g. by the
+   * iterators of lists) keep their id across garbage collections. An id is only removed once no
+   * type expression refers to it. Ids are never reused: a later type expression with the same key
+   * gets a new id, and the results cached for the old id are eventually evicted from the caches of
+   * the {@link TypeEnvironment}s.
+   */
+  private static final ConcurrentHashMap<String, Entry> ids = new ConcurrentHashMap<>();
+
+  /**
+   * Entries of {@link #ids} whose id was garbage collected; guarded by {@link #ids}.
+   */
+  private static final ReferenceQueue<Id> collectedIds = new ReferenceQueue<>();
+
+  // Guarded by ids
+  private static int nextId = 0;
+
   final String key;
 
+  /**
+   * A dense integer that identifies the {@link #key} of this type expression.
+   * <p>
+   * Type expressions with equal keys that are alive at the same time have the same id.
+   * {@link TypeEnvironment} uses the id to look up cached results, so that evaluating a type
+   * expression does not have to hash the key.
+   */
+  final int id;
+
+  /**
+   * Keeps the entry of {@link #key} in {@link #ids} alive.
+   */
+  private final Id canonicalId;
+
   TypeExpr(String key) {
     this.key = key;
+    this.canonicalId = idFor(key);
+    this.id = canonicalId.value;
   }
 
   abstract Type evaluateUncached(TypeEnvironment env);
+
+  private static Id idFor(String key) {
+    Entry entry = ids.get(key);
+    Id result = entry == null ? null : entry.get();
+    if (result == null) {
+      synchronized (ids) {
+        expungeCollectedIds();
+        entry = ids.get(key);
+        result = entry == null ? null : entry.get();
+        if (result == null) {
+          result = new Id(nextId++);
+          ids.put(key, new Entry(key, result));
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of keys of type expressions that currently have an id.
+   */
+  static int idCount() {
+    synchronized (ids) {
+      expungeCollectedIds();
+      return ids.size();
+    }
+  }
+
+  private static void expungeCollectedIds() {
+    Entry entry;
+    while ((entry = (Entry) collectedIds.poll()) != null) {
+      ids.remove(entry.key, entry);
+    }
+  }
+
+  /**
+   * The id of a key, shared by all type expressions with that key.
+   */
+  private static final class Id {
+    final int value;
+
+    Id(int value) {
+      this.value = value;
+    }
+  }
+
+  /**
+   * A softly referenced entry of {@link #ids}.
+   */
+  private static final class Entry extends SoftReference<Id> {
+    final String key;
+
+    Entry(String key, Id id) {
+      super(id, collectedIds);
+      this.key = key;
+    }
+  }
 }
@@ -0,0 +1,168 @@
+// Copyright 2016, the Dart project authors.
+// 
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+// 
+//     http://www.apache.org/licenses/LICENSE-2.0
+// 
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package dart._runtime.types.simple;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A map from {@link TypeExpr#id}s to {@link Type}s, used by {@link TypeEnvironment} to cache the
+ * results of {@link TypeEnvironment#evaluate}.
+ * <p>
+ * The map is an open-addressed hash table with linear probing. Entries are never removed or
+ * overwritten, so lookups need no locking: a slot is published by writing its value (with release
+ * semantics) after its id. Insertions are synchronized. When the table grows, the entries are
+ * copied into a new table, which replaces the old one once it is complete.
+ * <p>
+ * The cache is bounded and keeps two generations of tables. New results are inserted into the
+ * young table. Once the young table is full (at {@link #MAX_BITS}), it becomes the old table and
+ * the previous old table is dropped. A lookup that hits the old table copies the entry back into
+ * the young table, so results that are used in every generation are never evicted, while results
+ * that were used only once are dropped after at most two generations. Evicted results are simply
+ * evaluated again.
+ */
+final class TypeExprCache {
+  private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(Type[].class);
+  private static final int INITIAL_BITS = 3;
+  private static final int MAX_BITS = 11;
+
+  /**
+   * The maximum number of entries in both generations. Tables are at most half full.
+   */
+  static final int MAX_SIZE = 2 * ((1 << MAX_BITS) / 2);
+
+  private static final Table EMPTY = new Table(INITIAL_BITS);
+
+  // When a generation ends, young is written after old, so a reader that sees the new young table
+  // also sees its predecessor in old.
+  private volatile Table young = new Table(INITIAL_BITS);
+  private volatile Table old = EMPTY;
+
+  // Guarded by this
+  private int evictions = 0;
+
+  /**
+   * Returns the cached value for {@code id}, or {@code null}.
+   */
+  Type get(int id) {
+    Type value = young.get(id);
+    if (value == null) {
+      value = old.get(id);
+      if (value != null) {
+        putIfAbsent(id, value);
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Returns whether there is a value for {@code id}. Unlike {@link #get}, does not keep the value
+   * from being evicted.
+   */
+  boolean contains(int id) {
+    return young.get(id) != null || old.get(id) != null;
+  }
+
+  /**
+   * Stores {@code value} for {@code id} in the young table, unless there is a value already.
+   * Returns the value that is in the young table afterwards.
+   */
+  synchronized Type putIfAbsent(int id, Type value) {
+    Table t = young;
+    Type existing = t.get(id);
+    if (existing != null) {
+      return existing;
+    }
+
+    if ((t.size + 1) * 2 > t.values.length && t.bits == MAX_BITS) {
+      Table empty = new Table(INITIAL_BITS);
+      empty.insert(id, value);
+      if (old != EMPTY) {
+        evictions++;
+      }
+      old = t;
+      young = empty;
+    } else if ((t.size + 1) * 2 > t.values.length) {
+      Table grown = new Table(t.bits + 1);
+      for (int i = 0; i < t.values.length; i++) {
+        if (t.values[i] != null) {
+          grown.insert(t.ids[i], t.values[i]);
+        }
+      }
+      grown.insert(id, value);
+      young = grown;
+    } else {
+      t.insert(id, value);
+    }
+    return value;
+  }
+
+  /**
+   * Returns the number of cached values. Values that were copied from the old into the young
+   * table are counted twice.
+   */
+  int size() {
+    return young.size + old.size;
+  }
+
+  /**
+   * Returns the number of times that an old table was dropped, evicting the values that were not
+   * used since its generation ended.
+   */
+  synchronized int evictions() {
+    return evictions;
+  }
+
+  private static final class Table {
+    final int bits;
+    final int[] ids;
+    final Type[] values;
+
+    // Only modified while holding the lock of the enclosing TypeExprCache.
+    int size = 0;
+
+    Table(int bits) {
+      this.bits = bits;
+      this.ids = new int[1 << bits];
+      this.values = new Type[1 << bits];
+    }
+
+    int indexFor(int id) {
+      // Fibonacci hashing
+      return (id * 0x9E3779B9) >>> (32 - bits);
+    }
+
+    Type get(int id) {
+      int mask = values.length - 1;
+      for (int i = indexFor(id); ; i = (i + 1) & mask) {
+        Type value = (Type) VALUES.getAcquire(values, i);
+        if (value == null || ids[i] == id) {
+          return value;
+        }
+      }
+    }
+
+    void insert(int id, Type value) {
+      int mask = values.length - 1;
+      int i = indexFor(id);
+      while (values[i] != null) {
+        i = (i + 1) & mask;
+      }
+      ids[i] = id;
+      VALUES.setRelease(values, i, value);
+      size++;
+    }
+  }
+}
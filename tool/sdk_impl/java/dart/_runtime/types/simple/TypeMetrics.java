@@ -0,0 +1,149 @@
+// Copyright 2016, the Dart project authors.
+// 
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+// 
+//     http://www.apache.org/licenses/LICENSE-2.0
+// 
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package dart._runtime.types.simple;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for the operations of the type system, reported by
+ * {@link dart._runtime.TypeSystemMetrics}.
+ * <p>
+ * Collection is enabled with the system property {@code dart2java.typeMetrics=true}. Because
+ * {@link #ENABLED} is a static final field, the JIT compiler removes the counting code entirely when
+ * metrics are disabled. When enabled, the counters are {@link LongAdder}s, which do not contend
+ * between threads.
+ */
+public final class TypeMetrics {
+  /**
+   * Whether the counters are updated.
+   */
+  public static final boolean ENABLED = Boolean.getBoolean("dart2java.typeMetrics");
+
+  static final LongAdder evaluations = new LongAdder();
+  static final LongAdder evaluationMisses = new LongAdder();
+  static final LongAdder subtypeChecks = new LongAdder();
+  static final LongAdder slowSubtypeChecks = new LongAdder();
+  static final LongAdder checks = new LongAdder();
+  static final LongAdder checkFailures = new LongAdder();
+  static final LongAdder casts = new LongAdder();
+  static final LongAdder castFailures = new LongAdder();
+
+  /**
+   * All class declarations created while metrics were enabled, for reporting the sizes of their
+   * instantiation tables.
+   */
+  private static final Map<InterfaceTypeInfo, Boolean> infos =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  static {
+    if (ENABLED) {
+      dart._runtime.TypeSystemMetrics.register();
+    }
+  }
+
+  private TypeMetrics() {}
+
+  static void register(InterfaceTypeInfo info) {
+    infos.put(info, Boolean.TRUE);
+  }
+
+  /**
+   * Returns the number of calls to {@link TypeEnvironment#evaluate}.
+   */
+  public static long evaluations() {
+    return evaluations.sum();
+  }
+
+  /**
+   * Returns the number of calls to {@link TypeEnvironment#evaluate} whose result was not cached.
+   */
+  public static long evaluationMisses() {
+    return evaluationMisses.sum();
+  }
+
+  /**
+   * Returns the number of calls to {@link Type#isSubtypeOf}, including nested calls for type
+   * arguments.
+   */
+  public static long subtypeChecks() {
+    return subtypeChecks.sum();
+  }
+
+  /**
+   * Returns the number of subtype checks against interface types that could not use the supertype
+   * display of the subtype and had to walk the supertype graph (i.e. were not memoized either).
+   */
+  public static long slowSubtypeChecks() {
+    return slowSubtypeChecks.sum();
+  }
+
+  /**
+   * Returns the number of implicit type checks ({@link Type#check}).
+   */
+  public static long checks() {
+    return checks.sum();
+  }
+
+  /**
+   * Returns the number of implicit type checks that failed.
+   */
+  public static long checkFailures() {
+    return checkFailures.sum();
+  }
+
+  /**
+   * Returns the number of explicit casts ({@link Type#cast}).
+   */
+  public static long casts() {
+    return casts.sum();
+  }
+
+  /**
+   * Returns the number of explicit casts that failed.
+   */
+  public static long castFailures() {
+    return castFailures.sum();
+  }
+
+  /**
+   * Returns the class declarations that were created while metrics were enabled and are still
+   * alive.
+   */
+  public static List<InterfaceTypeInfo> infos() {
+    synchronized (infos) {
+      return new ArrayList<>(infos.keySet());
+    }
+  }
+
+  /**
+   * Resets all counters to zero.
+   */
+  public static void reset() {
+    evaluations.reset();
+    evaluationMisses.reset();
+    subtypeChecks.reset();
+    slowSubtypeChecks.reset();
+    checks.reset();
+    checkFailures.reset();
+    casts.reset();
+    castFailures.reset();
+  }
+}
@@ -24,5 +24,8 @@
  * API-compatible with this package. Once an optimized replacement is implemented and tested,
  * switching to it should be as easy as changing the {@code import} declarations in generated Java
  * source files.
+ * <p>
+ * All types and caches in this package may be shared between threads. Caches are read without
+ * locking; new types are created under a global lock (see {@code TypeConstruction}).
  */
 package dart._runtime.types.simple;